@@ -0,0 +1,73 @@
+package edu.cornell.gdiac.optimize.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.optimize.controller.AIController;
+import edu.cornell.gdiac.optimize.entity.Enemy;
+import edu.cornell.gdiac.optimize.map.Board;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the enemy AI: the food radius query and the move towards the player that
+ * runs whenever the tile timer of the player runs out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIBenchmark {
+    /** Radius of the food query, as used by the gameplay controller */
+    private static final int FOOD_RADIUS = 2;
+
+    /** Level to build the board from */
+    @Param({"21", "25"})
+    public String level;
+    /** Number of copies of the level along each axis */
+    @Param({"1", "4", "16"})
+    public int scale;
+
+    /** The board under test */
+    private Board board;
+    /** The AI under test */
+    private AIController ai;
+    /** Position of the player in board coordinates */
+    private Vector2 playerBoardPos;
+    /** Position of the player in array coordinates */
+    private Vector2 playerArrayPos;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.boot();
+        JsonValue json = BenchmarkSupport.loadLevel(level);
+        board = BenchmarkSupport.buildBoard(json, scale);
+        ai = new AIController(BenchmarkSupport.placeEnemies(json, scale, board));
+        playerBoardPos = BenchmarkSupport.parsePosition(json.getString("startPos"));
+        playerArrayPos = board.boardToArray((int) playerBoardPos.x, (int) playerBoardPos.y);
+    }
+
+    @Benchmark
+    public Array<Enemy> findEnemies() {
+        return ai.findEnemies(playerArrayPos, board, FOOD_RADIUS);
+    }
+
+    /**
+     * Moves every enemy towards the player
+     *
+     * The enemies are first marked as standing still, as when their hops have finished, so
+     * every call moves all of them. That loop is cheap next to the move itself.
+     */
+    @Benchmark
+    public AIController updateTileTimerEnemyMoveIn() {
+        Array<Enemy> enemies = ai.getEnemies();
+        for (int i = 0; i < enemies.size; i++){
+            enemies.get(i).setIsMoving(false);
+        }
+        ai.updateTileTimerEnemyMoveIn(board, playerBoardPos);
+        return ai;
+    }
+}
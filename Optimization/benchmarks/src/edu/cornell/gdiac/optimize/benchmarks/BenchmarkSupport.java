@@ -0,0 +1,228 @@
+package edu.cornell.gdiac.optimize.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.Queue;
+import edu.cornell.gdiac.optimize.entity.Enemy;
+import edu.cornell.gdiac.optimize.map.Board;
+import edu.cornell.gdiac.optimize.map.HexTile;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Shared setup for the benchmarks.
+ *
+ * Starts a headless application with a no-op OpenGL implementation, so textures and asset
+ * directories can be created without a window. Boards are built from the real level files,
+ * optionally tiled into larger synthetic boards. Benchmarks run with core/assets as the
+ * working directory.
+ */
+public final class BenchmarkSupport {
+    /** Canvas width used to size boards and the kitchen */
+    public static final int CANVAS_WIDTH = 1280;
+    /** Canvas height used to size boards and the kitchen */
+    public static final int CANVAS_HEIGHT = 720;
+    /** Cool time of the enemies placed by spreadEnemies */
+    public static final int ENEMY_COOL_TIME = 120;
+
+    /** The headless application, once started */
+    private static HeadlessApplication app;
+    /** Placeholder texture for tiles and textured obstacles */
+    private static Texture placeholder;
+
+    private BenchmarkSupport() {}
+
+    /** Starts the headless application if it is not running yet */
+    public static synchronized void boot() {
+        if (app != null){
+            return;
+        }
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        app = new HeadlessApplication(new ApplicationAdapter() {}, config);
+        GL20 gl = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        Class<?> type = method.getReturnType();
+                        if (type == boolean.class){
+                            return false;
+                        } else if (type == int.class){
+                            return 0;
+                        } else if (type == float.class){
+                            return 0f;
+                        } else if (type == String.class){
+                            return "";
+                        }
+                        return null;
+                    }
+                });
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        placeholder = new Texture(new Pixmap(1, 1, Pixmap.Format.RGBA8888));
+    }
+
+    /**
+     * Returns a texture that can stand in for any game texture
+     *
+     * @return the placeholder texture
+     */
+    public static Texture getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Reads a level file
+     *
+     * @param level level number, as in levels/&lt;level&gt;.json
+     *
+     * @return the parsed level
+     */
+    public static JsonValue loadLevel(String level) {
+        return new JsonReader().parse(new FileHandle(new File("levels/" + level + ".json")));
+    }
+
+    /**
+     * Parses a position written as "(q,r)"
+     *
+     * @param s position string
+     *
+     * @return the position
+     */
+    public static Vector2 parsePosition(String s) {
+        String[] parts = s.substring(1, s.length() - 1).split(",");
+        return new Vector2(Float.parseFloat(parts[0]), Float.parseFloat(parts[1]));
+    }
+
+    /**
+     * Builds the board of a level, tiled scale times in each direction
+     *
+     * A scale of 1 gives the board of the level itself. Obstacles are copied into every
+     * tile of the larger board; the exit stays where the level puts it.
+     *
+     * @param level parsed level
+     * @param scale number of copies along each axis
+     *
+     * @return the board
+     */
+    public static Board buildBoard(JsonValue level, int scale) {
+        int boardQ = level.getInt("boardQ");
+        int boardR = level.getInt("boardR");
+        Vector2 exit = parsePosition(level.getString("exitTilePos"));
+        Board board = new Board(boardQ*scale, boardR*scale, CANVAS_WIDTH, CANVAS_HEIGHT*3/10f, exit);
+        board.setTileTexture(placeholder, placeholder);
+
+        Vector2 start = parsePosition(level.getString("startPos"));
+        for (JsonValue o : level.get("objects").get("obstacles")){
+            Vector2 pos = parsePosition(o.getString("position"));
+            Texture t = "null".equals(o.getString("texture")) ? null : placeholder;
+            for (int i = 0; i < scale; i++){
+                for (int j = 0; j < scale; j++){
+                    HexTile tile = copyOf(board, (int) pos.x, (int) pos.y, i*boardQ, j*boardR);
+                    if (!tile.getIsExit()){
+                        board.setObstacle(tile.getQ(), tile.getR(), start, t);
+                    }
+                }
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Places the enemies of a level on a board built by buildBoard
+     *
+     * @param level parsed level
+     * @param scale number of copies along each axis
+     * @param board the board
+     *
+     * @return the enemies
+     */
+    public static Array<Enemy> placeEnemies(JsonValue level, int scale, Board board) {
+        int boardQ = level.getInt("boardQ");
+        int boardR = level.getInt("boardR");
+        Array<Enemy> enemies = new Array<>();
+        for (JsonValue e : level.get("objects").get("enemies")){
+            Vector2 pos = parsePosition(e.getString("startPosition"));
+            for (int i = 0; i < scale; i++){
+                for (int j = 0; j < scale; j++){
+                    HexTile tile = copyOf(board, (int) pos.x, (int) pos.y, i*boardQ, j*boardR);
+                    Queue<Vector2> path = new Queue<>();
+                    for (JsonValue p : e.get("path")){
+                        path.addLast(parsePosition(p.asString()));
+                    }
+                    enemies.add(new Enemy(e.getInt("coolTime"), new Vector2(tile.getQ(), tile.getR()), board, path));
+                }
+            }
+        }
+        return enemies;
+    }
+
+    /**
+     * Places count enemies on free tiles spread evenly over a board
+     *
+     * The board must have at least count free tiles.
+     *
+     * @param count number of enemies
+     * @param board the board
+     *
+     * @return the enemies
+     */
+    public static Array<Enemy> spreadEnemies(int count, Board board) {
+        Array<HexTile> free = freeTiles(board);
+        Array<Enemy> enemies = new Array<>(count);
+        for (int i = 0; i < count; i++){
+            HexTile tile = free.get((int) ((long) i*free.size/count));
+            Queue<Vector2> path = new Queue<>();
+            path.addLast(new Vector2(0, 0));
+            enemies.add(new Enemy(ENEMY_COOL_TIME, new Vector2(tile.getQ(), tile.getR()), board, path));
+        }
+        return enemies;
+    }
+
+    /**
+     * Returns the free tiles of a board
+     *
+     * @param board the board
+     *
+     * @return the tiles that are neither obstacles nor the exit
+     */
+    public static Array<HexTile> freeTiles(Board board) {
+        Array<HexTile> tiles = new Array<>();
+        for (int i = 0; i < board.getNumTiles(); i++){
+            HexTile tile = board.getTile(i);
+            if (!tile.isObstacle() && !tile.getIsExit()){
+                tiles.add(tile);
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Returns the tile of the given copy of a level tile on a tiled board
+     *
+     * @param board the tiled board
+     * @param q board q coordinate on the level
+     * @param r board r coordinate on the level
+     * @param dx column offset of the copy
+     * @param dy row offset of the copy
+     *
+     * @return the tile
+     */
+    private static HexTile copyOf(Board board, int q, int r, int dx, int dy) {
+        Vector2 arrayCoord = board.boardToArray(q, r);
+        return board.getTileArrayCoord((int) arrayCoord.x + dx, (int) arrayCoord.y + dy);
+    }
+}
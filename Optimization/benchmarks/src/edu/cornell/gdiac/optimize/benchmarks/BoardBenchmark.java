@@ -0,0 +1,88 @@
+package edu.cornell.gdiac.optimize.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.optimize.map.Board;
+import edu.cornell.gdiac.optimize.map.HexTile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the board searches: path finding, throw highlighting and tile distance.
+ *
+ * Every level is measured at its own size and tiled into larger boards, to show how the
+ * cost of each search grows with the number of tiles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    /** Throw radius of the truck */
+    private static final int THROW_RADIUS = 3;
+
+    /** Level to build the board from */
+    @Param({"9", "21", "25"})
+    public String level;
+    /** Number of copies of the level along each axis */
+    @Param({"1", "4", "16"})
+    public int scale;
+
+    /** The board under test */
+    private Board board;
+    /** Free tiles of the board */
+    private Array<HexTile> free;
+    /** Array coordinates of the free tiles */
+    private Array<Vector2> freeCoords;
+    /** First free tile */
+    private HexTile first;
+    /** Last free tile */
+    private HexTile last;
+    /** Index of the next origin in freeCoords */
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.boot();
+        JsonValue json = BenchmarkSupport.loadLevel(level);
+        board = BenchmarkSupport.buildBoard(json, scale);
+        BenchmarkSupport.placeEnemies(json, scale, board);
+        free = BenchmarkSupport.freeTiles(board);
+        freeCoords = new Array<>(free.size);
+        for (HexTile t : free){
+            freeCoords.add(new Vector2(t.getAX(), t.getAY()));
+        }
+        first = free.first();
+        last = free.peek();
+    }
+
+    @Benchmark
+    public Array<HexTile> findBestPathBFS() {
+        return board.findBestPathBFS(first, last);
+    }
+
+    @Benchmark
+    public int dst2Tile() {
+        return board.dst2Tile(freeCoords.first(), freeCoords.peek());
+    }
+
+    @Benchmark
+    public void highlightTilesCached(Blackhole bh) {
+        board.unhighlightTiles();
+        board.highlightTiles(freeCoords.first(), THROW_RADIUS);
+        bh.consume(board);
+    }
+
+    @Benchmark
+    public void highlightTilesMoving(Blackhole bh) {
+        board.unhighlightTiles();
+        board.highlightTiles(freeCoords.get(next), THROW_RADIUS);
+        next = (next + 1) % freeCoords.size;
+        bh.consume(board);
+    }
+}
@@ -0,0 +1,76 @@
+package edu.cornell.gdiac.optimize.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.optimize.entity.Enemy;
+import edu.cornell.gdiac.optimize.map.Board;
+import edu.cornell.gdiac.optimize.map.DistanceField;
+import edu.cornell.gdiac.optimize.map.HexTile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares two ways of finding the next step of every enemy towards the player.
+ *
+ * The first runs one breadth-first search per enemy, as the AI did before the player
+ * distance field. The second builds the distance field once and reads every next step
+ * from it. The field is invalidated before every operation, so the comparison includes
+ * the full search and not only the cached lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyChaseBenchmark {
+    /** Level the board is tiled from */
+    private static final String LEVEL = "21";
+    /** Number of copies of the level along each axis */
+    private static final int SCALE = 16;
+
+    /** Number of chasing enemies */
+    @Param({"10", "100", "1000"})
+    public int enemies;
+
+    /** The board under test */
+    private Board board;
+    /** Tiles of the chasing enemies */
+    private Array<HexTile> enemyTiles;
+    /** Tile of the player */
+    private HexTile playerTile;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.boot();
+        board = BenchmarkSupport.buildBoard(BenchmarkSupport.loadLevel(LEVEL), SCALE);
+        Array<Enemy> chasers = BenchmarkSupport.spreadEnemies(enemies, board);
+        enemyTiles = new Array<>(chasers.size);
+        for (Enemy e : chasers){
+            Vector2 pos = board.boardToArray((int) e.getTilePosition().x, (int) e.getTilePosition().y);
+            enemyTiles.add(board.getTileArrayCoord((int) pos.x, (int) pos.y));
+        }
+        Array<HexTile> free = BenchmarkSupport.freeTiles(board);
+        playerTile = free.get(free.size/2);
+    }
+
+    @Benchmark
+    public void searchPerEnemy(Blackhole bh) {
+        for (int i = 0; i < enemyTiles.size; i++){
+            Array<HexTile> path = board.findBestPathBFS(enemyTiles.get(i), playerTile);
+            bh.consume(path.size > 1 ? path.get(1) : null);
+        }
+    }
+
+    @Benchmark
+    public void distanceField(Blackhole bh) {
+        DistanceField field = board.getPlayerDistances(playerTile);
+        field.invalidate();
+        field = board.getPlayerDistances(playerTile);
+        for (int i = 0; i < enemyTiles.size; i++){
+            bh.consume(field.getNextHop(enemyTiles.get(i)));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package edu.cornell.gdiac.optimize.benchmarks;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.optimize.controller.KitchenController;
+import edu.cornell.gdiac.optimize.kitchen.Appliance;
+import edu.cornell.gdiac.optimize.kitchen.Food;
+import edu.cornell.gdiac.optimize.kitchen.Ingredient;
+import edu.cornell.gdiac.optimize.kitchen.KitchenRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the kitchen: recipe matching and the cook, assemble and feed cycle.
+ *
+ * The kitchen is populated from the real asset directory, loaded through the headless
+ * backend, so the cycle runs the same code as the game minus the drawing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KitchenBenchmark {
+    /** Asset directory of the game */
+    private static final String ASSETS = "assets.json";
+    /** Number of cooking appliances */
+    private static final int NUM_COOKING_APPLIANCES = 3;
+    /** Guard against a cycle that never finishes cooking */
+    private static final int MAX_COOK_FRAMES = 10000;
+    /** Number of kitchen updates to fast forward */
+    private static final int FAST_FORWARD_UPDATES = 10000;
+
+    /** Level to take the recipes from */
+    @Param({"21"})
+    public String level;
+
+    /** The kitchen under test */
+    private KitchenController kitchen;
+    /** First recipe of the level */
+    private Food recipe;
+    /** Food with the ingredients of the recipe in reverse order */
+    private Food matching;
+    /** Food whose last ingredient was cooked on another appliance than in the recipe */
+    private Food mismatching;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.boot();
+        JsonValue json = BenchmarkSupport.loadLevel(level);
+
+        AssetDirectory directory = new AssetDirectory(ASSETS);
+        directory.loadAssets();
+        directory.finishLoading();
+        kitchen = new KitchenController(BenchmarkSupport.CANVAS_WIDTH, BenchmarkSupport.CANVAS_HEIGHT,
+                Integer.parseInt(level));
+        kitchen.loadJSONKitchenData(json.get("kitchen"));
+        kitchen.populate(directory);
+
+        KitchenRegistry registry = kitchen.getRegistry();
+        JsonValue ingredients = json.get("kitchen").get("recipes").get(0).get("ingredients");
+        recipe = makeFood(registry, ingredients, false, false);
+        matching = makeFood(registry, ingredients, true, false);
+        mismatching = makeFood(registry, ingredients, false, true);
+    }
+
+    @Benchmark
+    public boolean isEqualMatch() {
+        return recipe.isEqual(matching);
+    }
+
+    @Benchmark
+    public boolean isEqualMismatch() {
+        return recipe.isEqual(mismatching);
+    }
+
+    /**
+     * Cooks one ingredient on every appliance, assembles them on the plate and feeds the
+     * plate to the truck
+     */
+    @Benchmark
+    public int cookAssembleFeed() {
+        kitchen.activateAppliance(Appliance.CHOPPINGBOARD, 0);
+        kitchen.activateAppliance(Appliance.POT, 0);
+        kitchen.activateAppliance(Appliance.FRYER, 0);
+        int frames = 0;
+        while (isCooking() && frames < MAX_COOK_FRAMES){
+            if (kitchen.getChoppingBoard().isWorking()){
+                kitchen.getChoppingBoard().setClickProgress();
+            }
+            kitchen.update();
+            frames++;
+        }
+        kitchen.setAssemble(false, -1);
+        kitchen.update();
+        kitchen.setFeed();
+        kitchen.update();
+        kitchen.resetFedSuccess();
+        kitchen.resetFedFood();
+        kitchen.resetFedReward();
+        return frames;
+    }
+
+    /**
+     * Cooks on the stove and the fryer, then fast forwards the kitchen well past the end of
+     * cooking and clears the appliances
+     */
+    @Benchmark
+    public int fastForwardCook() {
+        kitchen.activateAppliance(Appliance.POT, 0);
+        kitchen.activateAppliance(Appliance.FRYER, 0);
+        kitchen.fastForward(FAST_FORWARD_UPDATES);
+        int done = kitchen.getDoneIngredients().size;
+        kitchen.setAssemble(false, -1);
+        kitchen.setTrash(Appliance.PLATE);
+        kitchen.update();
+        return done;
+    }
+
+    /**
+     * Returns whether any of the cooking appliances is still working
+     *
+     * @return true if an appliance is still working
+     */
+    private boolean isCooking() {
+        return kitchen.getChoppingBoard().isWorking() || kitchen.getStove().isWorking()
+                || kitchen.getFryer().isWorking();
+    }
+
+    /**
+     * Creates a food from the ingredients of a recipe
+     *
+     * @param registry kitchen registry of the level
+     * @param ingredients ingredients of the recipe, as in the level file
+     * @param reverse whether to list the ingredients in reverse order
+     * @param recookLast whether to cook the last ingredient on the next appliance instead
+     *
+     * @return the food
+     */
+    private static Food makeFood(KitchenRegistry registry, JsonValue ingredients, boolean reverse, boolean recookLast) {
+        ArrayList<Ingredient> ings = new ArrayList<>();
+        IntArray apps = new IntArray();
+        for (JsonValue ing : ingredients){
+            int cook = registry.getApplianceId(ing.getString("cookingMethod"));
+            if (recookLast && apps.size == ingredients.size - 1){
+                cook = (cook + 1) % NUM_COOKING_APPLIANCES;
+            }
+            ings.add(new Ingredient(registry, registry.getIngredientId(ing.getString("name")), cook,
+                    KitchenController.ING_WIDTH, KitchenController.ING_WIDTH));
+            apps.add(cook);
+        }
+        if (reverse){
+            Collections.reverse(ings);
+            apps.reverse();
+        }
+        return new Food(ings, apps);
+    }
+}
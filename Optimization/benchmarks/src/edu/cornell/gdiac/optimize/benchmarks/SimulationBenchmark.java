@@ -0,0 +1,117 @@
+package edu.cornell.gdiac.optimize.benchmarks;
+
+import edu.cornell.gdiac.optimize.controller.KitchenController;
+import edu.cornell.gdiac.optimize.kitchen.Appliance;
+import edu.cornell.gdiac.optimize.kitchen.Food;
+import edu.cornell.gdiac.optimize.level.LevelData;
+import edu.cornell.gdiac.optimize.level.LevelFormat;
+import edu.cornell.gdiac.optimize.simulation.GameSimulation;
+import edu.cornell.gdiac.optimize.simulation.SimulationInput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays whole games of a level through the headless simulation.
+ *
+ * Every operation builds a fresh simulation and plays it to the end with a simple script.
+ * In the kitchen, a {@link Chef} cooks the first recipe on display one ingredient at a
+ * time and feeds it to the truck; on the board, the truck drives forward for two seconds,
+ * then turns right for one. The score is the number of games played per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+    /** Guard against a game that never ends */
+    private static final int MAX_FRAMES = 20000;
+    /** Frames in one second of the script */
+    private static final int PERIOD = 60;
+    /** Number of seconds in one drive and turn cycle of the script */
+    private static final int CYCLE = 3;
+
+    /** Level to play */
+    @Param({"21"})
+    public String level;
+
+    /** The decoded level */
+    private LevelData data;
+    /** Input of the script */
+    private SimulationInput input;
+    /** Cook of the script */
+    private Chef chef;
+    /** Seed of the next game */
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSupport.boot();
+        data = LevelFormat.fromJson(BenchmarkSupport.loadLevel(level));
+        input = new SimulationInput();
+        chef = new Chef();
+    }
+
+    @Benchmark
+    public int playGame() {
+        GameSimulation sim = new GameSimulation(data, Integer.parseInt(level),
+                BenchmarkSupport.CANVAS_WIDTH, BenchmarkSupport.CANVAS_HEIGHT, seed++);
+        chef.reset();
+        while (!sim.isOver() && sim.getFrame() < MAX_FRAMES){
+            int period = sim.getFrame() / PERIOD;
+            input.clear();
+            chef.cook(sim.getKitchen(), input);
+            boolean turn = period % CYCLE == CYCLE - 1;
+            input.setMove(!turn, false, false, turn);
+            sim.step(input);
+        }
+        return sim.getFrame();
+    }
+
+    /**
+     * Cooks the first recipe on display, sending one command to the kitchen per frame
+     *
+     * Each ingredient is put on its appliance, chopped if it is on the chopping board and
+     * moved to the plate once it is done. The plate is fed to the truck after the last one.
+     */
+    static class Chef {
+        /** Index of the ingredient being cooked in the recipe */
+        private int step;
+        /** Whether the ingredient is on its appliance */
+        private boolean cooking;
+
+        /** Starts over at the first ingredient of a recipe */
+        void reset() {
+            step = 0;
+            cooking = false;
+        }
+
+        /**
+         * Sets the command of this frame
+         *
+         * @param kitchen the kitchen of the simulation
+         * @param input the input of the frame
+         */
+        void cook(KitchenController kitchen, SimulationInput input) {
+            Food recipe = kitchen.getDisplayedRecipe(0);
+            if (step == recipe.getAssembleIngredients().size()) {
+                input.setFeed();
+                reset();
+                return;
+            }
+            int app = recipe.getAssembleAppliances().get(step);
+            if (!cooking) {
+                input.setCook(app, recipe.getAssembleIngredients().get(step).getIngId());
+                cooking = true;
+            } else if (kitchen.applianceHasDoneIngredient(app)) {
+                input.setAssemble(app);
+                cooking = false;
+                step++;
+            } else if (app == Appliance.CHOPPINGBOARD && kitchen.getApplianceIndex(app).isWorking()) {
+                input.setChop();
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * PackedTextures.java
+ *
+ * Packs the small textures of an asset manager into a few atlas pages when assets are
+ * done loading. Each packed texture keeps its own Texture object, so code that holds a
+ * texture does not change; a drawing context asks this class for the region of the page
+ * that holds the same image and draws that instead.  Sprites that share a page then
+ * draw in the same batch, instead of flushing on every texture switch.
+ */
+package edu.cornell.gdiac.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Comparator;
+
+/**
+ * Atlas pages holding copies of the small textures of an asset manager.
+ *
+ * Only textures that are no larger than {@link #MAX_PACKED_SIZE} on either side and use
+ * the default sampling (linear filters, clamped edges, no mipmaps) are packed, so that a
+ * packed texture looks the same as the original. Film strips and full screen images stay
+ * standalone textures.
+ */
+public class PackedTextures implements Disposable {
+    /** Width and height of an atlas page */
+    public static final int PAGE_SIZE = 2048;
+    /** Largest width or height of a texture that is packed */
+    public static final int MAX_PACKED_SIZE = 700;
+    /** Pixels between two packed images; the borders are duplicated into them */
+    private static final int PADDING = 2;
+
+    /** Packer that owns the page images */
+    private PixmapPacker packer;
+    /** The atlas pages */
+    private TextureAtlas atlas;
+    /** Region of the atlas holding each packed texture */
+    private ObjectMap<Texture, TextureRegion> regions;
+
+    /**
+     * Packs the small textures loaded by an asset manager into atlas pages
+     *
+     * The texture files are read again, so this should run once, after loading.
+     *
+     * @param assets the asset manager, done loading
+     */
+    public PackedTextures(AssetManager assets) {
+        regions = new ObjectMap<>();
+        Array<Texture> textures = new Array<>();
+        for (Texture t : assets.getAll(Texture.class, new Array<Texture>())) {
+            if (isPackable(t)) {
+                textures.add(t);
+            }
+        }
+        // Tallest first packs rows with the least waste
+        textures.sort(new Comparator<Texture>() {
+            @Override
+            public int compare(Texture a, Texture b) {
+                return b.getHeight() - a.getHeight();
+            }
+        });
+
+        packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, true);
+        for (Texture t : textures) {
+            String name = assets.getAssetFileName(t);
+            FileHandle file = name == null ? null : Gdx.files.internal(name);
+            if (file == null || !file.exists()) {
+                continue;
+            }
+            Pixmap image = new Pixmap(file);
+            packer.pack(name, image);
+            image.dispose();
+        }
+        atlas = packer.generateTextureAtlas(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+        for (int i = 0; i < textures.size; i++) {
+            String name = assets.getAssetFileName(textures.get(i));
+            TextureRegion region = name == null ? null : atlas.findRegion(name);
+            if (region != null) {
+                regions.put(textures.get(i), region);
+            }
+        }
+    }
+
+    /**
+     * Returns true if a texture can be drawn from a page without looking different
+     *
+     * @param t the texture
+     *
+     * @return true if the texture is small and uses the default sampling
+     */
+    private static boolean isPackable(Texture t) {
+        return t.getWidth() <= MAX_PACKED_SIZE && t.getHeight() <= MAX_PACKED_SIZE
+                && t.getMinFilter() == Texture.TextureFilter.Linear
+                && t.getMagFilter() == Texture.TextureFilter.Linear
+                && t.getUWrap() == Texture.TextureWrap.ClampToEdge
+                && t.getVWrap() == Texture.TextureWrap.ClampToEdge;
+    }
+
+    /**
+     * Returns the atlas region holding a texture
+     *
+     * @param texture the texture
+     *
+     * @return the region, or null if the texture was not packed
+     */
+    public TextureRegion find(Texture texture) {
+        return regions.get(texture);
+    }
+
+    /**
+     * Returns the number of packed textures
+     *
+     * @return the number of packed textures
+     */
+    public int getNumPacked() {
+        return regions.size;
+    }
+
+    /**
+     * Returns the number of atlas pages
+     *
+     * @return the number of atlas pages
+     */
+    public int getNumPages() {
+        return atlas.getTextures().size;
+    }
+
+    /**
+     * Disposes of the atlas pages. The original textures are left to their asset manager.
+     */
+    public void dispose() {
+        if (atlas != null) {
+            atlas.dispose();
+            packer.dispose();
+            atlas = null;
+            packer = null;
+            regions.clear();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package edu.cornell.gdiac.optimize;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import edu.cornell.gdiac.util.FrameRing;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Collects the render counters and the update and draw times of every frame.
+ *
+ * The profiler listens to every canvas: the counters of all the drawing sequences of a
+ * frame add up to one record. GameMode adds the time it spends updating and drawing. A
+ * record is closed when the first counter of the next frame arrives, and goes into a
+ * {@link FrameRing}, which can be written out as CSV or summed up in an overlay.
+ *
+ * The averages are also logged at debug level every {@link #LOG_PERIOD} frames, so they
+ * show when the application log level is {@code Application.LOG_DEBUG}.
+ */
+public class FrameProfiler implements GameCanvas.FrameListener {
+    /** Number of frames kept in the history */
+    public static final int HISTORY = 1024;
+    /** Number of recent frames averaged in the overlay */
+    public static final int OVERLAY_FRAMES = 60;
+    /** Number of frames between two log lines */
+    public static final int LOG_PERIOD = 300;
+    /** Nanoseconds per millisecond */
+    private static final float NANOS_PER_MS = 1000000f;
+    /** Header line of the CSV output */
+    private static final String CSV_HEADER = "frame,draw_calls,render_calls,texture_binds,glyphs,update_ms,draw_ms";
+
+    /** History of the closed frames */
+    private FrameRing history;
+    /** Counters of the frame being recorded */
+    private long[] current;
+    /** Graphics frame id of the frame being recorded, or -1 before the first frame */
+    private long currentFrame;
+    /** Copy of the history, reused by the overlay, the log and the CSV output */
+    private long[] snapshot;
+    /** Sums of the fields over the frames of the last summary */
+    private long[] sums;
+    /** Whether to draw the overlay */
+    private boolean overlayVisible;
+    /** Frames closed since the last log line */
+    private int framesSinceLog;
+
+    /**
+     * Creates a profiler with an empty history
+     */
+    public FrameProfiler() {
+        history = new FrameRing(HISTORY);
+        current = new long[FrameRing.NUM_FIELDS];
+        currentFrame = -1;
+        snapshot = new long[history.getCapacity()*FrameRing.NUM_FIELDS];
+        sums = new long[FrameRing.NUM_FIELDS];
+    }
+
+    @Override
+    public void frameEnded(GameCanvas canvas) {
+        rollFrame();
+        current[FrameRing.DRAW_CALLS] += canvas.getDrawCalls();
+        current[FrameRing.RENDER_CALLS] += canvas.getRenderCalls();
+        current[FrameRing.TEXTURE_BINDS] += canvas.getTextureBinds();
+        current[FrameRing.GLYPHS] += canvas.getGlyphs();
+    }
+
+    /**
+     * Adds time spent updating the game to the current frame
+     *
+     * @param nanos the time, in nanoseconds
+     */
+    public void addUpdateTime(long nanos) {
+        rollFrame();
+        current[FrameRing.UPDATE_NANOS] += nanos;
+    }
+
+    /**
+     * Adds time spent drawing the game to the current frame
+     *
+     * @param nanos the time, in nanoseconds
+     */
+    public void addDrawTime(long nanos) {
+        rollFrame();
+        current[FrameRing.DRAW_NANOS] += nanos;
+    }
+
+    /**
+     * Closes the record of the previous frame if a new frame has started
+     */
+    private void rollFrame() {
+        long frame = Gdx.graphics.getFrameId();
+        if (frame == currentFrame) {
+            return;
+        }
+        if (currentFrame >= 0) {
+            history.add(current);
+            framesSinceLog++;
+            if (framesSinceLog == LOG_PERIOD) {
+                framesSinceLog = 0;
+                logSummary();
+            }
+        }
+        for (int i = 0; i < current.length; i++) {
+            current[i] = 0;
+        }
+        currentFrame = frame;
+    }
+
+    /**
+     * Sums the fields of the most recent frames into sums
+     *
+     * @param frames the number of frames to sum at most
+     *
+     * @return the number of frames summed
+     */
+    private int summarize(int frames) {
+        int count = history.snapshot(snapshot);
+        int first = Math.max(0, count - frames);
+        for (int f = 0; f < FrameRing.NUM_FIELDS; f++) {
+            sums[f] = 0;
+        }
+        for (int i = first; i < count; i++) {
+            for (int f = 0; f < FrameRing.NUM_FIELDS; f++) {
+                sums[f] += snapshot[i*FrameRing.NUM_FIELDS + f];
+            }
+        }
+        return count - first;
+    }
+
+    /**
+     * Logs the averages of the last LOG_PERIOD frames at debug level
+     */
+    private void logSummary() {
+        int n = summarize(LOG_PERIOD);
+        Gdx.app.debug("FrameProfiler", "draws " + (float) sums[FrameRing.DRAW_CALLS] / n
+                + ", render calls " + (float) sums[FrameRing.RENDER_CALLS] / n
+                + ", texture binds " + (float) sums[FrameRing.TEXTURE_BINDS] / n
+                + ", glyphs " + (float) sums[FrameRing.GLYPHS] / n
+                + ", update " + sums[FrameRing.UPDATE_NANOS] / NANOS_PER_MS / n + " ms"
+                + ", draw " + sums[FrameRing.DRAW_NANOS] / NANOS_PER_MS / n + " ms per frame");
+    }
+
+    /**
+     * Returns true if the overlay is drawn
+     *
+     * @return true if the overlay is drawn
+     */
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    /**
+     * Shows the overlay if it is hidden, and hides it otherwise
+     */
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    /**
+     * Draws the averages of the last OVERLAY_FRAMES frames in the top right corner
+     *
+     * The overlay itself adds to the counters of the frame it is drawn in.
+     *
+     * @param canvas the drawing context, between begin() and end()
+     * @param font the font of the overlay
+     */
+    public void drawOverlay(GameCanvas canvas, BitmapFont font) {
+        int n = summarize(OVERLAY_FRAMES);
+        if (n == 0) {
+            return;
+        }
+        float x = canvas.getWidth()*3/4f;
+        float y = canvas.getHeight() - font.getLineHeight();
+        canvas.drawText("draws " + sums[FrameRing.DRAW_CALLS] / n
+                + "  flushes " + sums[FrameRing.RENDER_CALLS] / n
+                + "  binds " + sums[FrameRing.TEXTURE_BINDS] / n, font, x, y, Color.WHITE);
+        canvas.drawText("glyphs " + sums[FrameRing.GLYPHS] / n
+                + String.format("  update %.2f ms  draw %.2f ms", sums[FrameRing.UPDATE_NANOS] / NANOS_PER_MS / n,
+                sums[FrameRing.DRAW_NANOS] / NANOS_PER_MS / n), font, x, y - font.getLineHeight(), Color.WHITE);
+    }
+
+    /**
+     * Writes the history as CSV, oldest frame first
+     *
+     * @param out the writer; it is not closed
+     */
+    public void writeCsv(Writer out) throws IOException {
+        int count = history.snapshot(snapshot);
+        out.write(CSV_HEADER);
+        out.write('\n');
+        for (int i = 0; i < count; i++) {
+            int base = i*FrameRing.NUM_FIELDS;
+            out.write(i + "," + snapshot[base + FrameRing.DRAW_CALLS]
+                    + "," + snapshot[base + FrameRing.RENDER_CALLS]
+                    + "," + snapshot[base + FrameRing.TEXTURE_BINDS]
+                    + "," + snapshot[base + FrameRing.GLYPHS]
+                    + "," + snapshot[base + FrameRing.UPDATE_NANOS] / NANOS_PER_MS
+                    + "," + snapshot[base + FrameRing.DRAW_NANOS] / NANOS_PER_MS + "\n");
+        }
+    }
+
+    /**
+     * Writes the history as CSV to a local file
+     *
+     * @param file the file to write
+     */
+    public void dumpCsv(FileHandle file) {
+        Writer out = file.writer(false, "UTF-8");
+        try {
+            writeCsv(out);
+        } catch (IOException e) {
+            Gdx.app.error("FrameProfiler", "Cannot write " + file.path(), e);
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Nothing left to write
+            }
+        }
+        Gdx.app.log("FrameProfiler", "Wrote frame history to " + file.path());
+    }
+}
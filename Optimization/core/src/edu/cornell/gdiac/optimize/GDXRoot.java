@@ -19,6 +19,7 @@
 package edu.cornell.gdiac.optimize;
 
 import com.badlogic.gdx.math.Vector2;
+import edu.cornell.gdiac.optimize.level.LevelCache;
 import edu.cornell.gdiac.optimize.playmode.GameMode;
 import edu.cornell.gdiac.optimize.playmode.LoadingMode;
 import edu.cornell.gdiac.optimize.playmode.MenuMode;
@@ -47,6 +48,13 @@ public class GDXRoot extends Game implements ScreenListener {
 	private LoadingMode interlevelscreen;
 	private LoadingMode starsavingscreen;
 
+	/** Decoded levels, prefetched in the background while a level is played */
+	private LevelCache levels;
+	/** Atlas pages holding the small game textures, once assets are loaded */
+	private PackedTextures packedTextures;
+	/** Records the counters and times of every frame */
+	private FrameProfiler profiler;
+
 	/** Player mode for the the game proper (CONTROLLER CLASS) */
 	private GameMode playing;
 	/** Player mode for starting game*/
@@ -78,10 +86,12 @@ public class GDXRoot extends Game implements ScreenListener {
 	 */
 	public void create() {
 //		Gdx.graphics.setFullscreenMode(Gdx.graphics.getDisplayMode());
-		canvas  = new GameCanvas();
+		profiler = new FrameProfiler();
+		canvas  = createCanvas();
 		loading = new LoadingMode("assets.json",canvas,1);
 		loading.setTimer(-500);
-		playing = new GameMode(canvas);
+		levels = new LevelCache();
+		playing = new GameMode(canvas, levels, profiler);
 		playing.updateVolume(1,1);
 //		starting = new MenuMode(canvas, "startScreen.json", 1, 3, 1);
 //		Vector2 startPos = new Vector2(canvas.getWidth()/7f, canvas.getHeight() - canvas.getHeight()/3f); // - bTexture
@@ -126,6 +136,11 @@ public class GDXRoot extends Game implements ScreenListener {
 		screen.dispose();
 		canvas.dispose();
 		canvas = null;
+		levels.dispose();
+		if (packedTextures != null) {
+			packedTextures.dispose();
+			packedTextures = null;
+		}
 	
 		// Unload all of the resources
 		if (directory != null) {
@@ -150,6 +165,30 @@ public class GDXRoot extends Game implements ScreenListener {
 		super.resize(width,height);
 	}
 
+	/**
+	 * Creates a drawing context that reports its counters and draws from the atlas pages
+	 *
+	 * @return the new drawing context
+	 */
+	private GameCanvas createCanvas() {
+		GameCanvas result = new GameCanvas();
+		result.setFrameListener(profiler);
+		result.setPackedTextures(packedTextures);
+		return result;
+	}
+
+	/**
+	 * Packs the small game textures into atlas pages the first time, and draws from them
+	 */
+	private void usePackedTextures() {
+		if (packedTextures == null) {
+			packedTextures = new PackedTextures(directory);
+			Gdx.app.log("GDXRoot", "Packed " + packedTextures.getNumPacked() + " textures into "
+					+ packedTextures.getNumPages() + " atlas pages");
+		}
+		canvas.setPackedTextures(packedTextures);
+	}
+
 	public float getMusicvolume(){
 		return musicvolume;
 	}
@@ -222,6 +261,7 @@ public class GDXRoot extends Game implements ScreenListener {
 			playing.setGameplayController();
 			playing.setScreenListener(this);
 			directory = loading.getAssets();
+			usePackedTextures();
 			playing.populate(directory);
 			setScreen(playing);
 		} else if(screen == levelSelecting && exitCode == 7){
@@ -247,8 +287,8 @@ public class GDXRoot extends Game implements ScreenListener {
 			levelSelecting.populateLevelButtons();
 			levelSelecting.populateFlipButtons();
 			playing.dispose();
-			canvas = new GameCanvas();
-			playing = new GameMode(canvas);
+			canvas = createCanvas();
+			playing = new GameMode(canvas, levels, profiler);
 			playing.setLastLevel(levelSelecting.getLastUnlockedLevel());
 
 
@@ -266,14 +306,15 @@ public class GDXRoot extends Game implements ScreenListener {
 		} else if (exitCode == 3) { // retry
 			String currLev = playing.getCurrLev() + ".json";
 			playing.dispose();
-			canvas = new GameCanvas();
-			playing = new GameMode(canvas);
+			canvas = createCanvas();
+			playing = new GameMode(canvas, levels, profiler);
 			playing.setLastLevel(levelSelecting.getLastUnlockedLevel());
 			playing.setLevel(currLev);
 			playing.updateVolume(musicvolume,soundvolume);
 			playing.setGameplayController();
 			playing.setScreenListener(this);
 			directory = loading.getAssets();
+			usePackedTextures();
 			playing.populate(directory);
 			setScreen(playing);
 		} else if (exitCode == 1 && screen == playing) {
@@ -284,14 +325,15 @@ public class GDXRoot extends Game implements ScreenListener {
 			int nextLev = Math.min(playing.getCurrLev()+1, levelSelecting.getLevels().size());
 			String nextLevFile = nextLev+".json";
 			playing.dispose();
-			canvas = new GameCanvas();
-			playing = new GameMode(canvas);
+			canvas = createCanvas();
+			playing = new GameMode(canvas, levels, profiler);
 			playing.setLastLevel(levelSelecting.getLastUnlockedLevel());
 			playing.setLevel(nextLevFile);
 			playing.updateVolume(musicvolume,soundvolume);
 			playing.setGameplayController();
 			playing.setScreenListener(this);
 			directory = loading.getAssets();
+			usePackedTextures();
 			playing.populate(directory);
 			setScreen(playing);
 		} else if (screen == playing && exitCode == 100) { // save keys (win screen)
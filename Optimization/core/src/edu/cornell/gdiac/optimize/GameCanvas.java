@@ -23,6 +23,7 @@ import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer.*;
+import edu.cornell.gdiac.assets.PackedTextures;
 
 
 /**
@@ -34,7 +35,19 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer.*;
  */
 public class GameCanvas {
 	/** While we are not drawing polygons (yet), this spritebatch is more reliable */
-	private SpriteBatch spriteBatch;
+	private Batch spriteBatch;
+	/** Atlas pages to draw packed textures from (null to draw every texture directly) */
+	private PackedTextures packed;
+	/** Notified at the end of every drawing sequence (may be null) */
+	private FrameListener frameListener;
+	/** Batch flushes in the last drawing sequence */
+	private int renderCalls;
+	/** Texture switches in the last drawing sequence */
+	private int textureBinds;
+	/** Draw requests since the last begin() */
+	private int drawCalls;
+	/** Glyphs of the text drawn since the last begin() */
+	private int glyphs;
 	
 	/** Track whether or not we are active (for error checking) */
 	private boolean active;
@@ -60,6 +73,8 @@ public class GameCanvas {
 	private Affine2 local;
 	/** Cache object to unify everything under a master draw method */
 	private TextureRegion holder;
+	/** Cache object for laying out text */
+	private GlyphLayout layout;
 
 	/** Projection Matrix */
 	private Matrix4 proj;
@@ -84,8 +99,20 @@ public class GameCanvas {
 	 * of the necessary graphics objects.
 	 */
 	public GameCanvas() {
+		this(new CountingBatch());
+	}
+
+	/**
+	 * Creates a new GameCanvas that draws to the given batch.
+	 *
+	 * Tests pass a batch that records the sprites instead of sending them to the
+	 * graphics card, so that drawing can run without a graphics context.
+	 *
+	 * @param batch the batch to draw to
+	 */
+	GameCanvas(Batch batch) {
 		active = false;
-		spriteBatch = new SpriteBatch();
+		spriteBatch = batch;
 
 		//spriteBatch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
 		spriteCam = new OrthographicCamera(getWidth(),getHeight());
@@ -112,6 +139,7 @@ public class GameCanvas {
 		// Initialize the cache objects
 		holder = new TextureRegion();
 		local  = new Affine2();
+		layout = new GlyphLayout();
 	}
 		
     /**
@@ -126,6 +154,7 @@ public class GameCanvas {
     	spriteBatch = null;
     	local  = null;
     	holder = null;
+    	layout = null;
     }
 
 	/**
@@ -322,13 +351,11 @@ public class GameCanvas {
     public void begin() {
     	spriteBatch.begin();
     	active = true;
+		drawCalls = 0;
+		glyphs = 0;
 
 		// Set the projection matrix (for proper scaling)
 		spriteBatch.getProjectionMatrix().setToOrtho2D(0, 0, getWidth(), getHeight());
-
-		// Initialize the cache objects
-		holder = new TextureRegion();
-		local  = new Affine2();
 //		Gdx.gl.glViewport( 0,0,Gdx.graphics.getWidth(), Gdx.graphics.getHeight()); ?
 		//Set up camera with viewport in mind
 //		draw( delta );
@@ -343,7 +370,114 @@ public class GameCanvas {
     public void end() {
     	spriteBatch.end();
     	active = false;
+		if (spriteBatch instanceof CountingBatch) {
+			CountingBatch counting = (CountingBatch)spriteBatch;
+			renderCalls = counting.renderCalls;
+			textureBinds = counting.textureSwitches;
+		}
+		if (frameListener != null) {
+			frameListener.frameEnded(this);
+		}
     }
+
+	/**
+	 * Returns the number of batch flushes (render calls) in the last drawing sequence
+	 *
+	 * @return the number of render calls between the last begin() and end()
+	 */
+	public int getRenderCalls() {
+		return renderCalls;
+	}
+
+	/**
+	 * Returns the number of draw requests in the last drawing sequence
+	 *
+	 * Every sprite and every string drawn through this canvas is one request.
+	 *
+	 * @return the number of draw requests since the last begin()
+	 */
+	public int getDrawCalls() {
+		return drawCalls;
+	}
+
+	/**
+	 * Returns the number of glyphs drawn as text in the last drawing sequence
+	 *
+	 * @return the number of glyphs since the last begin()
+	 */
+	public int getGlyphs() {
+		return glyphs;
+	}
+
+	/**
+	 * Returns the number of glyphs of a text layout
+	 *
+	 * @param layout the layout
+	 *
+	 * @return the number of glyphs over all its runs
+	 */
+	private static int countGlyphs(GlyphLayout layout) {
+		int count = 0;
+		for (int i = 0; i < layout.runs.size; i++) {
+			count += layout.runs.get(i).glyphs.size;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of texture switches in the last drawing sequence
+	 *
+	 * Every switch flushes the batch and binds the new texture.
+	 *
+	 * @return the number of texture binds between the last begin() and end()
+	 */
+	public int getTextureBinds() {
+		return textureBinds;
+	}
+
+	/**
+	 * Sets the listener notified at the end of every drawing sequence
+	 *
+	 * @param listener the listener, or null for none
+	 */
+	public void setFrameListener(FrameListener listener) {
+		frameListener = listener;
+	}
+
+	/**
+	 * Sets the atlas pages to draw packed textures from
+	 *
+	 * A texture found in the pages is drawn from its atlas region instead, so that
+	 * consecutive sprites from one page share a batch.
+	 *
+	 * @param textures the atlas pages, or null to draw every texture directly
+	 */
+	public void setPackedTextures(PackedTextures textures) {
+		packed = textures;
+	}
+
+	/**
+	 * Returns the atlas region to draw for a texture
+	 *
+	 * @param image the texture
+	 *
+	 * @return its atlas region, or null if the texture must be drawn directly
+	 */
+	private TextureRegion findPacked(Texture image) {
+		return packed == null ? null : packed.find(image);
+	}
+
+	/**
+	 * Returns a region to draw a texture with, for callers that keep their regions
+	 *
+	 * @param image the texture
+	 *
+	 * @return its atlas region, or a new region covering the whole texture if it is not packed
+	 */
+	public TextureRegion getRegion(Texture image) {
+		TextureRegion region = findPacked(image);
+		return region != null ? region : new TextureRegion(image);
+	}
     
 	/**
      * Draw the seamless background image.
@@ -362,6 +496,7 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 
 		float w = image.getWidth();
         // Have to draw the background twice for continuous scrolling.
@@ -389,10 +524,16 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		
 		// Unlike Lab 1, we can shortcut without a master drawing method
     	spriteBatch.setColor(Color.WHITE);
-		spriteBatch.draw(image, x,  y);
+		TextureRegion region = findPacked(image);
+		if (region != null) {
+			spriteBatch.draw(region, x, y);
+		} else {
+			spriteBatch.draw(image, x,  y);
+		}
 	}
 
 	/**
@@ -415,9 +556,15 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 
 		spriteBatch.setColor(color);
-		spriteBatch.draw(image, x,  y);
+		TextureRegion region = findPacked(image);
+		if (region != null) {
+			spriteBatch.draw(region, x, y);
+		} else {
+			spriteBatch.draw(image, x,  y);
+		}
 	}
 
 
@@ -427,9 +574,15 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		
     	spriteBatch.setColor(Color.WHITE);
-		spriteBatch.draw(image, x,  y, width, height);
+		TextureRegion region = findPacked(image);
+		if (region != null) {
+			spriteBatch.draw(region, x, y, width, height);
+		} else {
+			spriteBatch.draw(image, x,  y, width, height);
+		}
 	}
 
 	public void draw(Texture image, float x, float y, float width, float height, Color color) {
@@ -437,9 +590,15 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 
 		spriteBatch.setColor(color);
-		spriteBatch.draw(image, x,  y, width, height);
+		TextureRegion region = findPacked(image);
+		if (region != null) {
+			spriteBatch.draw(region, x, y, width, height);
+		} else {
+			spriteBatch.draw(image, x,  y, width, height);
+		}
 		spriteBatch.setColor(Color.WHITE);
 	}
 
@@ -472,9 +631,14 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
-		
+				
 		// Call the master drawing method (we have to for transforms)
-		holder.setRegion(image);
+		TextureRegion region = findPacked(image);
+		if (region != null) {
+			holder.setRegion(region);
+		} else {
+			holder.setRegion(image);
+		}
 		draw(holder,tint,ox,oy,x,y,angle,sx,sy);
 	}
 	
@@ -501,6 +665,7 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		
 		// Unlike Lab 1, we can shortcut without a master drawing method
     	spriteBatch.setColor(Color.WHITE);
@@ -512,6 +677,7 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		
 		// Unlike Lab 1, we can shortcut without a master drawing method
     	spriteBatch.setColor(Color.WHITE);
@@ -520,12 +686,16 @@ public class GameCanvas {
 
 	public void draw(Texture texture, Color tint, float ox, float oy,
 					 float x, float y, float width, float height){
-		TextureRegion tr = new TextureRegion(texture);
-		tr.setRegion(texture);
+		TextureRegion tr = findPacked(texture);
+		if (tr == null) {
+			holder.setRegion(texture);
+			tr = holder;
+		}
 		if (!active) {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		local.setToTranslation(x,y);
 		local.translate(-ox,-oy);
 		spriteBatch.setColor(tint);
@@ -538,6 +708,7 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		local.setToTranslation(x,y);
 		local.translate(-ox,-oy);
 		spriteBatch.setColor(tint);
@@ -578,6 +749,7 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		
 		computeTransform(ox,oy,x,y,angle,sx,sy);
 		spriteBatch.setColor(tint);
@@ -586,12 +758,16 @@ public class GameCanvas {
 
 	public void draw(Texture texture, float ox, float oy,
 					 float x, float y, float width, float height, float angle, Color tint){
-		TextureRegion tr = new TextureRegion(texture);
-		tr.setRegion(texture);
+		TextureRegion tr = findPacked(texture);
+		if (tr == null) {
+			holder.setRegion(texture);
+			tr = holder;
+		}
 		if (!active) {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		computeTransform(ox,oy,x,y,angle,1,1);
 		spriteBatch.setColor(tint);
 		spriteBatch.draw(tr,width,height,local);
@@ -632,8 +808,10 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		font.setColor(c);
-		GlyphLayout layout = new GlyphLayout(font,text);
+		layout.setText(font,text);
+		glyphs += countGlyphs(layout);
 		font.draw(spriteBatch, layout, x, y);
     }
 
@@ -642,8 +820,10 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		font.setColor(c);
-		GlyphLayout layout = new GlyphLayout(font,text);
+		layout.setText(font,text);
+		glyphs += countGlyphs(layout);
 		font.draw(spriteBatch, layout, x, y+font.getCapHeight());
 	}
 
@@ -660,14 +840,48 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		drawCalls++;
 		font.setColor(c);
-		GlyphLayout layout = new GlyphLayout(font,text);
+		layout.setText(font,text);
+		glyphs += countGlyphs(layout);
 		float x = (getWidth()  - layout.width) / 2.0f;
 		float y = (getHeight() + layout.height) / 2.0f;
 //		font.setColor(Color.WHITE);
 		font.draw(spriteBatch, layout, x, y+offset);
     }
 
+	/**
+	 * Receives the counters of every drawing sequence, for profiling.
+	 */
+	public interface FrameListener {
+		/**
+		 * Called by end() once the sequence is flushed
+		 *
+		 * @param canvas the canvas, whose counters hold the values of the sequence
+		 */
+		void frameEnded(GameCanvas canvas);
+	}
+
+	/**
+	 * Sprite batch that counts its texture switches.
+	 */
+	private static class CountingBatch extends SpriteBatch {
+		/** Texture switches since the last begin() */
+		int textureSwitches;
+
+		@Override
+		public void begin() {
+			super.begin();
+			textureSwitches = 0;
+		}
+
+		@Override
+		protected void switchTexture(Texture texture) {
+			super.switchTexture(texture);
+			textureSwitches++;
+		}
+	}
+
 	/**
 	 * Enumeration of supported BlendStates.
 	 *
@@ -70,6 +70,12 @@ public abstract class GameObject {
 	protected boolean destroyed;
 	/** CURRENT image for this object. May change over time. */
 	protected FilmStrip animator;
+	/** Position at the start of the last simulation step */
+	private Vector2 prevPosition = new Vector2();
+	/** Position at the end of the last simulation step, kept while drawing in between */
+	private Vector2 stepPosition = new Vector2();
+	/** Whether prevPosition was saved since the object was created */
+	private boolean hasPrevPosition;
 
 	protected float width;
 
@@ -291,6 +297,36 @@ public abstract class GameObject {
 		position.add(velocity);
 	}
 
+	/**
+	 * Saves the position at the start of a simulation step
+	 *
+	 * The saved position is where {@link #interpolate} starts from.
+	 */
+	public void savePosition() {
+		prevPosition.set(position);
+		hasPrevPosition = true;
+	}
+
+	/**
+	 * Moves the object between its last two simulation steps for drawing
+	 *
+	 * The simulation runs at a fixed step, and a frame usually falls between two steps.
+	 * Every call must be followed by {@link #restorePosition} once the object is drawn.
+	 *
+	 * @param alpha fraction of the step since the last one, between 0 and 1
+	 */
+	public void interpolate(float alpha) {
+		stepPosition.set(position);
+		if (hasPrevPosition) {
+			position.set(prevPosition).lerp(stepPosition, alpha);
+		}
+	}
+
+	/** Puts the object back at the position of its last simulation step */
+	public void restorePosition() {
+		position.set(stepPosition);
+	}
+
 	/**
 	 * Draws this object to the canvas
 	 *
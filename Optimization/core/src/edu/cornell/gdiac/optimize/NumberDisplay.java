@@ -0,0 +1,227 @@
+package edu.cornell.gdiac.optimize;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * A number drawn with one image per digit, such as the world timer.
+ *
+ * The digit images are looked up once, as atlas regions when the canvas has packed them,
+ * so every digit draws from the same page. The quads of the number (which region goes
+ * where) are only laid out again when the value or the layout changes; drawing an
+ * unchanged number is one canvas draw per glyph and allocates nothing.
+ *
+ * A display with a separator image shows its value as a clock, minutes and seconds
+ * separated by that image. The decimal text of the value is cached as well, for counters
+ * that are drawn with a font.
+ */
+public class NumberDisplay {
+    /** Most glyphs a number can have: the digits of an int, and a separator */
+    private static final int MAX_GLYPHS = 12;
+
+    /** Images of the digits 0 to 9 */
+    private Texture[] digits;
+    /** Image between minutes and seconds, or null if the value is not a clock */
+    private Texture separator;
+    /** Regions of the digits, looked up for regionCanvas */
+    private TextureRegion[] digitRegions;
+    /** Region of the separator, looked up for regionCanvas */
+    private TextureRegion separatorRegion;
+    /** Canvas the regions were looked up for */
+    private GameCanvas regionCanvas;
+
+    /** Value displayed */
+    private int value;
+    /** Fewest digits shown, padded with zeros; for a clock, the fewest minute digits */
+    private int minDigits;
+    /** Decimal text of the value, or null until it is asked for */
+    private String text;
+
+    /** Horizontal center of the number */
+    private float centerX;
+    /** Bottom of the number */
+    private float y;
+    /** Width of a digit */
+    private float digitWidth;
+    /** Width of the separator */
+    private float separatorWidth;
+    /** Height of every glyph */
+    private float height;
+
+    /** Whether the quads must be laid out again before drawing */
+    private boolean dirty;
+    /** Number of glyphs laid out */
+    private int numGlyphs;
+    /** Digit of each glyph, or -1 for the separator */
+    private int[] glyphDigits;
+    /** Left edge of each glyph */
+    private float[] glyphX;
+
+    /**
+     * Creates a display of zero
+     *
+     * @param digits images of the digits 0 to 9
+     * @param separator image between minutes and seconds, or null if the value is not a clock
+     */
+    public NumberDisplay(Texture[] digits, Texture separator) {
+        this.digits = digits;
+        this.separator = separator;
+        digitRegions = new TextureRegion[digits.length];
+        minDigits = separator == null ? 1 : 2;
+        glyphDigits = new int[MAX_GLYPHS];
+        glyphX = new float[MAX_GLYPHS];
+        dirty = true;
+    }
+
+    /**
+     * Returns the value displayed
+     *
+     * @return the value displayed
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the value displayed. Negative values show as zero.
+     *
+     * @param value the value displayed
+     */
+    public void setValue(int value) {
+        value = Math.max(0, value);
+        if (value != this.value) {
+            this.value = value;
+            text = null;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Sets the fewest digits shown; shorter numbers are padded with zeros
+     *
+     * For a clock, this is the fewest minute digits; seconds always have two.
+     *
+     * @param minDigits the fewest digits shown
+     */
+    public void setMinDigits(int minDigits) {
+        if (minDigits != this.minDigits) {
+            this.minDigits = minDigits;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Returns the decimal text of the value, for drawing it with a font
+     *
+     * The text is cached until the value changes.
+     *
+     * @return the decimal text of the value
+     */
+    public String getText() {
+        if (text == null) {
+            text = Integer.toString(value);
+        }
+        return text;
+    }
+
+    /**
+     * Sets where the number is drawn
+     *
+     * The glyphs are placed side by side, centered on centerX.
+     *
+     * @param centerX horizontal center of the number
+     * @param y bottom of the number
+     * @param digitWidth width of a digit
+     * @param separatorWidth width of the separator
+     * @param height height of every glyph
+     */
+    public void setLayout(float centerX, float y, float digitWidth, float separatorWidth, float height) {
+        if (centerX != this.centerX || digitWidth != this.digitWidth || separatorWidth != this.separatorWidth) {
+            dirty = true;
+        }
+        this.centerX = centerX;
+        this.y = y;
+        this.digitWidth = digitWidth;
+        this.separatorWidth = separatorWidth;
+        this.height = height;
+    }
+
+    /**
+     * Draws the number
+     *
+     * @param canvas the drawing context, between begin() and end()
+     */
+    public void draw(GameCanvas canvas) {
+        if (canvas != regionCanvas) {
+            findRegions(canvas);
+        }
+        if (dirty) {
+            layOut();
+        }
+        for (int i = 0; i < numGlyphs; i++) {
+            int d = glyphDigits[i];
+            if (d < 0) {
+                canvas.draw(separatorRegion, glyphX[i], y, separatorWidth, height);
+            } else {
+                canvas.draw(digitRegions[d], glyphX[i], y, digitWidth, height);
+            }
+        }
+    }
+
+    /**
+     * Looks up the regions of the digit images on a canvas
+     *
+     * @param canvas the drawing context
+     */
+    private void findRegions(GameCanvas canvas) {
+        for (int i = 0; i < digits.length; i++) {
+            digitRegions[i] = canvas.getRegion(digits[i]);
+        }
+        separatorRegion = separator == null ? null : canvas.getRegion(separator);
+        regionCanvas = canvas;
+    }
+
+    /**
+     * Computes the glyphs of the value and their positions
+     */
+    private void layOut() {
+        numGlyphs = 0;
+        if (separator == null) {
+            addDigits(value, minDigits);
+        } else {
+            addDigits(value / 60, minDigits);
+            glyphDigits[numGlyphs++] = -1;
+            addDigits(value % 60, 2);
+        }
+
+        float width = 0;
+        for (int i = 0; i < numGlyphs; i++) {
+            width += glyphDigits[i] < 0 ? separatorWidth : digitWidth;
+        }
+        float x = centerX - width / 2;
+        for (int i = 0; i < numGlyphs; i++) {
+            glyphX[i] = x;
+            x += glyphDigits[i] < 0 ? separatorWidth : digitWidth;
+        }
+        dirty = false;
+    }
+
+    /**
+     * Appends the digits of a number to the glyphs, most significant first
+     *
+     * @param n the number, not negative
+     * @param min the fewest digits, padded with zeros
+     */
+    private void addDigits(int n, int min) {
+        int count = 1;
+        for (int rest = n / 10; rest > 0; rest /= 10) {
+            count++;
+        }
+        count = Math.min(Math.max(count, min), MAX_GLYPHS - 1 - numGlyphs);
+        for (int i = numGlyphs + count - 1; i >= numGlyphs; i--) {
+            glyphDigits[i] = n % 10;
+            n /= 10;
+        }
+        numGlyphs += count;
+    }
+}
@@ -2,24 +2,28 @@ package edu.cornell.gdiac.optimize.controller;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.Queue;
 import edu.cornell.gdiac.assets.AssetDirectory;
 import edu.cornell.gdiac.optimize.GameCanvas;
 import edu.cornell.gdiac.optimize.entity.Enemy;
 import edu.cornell.gdiac.optimize.controller.AIController;
 import edu.cornell.gdiac.optimize.map.Board;
+import edu.cornell.gdiac.optimize.map.DistanceField;
 import edu.cornell.gdiac.optimize.map.HexTile;
 import com.badlogic.gdx.graphics.Texture;
 import edu.cornell.gdiac.util.FilmStrip;
 
-import java.util.HashMap;
-import java.util.Random;
 
 public class AIController {
     /** The list of currently active enemies' board coordinates */
     private Array<Enemy> enemies;
     /** The list of potential "will be chasing sth" enemies */
     private Array<Enemy> enemiesInFoodRadius;
+    /** Reusable result of findEnemies */
+    private Array<Enemy> enemiesInRange = new Array<>();
+    /** Reusable tile indices for findEnemies */
+    private IntArray tilesInRange = new IntArray();
 
     public static final int DIRECTION_N= 0;
     public static final int DIRECTION_NE = 1;
@@ -81,18 +85,28 @@ public class AIController {
         enemiesInFoodRadius = enemies;
     }
 
+    /**
+     * Adds an enemy and gives it its sprites
+     *
+     * An AIController that was never populated runs without graphics, and its enemies
+     * get no sprites.
+     *
+     * @param enemy the enemy to add
+     * @param board the game board
+     */
     public void addEnemies(Enemy enemy, Board board){
         enemies.add(enemy);
-        for (Enemy o : enemies) {
-            o.setHopSprites(new FilmStrip[]{new FilmStrip(hopTextureN,HOP_ROWS,HOP_COLS,HOP_SIZE),
-                    new FilmStrip(hopTextureNE,HOP_ROWS,HOP_COLS,HOP_SIZE),
-                    new FilmStrip(hopTextureSE,HOP_ROWS,HOP_COLS,HOP_SIZE),
-                    new FilmStrip(hopTextureS,HOP_ROWS,HOP_COLS,HOP_SIZE),
-                    new FilmStrip(hopTextureSW,HOP_ROWS,HOP_COLS,HOP_SIZE),
-                    new FilmStrip(hopTextureNW,HOP_ROWS,HOP_COLS,HOP_SIZE)}, board);
-            o.setFilmStrip();
-            o.setIndicatorSprite(new FilmStrip(moveIndicator, 2,7,11),board);
+        if (hopTextureN == null) {
+            return;
         }
+        enemy.setHopSprites(new FilmStrip[]{new FilmStrip(hopTextureN,HOP_ROWS,HOP_COLS,HOP_SIZE),
+                new FilmStrip(hopTextureNE,HOP_ROWS,HOP_COLS,HOP_SIZE),
+                new FilmStrip(hopTextureSE,HOP_ROWS,HOP_COLS,HOP_SIZE),
+                new FilmStrip(hopTextureS,HOP_ROWS,HOP_COLS,HOP_SIZE),
+                new FilmStrip(hopTextureSW,HOP_ROWS,HOP_COLS,HOP_SIZE),
+                new FilmStrip(hopTextureNW,HOP_ROWS,HOP_COLS,HOP_SIZE)}, board);
+        enemy.setFilmStrip();
+        enemy.setIndicatorSprite(new FilmStrip(moveIndicator, 2,7,11),board);
     }
 
     public void updateFoodChaseState(HexTile foodTile){
@@ -104,49 +118,30 @@ public class AIController {
         }
     }
 
-    /** Updates the board ??Is this doc right
+    /** Returns the enemies within range of a tile that are not chasing food yet
+     *
+     * The tile itself is not part of its range. The returned array is reused by the next call.
      *
      * @param currentLoc current location to find enemies in range from
      * @param board current game board
      * @param dst number of tiles in the radius of the range
      * @return The enemy list with which the enemies are in dst number of tiles apart */
     public Array<Enemy> findEnemies(Vector2 currentLoc, Board board, int dst){
-        Queue<Vector2> queue = new Queue<>();
-        Array<Enemy> res = new Array<>();
-        HashMap<Vector2, Boolean> visited = new HashMap<>();
-        HashMap<Vector2, Integer> distanceKeeper = new HashMap<>();
-        visited.put(currentLoc,true);
-        distanceKeeper.put(currentLoc,0);
-        for (Vector2 tile : board.adjTiles((int) currentLoc.x, (int) currentLoc.y)) {
-            queue.addLast(tile);
-            distanceKeeper.put(tile,1);
-        }
-        while (!queue.isEmpty()){
-            Vector2 node = queue.removeFirst();
-            if (!visited.containsKey(node)) {
-                if (dst > distanceKeeper.get(node)) {
-                    if (node.x < board.getNumCols() && node.y < board.getNumRows()) { // Why do we need this condition?
-                        Array<Enemy> targets = board.getBoard()[(int) node.x][(int) node.y].getEnemies();
-                        if (!targets.isEmpty() && !targets.get(0).getFoodChasing()) {
-                            res.addAll(targets);
-                        }
-                        for (Vector2 tile : board.adjTiles((int) node.x, (int) node.y)) {
-                            queue.addLast(tile);
-                            if (!distanceKeeper.containsKey(tile) || distanceKeeper.get(tile) > distanceKeeper.get(node) + 1) {
-                                distanceKeeper.put(tile, distanceKeeper.get(node) + 1);
-                            }
-                        }
-                    }
-                } else if (dst == distanceKeeper.get(node)) {
-                    Array<Enemy> targets = board.getBoard()[(int) node.x][(int) node.y].getEnemies();
-                    if (!targets.isEmpty() && !targets.get(0).getFoodChasing()) {
-                        res.addAll(targets);
-                    }
-                }
-                visited.put(node, true);
+        enemiesInRange.clear();
+        HexTile center = board.getTileArrayCoord((int) currentLoc.x, (int) currentLoc.y);
+        int centerIndex = board.getTileIndex(center);
+        board.findEnemyTiles(center, dst, tilesInRange);
+        for (int i = 0; i < tilesInRange.size; i++) {
+            int index = tilesInRange.get(i);
+            if (index == centerIndex) {
+                continue;
+            }
+            Array<Enemy> targets = board.getTile(index).getEnemies();
+            if (!targets.get(0).getFoodChasing()) {
+                enemiesInRange.addAll(targets);
             }
         }
-        return res;
+        return enemiesInRange;
     }
 
     public void updateFoodChaseStateToFalse(){
@@ -182,23 +177,22 @@ public class AIController {
     public void updateTileTimerEnemyMoveIn(Board board, Vector2 playerLoc) {
         Vector2 playerTileArrayCoord = board.boardToArray((int) playerLoc.x, (int) playerLoc.y);
         HexTile playerTile = board.getTileArrayCoord((int) playerTileArrayCoord.x, (int) playerTileArrayCoord.y);
+        DistanceField playerDistances = board.getPlayerDistances(playerTile);
 
         for (Enemy e : enemies) {
             if (!e.isMoving() && !e.getFoodChasing()){// find path to player and move one time closer
                 Vector2 enemyTileArrayCoord = board.boardToArray((int) e.getTilePosition().x, (int) e.getTilePosition().y);
                 HexTile enemyTile = board.getTileArrayCoord((int) enemyTileArrayCoord.x, (int) enemyTileArrayCoord.y);
-                Array<HexTile> path = board.findBestPathBFS(enemyTile, playerTile);
+                HexTile next = playerDistances.getNextHop(enemyTile);
 
                 // update enemy position when there exists a path to the player
-                if (path.size > 1) {
-                    e.startMoving(new Vector2(path.get(1).getQ(), path.get(1).getR()), board);
+                if (next != null) {
+                    e.startMoving(new Vector2(next.getQ(), next.getR()), board);
                     // update patrolling path if necessary
                     if (e.haveObstacleInPath(board)) {
                         Queue<Vector2> newPath;
-                        Random rand = new Random();
-                        int pathSizeLimit = rand.nextInt(4);
 //                        if (path.size > 2 + pathSizeLimit && !path.get(1).isObstacle() && !path.get(1).hasEnemy()) {
-                        newPath = e.findNewSafePath(board, path.get(1));
+                        newPath = e.findNewSafePath(board, next);
 //                            System.out.println("Me1");
 //                        } else {
 //                            newPath = e.findNewSafePath(board);
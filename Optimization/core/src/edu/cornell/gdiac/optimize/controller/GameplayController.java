@@ -24,7 +24,6 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.*;
@@ -32,9 +31,14 @@ import com.badlogic.gdx.graphics.Texture;
 import edu.cornell.gdiac.assets.AssetDirectory;
 import edu.cornell.gdiac.optimize.GameCanvas;
 import edu.cornell.gdiac.optimize.GameObject;
+import edu.cornell.gdiac.optimize.NumberDisplay;
 import edu.cornell.gdiac.optimize.entity.*;
 import edu.cornell.gdiac.optimize.kitchen.*;
+import edu.cornell.gdiac.optimize.level.LevelData;
+import edu.cornell.gdiac.optimize.level.LevelCache;
 import edu.cornell.gdiac.optimize.map.*;
+import edu.cornell.gdiac.optimize.simulation.GameSimulation;
+import edu.cornell.gdiac.optimize.simulation.SimulationInput;
 import edu.cornell.gdiac.util.FilmStrip;
 
 import java.util.ArrayList;
@@ -43,7 +47,9 @@ import java.util.ArrayList;
  * Controller to handle gameplay interactions.
  * </summary>
  * <remarks>
- * This controller also acts as the root class for all the models.
+ * This controller also acts as the root class for all the models. The rules of the game
+ * live in a {@link GameSimulation}: this controller turns the player's input into commands
+ * for it, runs the tutorials and the sounds, and draws its state.
  */
 public class GameplayController {
 	// =========================== Gameplay ===========================
@@ -63,10 +69,26 @@ public class GameplayController {
 	 * The board on which the game is played
 	 */
 	private Board board;
+	/**
+	 * The rules of the game, played on the board and the kitchen of this controller
+	 */
+	private GameSimulation simulation;
+	/**
+	 * Input of the simulation, filled from the input controller every frame
+	 */
+	private SimulationInput simulationInput;
+	/**
+	 * Input controller of the frame being played, for the tutorials
+	 */
+	private InputController tutorialInput;
 	/**
 	 * The currently active object
 	 */
 	private Array<GameObject> objects;
+	/** The objects in drawing order as of the last frame, back (top of the screen) to front */
+	private Array<GameObject> drawOrder;
+	/** Whether objects were added or cleared since the drawing order was last rebuilt */
+	private boolean drawOrderDirty;
 	private int width;
 	private int height;
 	private float musicvolume;
@@ -76,19 +98,11 @@ public class GameplayController {
 	private int tutorialState;
 	private static final int[] LEVEL_INFO_3 = new int[] {0,120,240,42,600,600};
 
-	// JSON related variables
-	/**
-	 * Json Reader for populating level from level data file
-	 */
-	JsonReader json = new JsonReader();
-	/**
-	 * Json value of the current level data file
-	 */
-	JsonValue level;
+	// Level related variables
 	/**
-	 * Available moves for the player
+	 * Decoded data of the current level file
 	 */
-	private Array<Integer> currentMove;
+	LevelData level;
 
 	// =========================== Textures ===========================
 
@@ -187,45 +201,13 @@ public class GameplayController {
 	 */
 	private Texture colon;
 	/**
-	 * Texture for 0
-	 */
-	private Texture num0;
-	/**
-	 * Texture for 1
-	 */
-	private Texture num1;
-	/**
-	 * Texture for 2
+	 * Display of the world timer, drawn with the number textures
 	 */
-	private Texture num2;
+	private NumberDisplay timerDisplay;
 	/**
-	 * Texture for 3
+	 * Displays of the forward, turn and throw move counts of the rewards
 	 */
-	private Texture num3;
-	/**
-	 * Texture for 4
-	 */
-	private Texture num4;
-	/**
-	 * Texture for 5
-	 */
-	private Texture num5;
-	/**
-	 * Texture for 6
-	 */
-	private Texture num6;
-	/**
-	 * Texture for 7
-	 */
-	private Texture num7;
-	/**
-	 * Texture for 8
-	 */
-	private Texture num8;
-	/**
-	 * Texture for 9
-	 */
-	private Texture num9;
+	private NumberDisplay[] rewardDisplays;
 	/**
 	 * Middle portion of the status background (grey region)
 	 */
@@ -245,6 +227,14 @@ public class GameplayController {
 	private Texture cardRewardForward;
 	private Texture cardRewardThrow;
 	private Texture cardRewardTurn;
+	/**
+	 * Reward cards in the order of the move counts: forward, turn, throw
+	 */
+	private Texture[] rewardCards;
+	/**
+	 * Horizontal slot of each reward card, in eighths of the card width from the center
+	 */
+	private static final int[] REWARD_SLOTS = {-3, -1, 1};
 
 	// =========================== Constants ===========================
 
@@ -252,6 +242,14 @@ public class GameplayController {
 	 * Absolute value is the opacity of the filter
 	 */
 	private float opacity = -1.0f;
+	/**
+	 * Tint of the filter, whose alpha follows the opacity
+	 */
+	private final Color filterTint = new Color(Color.WHITE);
+	/**
+	 * Fraction of a simulation step between the last step and the frame being drawn
+	 */
+	private float interpolation = 1.0f;
 	/**
 	 * Board position of the exit
 	 */
@@ -272,18 +270,6 @@ public class GameplayController {
 	 * Number of frames in truck animation strip
 	 */
 	private static final int TRUCK_FRAME_SIZE = 5;
-	/**
-	 * Total time in world
-	 */
-	private static int WORLD_TIMER;
-	/**
-	 * Time in seconds left in world timer
-	 */
-	private int worldTimerDisplay;
-	/**
-	 * Time in frames left in world timer
-	 */
-	private int worldTimerF;
 	/**
 	 * Whether board should be created
 	 */
@@ -313,51 +299,51 @@ public class GameplayController {
 	 */
 	public static float ING_POS_Y;
 
-	private boolean threw;
-	private Vector2 mouseTileArrayCoord;
-
 	private Sound chop;
 	private Sound revving;
 	private Sound bgm;
 	private Sound star;
 
+	private int tutorialTimer;
+	private BitmapFont grande;
+
 	/**
-	 * The list contains all the keys on the board
+	 * Runs the tutorials and plays the sounds when the simulation asks
 	 */
-	private Array<Key> keys;
+	private final GameSimulation.Listener simulationListener = new GameSimulation.Listener() {
+		@Override
+		public void tutorialControls(Truck truck) {
+			checkTutorialStates(tutorialInput);
+			handleTutorials(tutorialInput);
+		}
 
-	private int tutorialTimer;
-	private BitmapFont grande;
+		@Override
+		public void keyCollected(Key key) {
+			star.play(soundvolume);
+		}
+	};
 
 	/**
 	 * Creates a new GameplayController with no active elements.
 	 *
 	 * @param canvasWidth  Width of the canvas
 	 * @param canvasHeight Height of the canvas
+	 * @param lev          File path of the level
+	 * @param levels       Cache of decoded levels and prebuilt boards
 	 */
-	public GameplayController(int canvasWidth, int canvasHeight, String lev) {
+	public GameplayController(int canvasWidth, int canvasHeight, String lev, LevelCache levels) {
 		width = canvasWidth;
 		height = canvasHeight;
-		// Store json file
-		level = json.parse(Gdx.files.internal(lev));
-
-		// Set board size from data file
-		int boardQ = Integer.parseInt(level.get("boardQ").toString().split(" ")[1]);
-		int boardR = Integer.parseInt(level.get("boardR").toString().split(" ")[1]);
-		noBoard = boardQ == 0;
-
-		// Set world timer from data file
-		WORLD_TIMER = Integer.parseInt(level.get("worldTimeLimit").toString().split(":")[1].trim());
-		worldTimerDisplay = WORLD_TIMER;
-		worldTimerF = WORLD_TIMER * 60;
+		// Decode the level file once; restarts rebuild from the decoded data
+		level = levels.getLevel(lev);
+		noBoard = !level.hasBoard();
 
 		// Set board exit from data file
 		if (!noBoard) {
-			String[] ex = level.get("exitTilePos").toString().split(",");
-			int exitQ = (int) Float.parseFloat(ex[0].substring(1).split(" ")[1].substring(1));
-			int exitR = (int) Float.parseFloat(ex[1].substring(0, ex[1].length() - 2));
-			Vector2 exit = new Vector2(exitQ, exitR);
-			board = new Board(boardQ, boardR, width, height * 3 / 10f, exit);
+			board = levels.takeBoard(lev, width, height);
+			if (board == null) {
+				board = LevelCache.buildBoard(level, width, height);
+			}
 		}
 
 		// Initialize objects
@@ -365,7 +351,8 @@ public class GameplayController {
 		aiController = new AIController(new Array<Enemy>());
 		player = null;
 		objects = new Array<GameObject>();
-		keys = new Array<>();
+		drawOrder = new Array<GameObject>(GameObject.class);
+		simulationInput = new SimulationInput();
 		isPaused = false;
 		tutorialTimer = -1;
 		tutorialState = 0;
@@ -378,7 +365,7 @@ public class GameplayController {
 	 * available on the level.
 	 */
 	public void loadJSONdata() {
-		JsonValue kitchenData = level.get("kitchen");
+		JsonValue kitchenData = level.getKitchen();
 		kitchenController.loadJSONKitchenData(kitchenData);
 	}
 
@@ -396,7 +383,7 @@ public class GameplayController {
 	}
 
 	public boolean keysExist() {
-		return keys.size > 0;
+		return simulation.getKeys().size > 0;
 	}
 
 	public boolean isPaused() {
@@ -458,19 +445,19 @@ public class GameplayController {
 		cardRewardForward = directory.getEntry("cardRewardForward", Texture.class);
 		cardRewardTurn = directory.getEntry("cardRewardTurn", Texture.class);
 		cardRewardThrow = directory.getEntry("cardRewardThrow", Texture.class);
+		rewardCards = new Texture[]{cardRewardForward, cardRewardTurn, cardRewardThrow};
 
 		// Timer textures
 		colon = directory.getEntry("colonNumber", Texture.class);
-		num0 = directory.getEntry("Number0", Texture.class);
-		num1 = directory.getEntry("Number1", Texture.class);
-		num2 = directory.getEntry("Number2", Texture.class);
-		num3 = directory.getEntry("Number3", Texture.class);
-		num4 = directory.getEntry("Number4", Texture.class);
-		num5 = directory.getEntry("Number5", Texture.class);
-		num6 = directory.getEntry("Number6", Texture.class);
-		num7 = directory.getEntry("Number7", Texture.class);
-		num8 = directory.getEntry("Number8", Texture.class);
-		num9 = directory.getEntry("Number9", Texture.class);
+		Texture[] digits = new Texture[10];
+		for (int i = 0; i < digits.length; i++) {
+			digits[i] = directory.getEntry("Number" + i, Texture.class);
+		}
+		timerDisplay = new NumberDisplay(digits, colon);
+		rewardDisplays = new NumberDisplay[3];
+		for (int i = 0; i < rewardDisplays.length; i++) {
+			rewardDisplays[i] = new NumberDisplay(digits, null);
+		}
 		throwableFoodTexture = directory.getEntry("throwableFood", Texture.class);
 		nextButton = directory.getEntry("nextButton", Texture.class);
 
@@ -493,6 +480,8 @@ public class GameplayController {
 			exitSignPos = new Vector2(exitPos.x - board.getTileWidth() / 4, exitPos.y);
 			board.setProgressTextures(statusBkgMiddle, statusFrgMiddle);
 		}
+		simulation = new GameSimulation(level, levelNum, width, height, board, kitchenController, aiController);
+		simulation.setListener(simulationListener);
 	}
 
 	// ============================ Getter Functions ===========================
@@ -546,64 +535,15 @@ public class GameplayController {
 		return player;
 	}
 
-	/**
-	 * Gets world timer display value
-	 */
-	public int getWorldTimerDisplay() {
-		return worldTimerDisplay;
-	}
-
 	// ============================ Functions for GameMode ===========================
 
 	/**
-	 * Returns true if the currently active player reached the exit tile.
-	 *
-	 * @return true if the currently active player reached the exit tile.
-	 */
-	public boolean reachExit() {
-		return !noBoard && player.getBoardPosition().equals(board.getExitTile()) && !player.isMoving();
-	}
-
-	/**
-	 * Returns true if the currently active player is on the same tile as an enemy.
+	 * Checks whether the game was won or lost
 	 *
-	 * @return true if the currently active player is on the same tile as an enemy.
+	 * @return the state of the game
 	 */
-	public boolean playerMetEnemy() {
-		if (noBoard) {
-			return false;
-		}
-		Vector2 playerBoardCoord = player.getBoardPosition();
-		Vector2 playerArrayCoord = board.boardToArray((int) playerBoardCoord.x, (int) playerBoardCoord.y);
-		HexTile playerTile = board.getTileArrayCoord((int) playerArrayCoord.x, (int) playerArrayCoord.y);
-		boolean res = playerTile.hasEnemy();
-		return res && !player.isMoving();
-	}
-
-	/**
-	 * This method handles the key collection.
-	 */
-	public void playerMetKey() {
-		Vector2 playerBoardCoord = player.getBoardPosition();
-		int currKeyNum = getKeyNum();
-		for (Key key : keys) {
-			if (playerBoardCoord.equals(key.getTileBoardPos()) && !player.isMoving() && !key.isCollecting()) {
-				if(!key.isCollected()) {
-					star.play(soundvolume);
-				}
-				key.setCollected(true, currKeyNum);
-			}
-		}
-	}
-
-	public boolean isCollectingKey() {
-		for (Key key : keys) {
-			if (key.isCollecting() && !key.isCollected()) {
-				return true;
-
-			}
-		}
-		return false;
+	public GameSimulation.State updateGameState() {
+		return simulation.updateState();
 	}
 
 	/**
@@ -612,13 +552,7 @@ public class GameplayController {
 	 * @return the number of keys which have been collected by the player.
 	 */
 	public int getKeyNum() {
-		int result = 0;
-		for (Key key : keys) {
-			if (key.isCollected()) {
-				result++;
-			}
-		}
-		return result;
+		return simulation.getKeyNum();
 	}
 
 	/**
@@ -636,117 +570,92 @@ public class GameplayController {
 	// ============================ Start Function and Helpers ===========================
 
 	/**
-	 * Initializes and adds the player to the game
+	 * Gives the truck of the game its sprites and sounds and adds it to the game
 	 * <p>
-	 * This method creates a single player, but does nothing else.
 	 * This method is a helper function for start.
-	 *
-	 * @param x Starting x-position for the player
-	 * @param y Starting y-position for the player
 	 */
-	private void initPlayer(float x, float y) {
-		player = new Truck();
+	private void initPlayer() {
+		player = simulation.getTruck();
 		player.setDriveSprites(new FilmStrip[]{new FilmStrip(truckTextureN, TRUCK_ROWS, TRUCK_COLS, TRUCK_FRAME_SIZE),
 				new FilmStrip(truckTextureNE, TRUCK_ROWS, TRUCK_COLS, TRUCK_FRAME_SIZE),
 				new FilmStrip(truckTextureSE, TRUCK_ROWS, TRUCK_COLS, TRUCK_FRAME_SIZE),
 				new FilmStrip(truckTextureS, TRUCK_ROWS, TRUCK_COLS, TRUCK_FRAME_SIZE),
 				new FilmStrip(truckTextureSW, TRUCK_ROWS, TRUCK_COLS, TRUCK_FRAME_SIZE),
 				new FilmStrip(truckTextureNW, TRUCK_ROWS, TRUCK_COLS, TRUCK_FRAME_SIZE),}, board);
-		player.setFilmStrip(levelNum);
-		player.getPosition().set(x, y);
-		player.setBoardPosition(board);
 		if(levelNum > 8) {
 			player.setRevSound(revving);
 			player.setSoundVolume(soundvolume);
 		}
-		objects.add(player);
+		addObject(player);
 	}
 
 	/**
-	 * Initializes and adds obstacles to the game based on JSON data
+	 * Decorates the obstacles of the level
 	 * <p>
-	 * This method creates obstacles from JSON data
-	 * This method is a helper function for start.
+	 * Obstacles with a texture are drawn over their tile; the others leave a hole in the
+	 * board. This method is a helper function for start.
 	 */
 	private void initObstacles() {
-		for (JsonValue o : level.get("objects").get("obstacles").iterator()) {
-			String[] start = o.get("position").toString().split(",");
-			int startQ = (int) Float.parseFloat(start[0].split(": ")[1].substring(1));
-			int startR = (int) Float.parseFloat(start[1].substring(0, start[1].length() - 2));
-			Texture t = getObstacleTexture(o.get("texture").toString().split(": ")[1]);
-			board.setObstacle(startQ, startR, player.getBoardPosition(), t);
-			if (t != null) {
-				Vector2 arrCoord = board.boardToArray(startQ, startR);
-				HexTile obTile = board.getBoard()[(int) arrCoord.x][(int) arrCoord.y];
+		for (int i = 0; i < level.getNumObstacles(); i++) {
+			Vector2 arrCoord = board.boardToArray(level.getObstacleQ(i), level.getObstacleR(i));
+			HexTile obTile = board.getBoard()[(int) arrCoord.x][(int) arrCoord.y];
+			Texture t = getObstacleTexture(level.getObstacleTexture(i));
+			if (t == null) {
+				board.setTileTexture(obTile, null);
+			} else {
 				GameObject temp = new Obstacle(obTile.getX(), obTile.getY(), obTile.getWidth(), obTile.getHeight());
 				temp.setTexture(t);
-				objects.add(temp);
+				addObject(temp);
 			}
 		}
 	}
 
 	/**
-	 * Initializes and adds enemies to the game based on JSON data
+	 * Adds the enemies of the game
 	 * <p>
-	 * This method creates enemies from JSON data
 	 * This method is a helper function for start.
 	 */
 	private void initEnemy() {
-		for (JsonValue e : level.get("objects").get("enemies").iterator()) {
-			int coolTime = Integer.parseInt(e.get("coolTime").toString().split(": ")[1]);
-			String[] start = e.get("startPosition").toString().split(",");
-			float startQ = Float.parseFloat(start[0].split(": ")[1].substring(1));
-			float startR = Float.parseFloat(start[1].substring(0, start[1].length() - 2));
-			Queue path = new Queue();
-			for (JsonValue p : e.get("path").iterator()) {
-				String[] dir = p.toString().split(",");
-				float dirQ = Float.parseFloat(dir[0].substring(1));
-				float dirR = Float.parseFloat(dir[1].substring(0, dir[1].length() - 2));
-				path.addLast(new Vector2(dirQ, dirR));
-			}
-			Enemy enemy = new Enemy(coolTime, new Vector2(startQ, startR), board, path);
-			aiController.addEnemies(enemy, board);
-			objects.add(enemy);
+		for (Enemy enemy : simulation.getEnemies()) {
+			addObject(enemy);
 		}
 	}
 
 	/**
-	 * Initializes and adds keys to the game based on JSON data
+	 * Gives the keys of the game their texture and adds them
 	 * <p>
-	 * This method creates keys from JSON data
 	 * This method is a helper function for start.
 	 */
 	private void initKeys() {
-		for (JsonValue e : level.get("objects").get("keys").iterator()) {
-			String[] key = e.toString().split(",");
-			float keyQ = Float.parseFloat(key[0].substring(1));
-			float keyR = Float.parseFloat(key[1].substring(0, key[1].length() - 2));
-			Key newKey = new Key(board, width, height, new Vector2(keyQ, keyR));
-			newKey.setTexture(keyTexture);
-			keys.add(newKey);
-			objects.add(newKey);
+		for (Key key : simulation.getKeys()) {
+			key.setTexture(keyTexture);
+			addObject(key);
 		}
 	}
 
 	/**
 	 * Starts a new game.
 	 * <p>
-	 * This method creates a single player, but does nothing else.
-	 *
-	 * @param x Starting x-position for the player
-	 * @param y Starting y-position for the player
+	 * The simulation places the objects of the level, then they get their textures.
 	 */
-	public void start(float x, float y, Board board) {
-		// Create the player's ship
-		initPlayer(x, y);
-		// add obstacles from data file
+	private void start() {
+		simulation.start();
+		initPlayer();
 		initObstacles();
-		// add enemies from data file
 		initEnemy();
-		// add keys from data file
 		initKeys();
 	}
 
+	/**
+	 * Adds an object to the game, to be drawn from the next frame on
+	 *
+	 * @param o the object
+	 */
+	private void addObject(GameObject o) {
+		objects.add(o);
+		drawOrderDirty = true;
+	}
+
 	// ============================ Reset Function ===========================
 
 	/**
@@ -756,16 +665,10 @@ public class GameplayController {
 		bgm.stop();
 		tutorialState = 0;
 		player = null;
-		keys.clear();
 		objects.clear();
-		board.reset();
-		if (currentMove != null){
-			for (int i = 0; i < currentMove.size; i++){
-				currentMove.set(i,0);
-			}
-		}
-		aiController.setEnemies(new Array<Enemy>());
-		kitchenController.reset();
+		drawOrder.clear();
+		drawOrderDirty = true;
+		simulation.reset();
 	}
 
 	/**
@@ -774,12 +677,7 @@ public class GameplayController {
 	public void init() {
 		bgm.stop();
 		if (!noBoard) {
-			String[] ex = level.get("startPos").toString().split(",");
-			int startQ = (int) Float.parseFloat(ex[0].substring(1).split(" ")[1].substring(1));
-			int startR = (int) Float.parseFloat(ex[1].substring(0, ex[1].length() - 2));
-
-			Vector2 startPos = board.arrayToScreen(startQ, startR);
-			start(startPos.x, startPos.y, board);
+			start();
 		}
 	}
 
@@ -791,192 +689,50 @@ public class GameplayController {
 		if (!noBoard) {
 			init();
 		}
-		worldTimerDisplay = WORLD_TIMER;
-		worldTimerF = WORLD_TIMER * 60;
 	}
 
 	// ============================ Play Function and Helpers ===========================
 
 	/**
-	 * Update the progress after shooting food
-	 * <p>
-	 * Updates the board, the player, and the enemy if the input was valid.
-	 * This method is a helper function resolvePlayer.
-	 *
-	 * @param input inputcontroller to detect change from
-	 */
-	private void updateThrow(InputController input) {
-		player.updateThrowing();
-		if (!player.isThrowing()) {
-			threw = true;
-			board.addFood(mouseTileArrayCoord, player.getThrowFood());
-			input.setFoodShootingClick(false);
-			aiController.setEnemiesInFoodRadius(aiController.findEnemies(mouseTileArrayCoord, board, 2));
-			aiController.updateFoodChaseState(board.getTileArrayCoord((int) mouseTileArrayCoord.x, (int) mouseTileArrayCoord.y));
-		}
-	}
-
-	/**
-	 * Process the effect from shooting the food
-	 * <p>
-	 * Updates the board, the player, and the enemy if the input was valid.
-	 * This method is a helper function resolvePlayer.
-	 *
-	 * @param input inputcontroller to detect change from
-	 */
-	private void handleThrow(InputController input) {
-		Vector2 screenCoord = input.getFoodShootingScreenCoordinate(); // need to check if valid board coord
-		if (board.findNearestTile(screenCoord.x, height - screenCoord.y) != null) {
-			mouseTileArrayCoord = board.screenToArray(screenCoord.x, height - screenCoord.y);
-			HexTile selectedTile = board.getTileArrayCoord((int) mouseTileArrayCoord.x, (int) mouseTileArrayCoord.y);
-			if (mouseTileArrayCoord.dst(player.getArrayPosition(board)) > 0 &&
-					player.getThrowRadius() >= board.dst2Tile(player.getArrayPosition(board), mouseTileArrayCoord)
-					&& !selectedTile.isObstacle() && !selectedTile.hasFood() && !selectedTile.hasEnemy()) {
-				Vector2 screenPos = board.arrayToScreen((int) mouseTileArrayCoord.x, (int) mouseTileArrayCoord.y);
-				player.startThrowing(new Vector2(screenPos.x, screenPos.y + board.getTileHeight() / 4f),
-						board.getTileWidth(), board.getTileHeight());
-				if (levelNum != 4) {
-					currentMove.set(3, 0);
-					currentMove.set(0, currentMove.get(0) - 1);
-				}
-			}
-		}
-	}
-
-	/**
-	 * Updates enemy timer and process actions if timer is up
-	 * <p>
-	 * When tile timer goes off, update enemy state.
-	 * Updates the board, the player, and the enemy if the input was valid.
-	 * This method is a helper function resolvePlayer.
-	 */
-	private void updateEnemyTimer() {
-		for (Vector2 arrC : board.getFoodTiles()) {
-			aiController.setEnemiesInFoodRadius(aiController.findEnemies(arrC, board, 2));
-			aiController.updateFoodChaseState(board.getTileArrayCoord((int) arrC.x, (int) arrC.y));
-		}
-		// if player tile timer is up, move-in enemies
-		if (player.getExceedTileTimer()) {
-			aiController.updateTileTimerEnemyMoveIn(board, player.getBoardPosition());
-			player.resetExceedTileTimer();
-		} else if (player.getTileTimer() == Truck.TILE_TIMER / 5) {
-			aiController.setEnemiesAboutToChaseTruck(player.getTileTimer());
-		}
-		if (player.getPrevMove()) {
-			aiController.unsetEnemiesAboutToChaseTruck();
-			player.resetPrevMove();
-		}
-	}
-
-	/**
-	 * Updates reward after action is taken.
-	 * <p>
-	 * This method is a helper function resolvePlayer.
-	 */
-	private void updateReward() {
-		if (player.getMadeMove()) {
-			currentMove.set(1, currentMove.get(1) - 1);
-			currentMove.set(0, currentMove.get(0) - 1);
-			player.resetMadeMove();
-		} else if (player.getMadeTurn()) {
-			currentMove.set(2, currentMove.get(2) - 1);
-			currentMove.set(0, currentMove.get(0) - 1);
-			player.resetMadeTurn();
-		}
-	}
-
-	/**
-	 * Process the player's actions.
-	 * <p>
-	 * This method is a helper function for resolveActions
-	 *
-	 * @param input Reference to the input controller
-	 * @param delta Number of seconds since last animation frame
-	 */
-	public void resolvePlayer(InputController input, float delta, Board board) {
-		if (aiController.allEnemiesNotMoving() && player.getPrevTileTimerTrigger() && player.getTileTimer() < 0) {
-			// reset truck's tile timer after enemies finished jumping
-			player.resetTileTimer();
-		}
-		if (kitchenController.recipesExist()) {
-			player.setIsMoveable(currentMove != null);
-			if (currentMove != null) {
-				player.setForward(input.isMoveForward() && currentMove.get(1) > 0);
-				player.setBackward(input.isMoveBackward() && currentMove.get(1) > 0);
-				player.setLeft(input.isTurnLeft() && currentMove.get(2) > 0);
-				player.setRight(input.isTurnRight() && currentMove.get(2) > 0);
-			}
-			if (levelNum ==9){
-				checkTutorialStates(input);
-				handleTutorials(input);
-			}
-		} else if (levelNum == 1 || levelNum == 3 || levelNum == 5 || levelNum ==4) {
-			checkTutorialStates(input);
-			handleTutorials(input);
-		} else {
-			player.setIsMoveable(true);
-			player.setForward(input.isMoveForward());
-			player.setBackward(input.isMoveBackward());
-			player.setLeft(input.isTurnLeft());
-			player.setRight(input.isTurnRight());
-			player.resetMadeMove();
-			player.resetMadeTurn();
-		}
-
-		threw = false;
-		if (player.isThrowing()) {
-			updateThrow(input);
-		} else if (input.getFoodShootingClick() && player.getCanShoot()) {
-			handleThrow(input);
-		} else {
-			updateEnemyTimer();
-		}
-		player.update(delta, board, threw);
-		if (kitchenController.recipesExist()) {
-			updateReward();
-		}
-		playerMetEnemy();
-		playerMetKey();
-	}
-
-	/**
-	 * Processes the actions of player and enemies
+	 * Passes the truck controls and the throw target to the simulation
 	 * <p>
 	 * This method is a helper function for play
 	 *
 	 * @param input Reference to the input controller
-	 * @param delta Number of seconds since last animation frame
 	 */
-	public void resolveActions(InputController input, float delta, Board board) {
-		// Process the player
-		if (player != null) {
-			resolvePlayer(input, delta, board);
-		}
-		for (GameObject o : objects) {
-			if (o.getType() != GameObject.ObjectType.Enemy) {
-				o.update(delta);
+	private void readTruckInput(InputController input) {
+		simulationInput.setMove(input.isMoveForward(), input.isMoveBackward(), input.isTurnLeft(), input.isTurnRight());
+		if (input.getFoodShootingClick()) {
+			Vector2 screenCoord = input.getFoodShootingScreenCoordinate();
+			if (board.findNearestTile(screenCoord.x, height - screenCoord.y) != null) {
+				Vector2 arrayCoord = board.screenToArray(screenCoord.x, height - screenCoord.y);
+				simulationInput.setThrow((int) arrayCoord.x, (int) arrayCoord.y);
 			} else {
-				((Enemy) o).updateEnemy(delta, board);
+				// A click off the board throws nothing
+				simulationInput.setThrow(SimulationInput.NONE, SimulationInput.NONE);
 			}
+		} else {
+			simulationInput.clearThrow();
 		}
 	}
 
-
 	/**
 	 * This method processes a single step in the game loop.
 	 *
-	 * @param delta Number of seconds since last animation frame
+	 * @param inputController Reference to the input controller
 	 */
-	public void play(float delta, InputController inputController) {
+	public void play(InputController inputController) {
 		if (!noBoard) {
 			board.unhighlightTiles();
-			aiController.updateFoodChaseStateToFalse();
-
 			if (player != null && player.getCanShoot()) {
 				board.highlightTiles(player.getArrayPosition(board), player.getThrowRadius());
 			}
-			// Update objects.
-			resolveActions(inputController, delta, board);
+			readTruckInput(inputController);
+			tutorialInput = inputController;
+			simulation.play(simulationInput);
+			if (simulation.didThrow()) {
+				inputController.setFoodShootingClick(false);
+			}
 		} else if (levelNum == 6){
 			checkKitchenStates(inputController);
 		}
@@ -984,20 +740,6 @@ public class GameplayController {
 
 	// ============================ update Function and Helpers ===========================
 
-	/**
-	 * Updates world timer
-	 * <p>
-	 * This method is a helper function for update
-	 */
-	public void timerUpdate() {
-		if (worldTimerF > 0 && levelNum != 1 && levelNum != 3 && (levelNum > 8 || levelNum < 6)){
-			worldTimerF--;
-			if (worldTimerF % 60 == 0) {
-				worldTimerDisplay--;
-			}
-		}
-	}
-
 	/**
 	 * Process all keyboard actions from inputcontroller and pass them to kitchencontroller
 	 * <p>
@@ -1010,14 +752,14 @@ public class GameplayController {
 		if (inputController.getTrashPressed() && inputController.getisHoveringOnAppliance()
 				&& inputController.getHoveringOnwhichAppliance() < 4) {
 			if (levelNum != 6 || checkTutorialAppliance(1,inputController)) {
-				kitchenController.setTrash(inputController.getHoveringOnwhichAppliance());
+				simulationInput.setTrash(inputController.getHoveringOnwhichAppliance());
 				inputController.resetTrashAssemble();
 			}
 		}
 		// Handle Assemble
 		if (inputController.getAssemblePressed()) {
 			if (levelNum != 6 || checkTutorialAppliance(2,inputController)) {
-				kitchenController.setAssemble(false, inputController.getHoveringOnwhichAppliance());
+				simulationInput.setAssemble(SimulationInput.NONE);
 				inputController.resetAssembledPressed();
 				inputController.resetAwakeAppliance();
 			}
@@ -1025,7 +767,7 @@ public class GameplayController {
 		// Handle Feed
 		if (inputController.getFeedPressed()) {
 			if (levelNum != 6 || checkTutorialAppliance(3,inputController)) {
-				kitchenController.setFeed();
+				simulationInput.setFeed();
 				inputController.resetFeed();
 			}
 		}
@@ -1074,7 +816,7 @@ public class GameplayController {
 			kitchenController.updateHighlightIngredients(inputController.getSelectedTargetIngredient());
 			if (inputController.getAwakeAppliance() > -1) {
 				if (levelNum!=6 || checkTutorialAppliance(0,inputController)){
-					kitchenController.activateAppliance(inputController.getAwakeAppliance(), inputController.getSelectedTargetIngredient());
+					simulationInput.setCook(inputController.getAwakeAppliance(), inputController.getSelectedTargetIngredient());
 					inputController.resetSelectedTargetIngredient();
 					inputController.resetAwakeAppliance();
 				}
@@ -1085,7 +827,7 @@ public class GameplayController {
 					kitchenController.setCurrentSelectedCookedIngredient(inputController.getAwakeAppliance());
 				} else {
 					if (inputController.getAwakeAppliance() == 0 && kitchenController.getApplianceIndex(0).isWorking()) {
-						kitchenController.getApplianceIndex(0).setClickProgress();
+						simulationInput.setChop();
 						chop.play(soundvolume);
 					}
 					inputController.resetAwakeAppliance();
@@ -1099,9 +841,9 @@ public class GameplayController {
 				if (inputController.getAwakeAppliance() != kitchenController.getCurrentSelectedCookedIngredient()
 						&& inputController.getAwakeAppliance() > 2) {
 					if (inputController.getAwakeAppliance() == 3) {
-						kitchenController.setAssemble(true, kitchenController.getCurrentSelectedCookedIngredient());
+						simulationInput.setAssemble(kitchenController.getCurrentSelectedCookedIngredient());
 					} else {
-						kitchenController.setTrash(kitchenController.getCurrentSelectedCookedIngredient());
+						simulationInput.setTrash(kitchenController.getCurrentSelectedCookedIngredient());
 					}
 					kitchenController.resetCurrentSelectedCookedIngredient();
 					inputController.resetAwakeAppliance();
@@ -1135,46 +877,37 @@ public class GameplayController {
 	}
 
 	/**
-	 * Process reward after feeding success and passes it onto the player
+	 * Update opacity
 	 * <p>
 	 * This method is a helper function for update
 	 */
-	private void handleReward() {
-		if (kitchenController.getFedSuccess()) {
-			if (currentMove == null) {
-				currentMove = new Array<>();
-			} else {
-				currentMove.clear();
-			}
-//			for (int i = 0; i < kitchenController.getFedReward().get("size"); i++) {
-//				currentMove.add(kitchenController.getFedReward().get(i));
-//			}
-			currentMove.add(kitchenController.getFedReward().get("size"));
-			currentMove.add(kitchenController.getFedReward().get("move"));
-			currentMove.add(kitchenController.getFedReward().get("turn"));
-			currentMove.add(kitchenController.getFedReward().get("throw"));
-			player.setMoveNum(kitchenController.getFedReward().get("move"));
-			player.setCanShoot(kitchenController.getFedReward().get("throw") > 0);
-			player.setTurnNum(kitchenController.getFedReward().get("turn"));
-			player.setThrowFood(kitchenController.getFedFood());
-			kitchenController.resetFedSuccess();
-			kitchenController.resetFedReward();
+	private void updateOpacity() {
+		opacity += 0.02;
+		if (opacity >= 1) {
+			opacity = -1.0f;
 		}
 	}
 
-
 	/**
-	 * Update opacity
+	 * Saves the position of every object before a simulation step
 	 * <p>
-	 * This method is a helper function for update
+	 * Objects are drawn between their positions before and after the last step.
 	 */
-	private void updateOpacity() {
-		opacity += 0.02;
-		if (opacity >= 1) {
-			opacity = -1.0f;
+	public void savePositions() {
+		for (GameObject o : objects) {
+			o.savePosition();
 		}
 	}
 
+	/**
+	 * Sets how far the frame being drawn is past the last simulation step
+	 *
+	 * @param alpha fraction of a step, between 0 and 1
+	 */
+	public void setInterpolation(float alpha) {
+		interpolation = alpha;
+	}
+
 	/**
 	 * Update the gameplay .
 	 * <p>
@@ -1185,82 +918,25 @@ public class GameplayController {
 	 * @param inputController inputController to detect inputs
 	 */
 	public void update(InputController inputController) {
-		timerUpdate();
 		// Process the game input
 		inputController.readInput();
+		simulationInput.clear();
 
 		if (kitchenController.recipesExist()) {
-			handleKeyBoardAction(inputController);
-			kitchenController.update();
 			kitchenController.resetApplianceHighlight();
 			kitchenController.resetIngredientHighlight();
 			kitchenController.resetHighlightDoneIngredient();
-
+			handleKeyBoardAction(inputController);
 			handleClick(inputController);
 			handleHover(inputController);
-			if (!noBoard) {
-				handleReward();
-			}
 		}
+		simulation.update(simulationInput);
 		updateOpacity();
-		if (!noBoard) {
-			board.clearVisited();
-			board.update();
-
-		}
 	}
 
 
 	// ============================ Draw Function and Helpers ===========================
 
-	/**
-	 * Matches the integer to the corresponding font texture
-	 * <p>
-	 * This method is a helper function for update
-	 *
-	 * @param j the input number
-	 */
-	private Texture matcher(int j) {
-		switch (j) {
-			case 0:
-				return num0;
-			case 1:
-				return num1;
-			case 2:
-				return num2;
-			case 3:
-				return num3;
-			case 4:
-				return num4;
-			case 5:
-				return num5;
-			case 6:
-				return num6;
-			case 7:
-				return num7;
-			case 8:
-				return num8;
-			default:
-				return num9;
-		}
-	}
-
-	/**
-	 * Format current remaining time into min:sec format
-	 *
-	 * @param timer current timer value
-	 */
-	private Texture[] timerFormat(int timer) {
-		int sec = timer % 60;
-		int min = timer / 60;
-		Texture[] toBeReturned = new Texture[5];
-		toBeReturned[0] = matcher(min / 10);
-		toBeReturned[1] = matcher(min % 10);
-		toBeReturned[2] = matcher(sec / 10);
-		toBeReturned[3] = matcher(sec % 10);
-		return toBeReturned;
-	}
-
 	/**
 	 * Draw timer plank
 	 * <p>
@@ -1269,43 +945,32 @@ public class GameplayController {
 	 * @param canvas canvas to draw on
 	 */
 	private void drawTimer(GameCanvas canvas) {
+		int worldTimerDisplay = simulation.getWorldTimerDisplay();
 		if (worldTimerDisplay > 0 && levelNum != 1 && levelNum != 3 && (levelNum > 8 || levelNum < 6)){
 			canvas.draw(timerPlank, canvas.getWidth() / 2 - canvas.getWidth() * 65 / 576f, canvas.getHeight() * 9 / 10f
 					, 65 / 288f * canvas.getWidth(), canvas.getHeight() / 10f);
-			canvas.draw(colon, canvas.getWidth() * (1 - 65f / (576f * 9)) / 2, canvas.getHeight() * 37 / 40f,
-					canvas.getWidth() * 65f / (576f * 9), canvas.getHeight() / 20f);
-			Texture[] tArr = timerFormat(worldTimerDisplay);
-			canvas.draw(tArr[0], canvas.getWidth() * (1 - 65f / 576f) / 2, canvas.getHeight() * 37 / 40f,
-					canvas.getWidth() * 65f * 2 / (576f * 9), canvas.getHeight() / 20f);
-			canvas.draw(tArr[1], canvas.getWidth() * (1 - 65f * 5 / (576f * 9)) / 2, canvas.getHeight() * 37 / 40f,
-					canvas.getWidth() * 65f * 2 / (576f * 9), canvas.getHeight() / 20f);
-			canvas.draw(tArr[2], canvas.getWidth() * (1 + 65f / (576f * 9)) / 2, canvas.getHeight() * 37 / 40f,
-					canvas.getWidth() * 65f * 2 / (576f * 9), canvas.getHeight() / 20f);
-			canvas.draw(tArr[3], canvas.getWidth() * (1 + 65f * 5 / (576f * 9)) / 2, canvas.getHeight() * 37 / 40f,
-					canvas.getWidth() * 65f * 2 / (576f * 9), canvas.getHeight() / 20f);
+			float colonWidth = canvas.getWidth() * 65f / (576f * 9);
+			timerDisplay.setLayout(canvas.getWidth() / 2f, canvas.getHeight() * 37 / 40f,
+					2 * colonWidth, colonWidth, canvas.getHeight() / 20f);
+			timerDisplay.setValue(worldTimerDisplay);
+			timerDisplay.draw(canvas);
 		}
 	}
 
 
 	private void drawRewardHelper(GameCanvas canvas) {
-		String toPrint;
-		GlyphLayout layout;
-		float textWidth;
-		int[] xPosArr = new int[]{-3, -1, 1};
 		float rewardHeight = height * 12 / 180f;
 		float rewardyPos = height * 593 / 720f;
-		Texture[] textureArr = new Texture[]{cardRewardForward, cardRewardTurn, cardRewardThrow};
+		IntArray currentMove = simulation.getCurrentMove();
 		for (int i = 0; i < 3; i++) {
 			if (currentMove.get(i + 1) != 0) {
-				toPrint = currentMove.get(i + 1).toString();
-				layout = new GlyphLayout(westSac, toPrint);
-				textWidth = layout.width;
+				rewardDisplays[i].setValue(currentMove.get(i + 1));
 				// Draw Rewards
-				canvas.draw(textureArr[i], width / 2f + width * 64 * xPosArr[i] / (288f * 8),
+				canvas.draw(rewardCards[i], width / 2f + width * 64 * REWARD_SLOTS[i] / (288f * 8),
 						rewardyPos, 65 / (288f * 4) * width,
 						rewardHeight);
-				canvas.drawTextBottommAligned(toPrint, grande,
-						width / 2f + width * 64 * xPosArr[i] / (288f * 8) + 65 / (288f * 4) * width - textureArr[i].getWidth()/4,
+				canvas.drawTextBottommAligned(rewardDisplays[i].getText(), grande,
+						width / 2f + width * 64 * REWARD_SLOTS[i] / (288f * 8) + 65 / (288f * 4) * width - rewardCards[i].getWidth()/4,
 						rewardyPos + grande.getCapHeight()/3f, Color.WHITE);
 
 			}
@@ -1333,7 +998,8 @@ public class GameplayController {
 	 * @param canvas canvas to draw on
 	 */
 	private void drawReward(GameCanvas canvas) {
-		if (currentMove != null && currentMove.get(1) + currentMove.get(2) + currentMove.get(3) > 0) {
+		IntArray currentMove = simulation.getCurrentMove();
+		if (currentMove.size > 0 && currentMove.get(1) + currentMove.get(2) + currentMove.get(3) > 0) {
 			canvas.draw(rewardPlank, width * (1 / 2f - 65 / 576f), height * 97 / 120f,
 					65 / 288f * width, height * 11 / 120f);
 			drawRewardHelper(canvas);
@@ -1347,31 +1013,19 @@ public class GameplayController {
 	 */
 	public void draw(GameCanvas canvas) {
 		canvas.draw(background, 0, canvas.getHeight() / 18, canvas.getWidth(), canvas.getHeight());
+		filterTint.a = Math.abs(opacity);
 		canvas.draw(filter, 0, canvas.getHeight() * 3 / 7, canvas.getWidth(), canvas.getHeight() * 4 / 7,
-				new Color(1, 1, 1, Math.abs(opacity)));
+				filterTint);
 		if (!noBoard) {
 			board.draw(canvas);
 		}
 		kitchenController.draw(canvas);
 
 		if (!noBoard) {
-			Array<GameObject> arrangedObj = new Array<>();
 			for (GameObject o : objects) {
-				if (arrangedObj.size == 0) {
-					arrangedObj.add(o);
-				} else {
-					boolean contains = false;
-					for (int i = 0; i < arrangedObj.size; i++) {
-						if (!contains && o.getY() >= arrangedObj.get(i).getY()) {
-							arrangedObj.insert(i, o);
-							contains = true;
-						}
-					}
-					if (!contains) {
-						arrangedObj.add(o);
-					}
-				}
+				o.interpolate(interpolation);
 			}
+			Array<GameObject> arrangedObj = sortDrawOrder();
 			boolean throwableFoodDrew = false;
 			boolean exitDrew = false;
 			for (int i = 0; i < arrangedObj.size; i++) {
@@ -1388,6 +1042,9 @@ public class GameplayController {
 				}
 				arrangedObj.get(i).draw(canvas);
 			}
+			for (GameObject o : objects) {
+				o.restorePosition();
+			}
 			if (!exitDrew) {
 				canvas.draw(exitSign, Color.WHITE, board.getTileWidth() * 27 / 40f,
 						0, exitSignPos.x + board.getTileWidth() / 4, exitSignPos.y, board.getTileWidth(), board.getTileWidth());
@@ -1399,7 +1056,7 @@ public class GameplayController {
 			}
 			drawTimer(canvas);
 			drawReward(canvas);
-			if (keys.size != 0) {
+			if (simulation.getKeys().size != 0) {
 				drawKeys(canvas);
 			}
 
@@ -1410,22 +1067,46 @@ public class GameplayController {
 	}
 
 
+	/**
+	 * Sorts the objects into drawing order, from the highest on the screen to the lowest
+	 *
+	 * The order of the last frame is kept and sorted again with a stable insertion sort.
+	 * Objects move a little between frames, so that order is nearly sorted already and the
+	 * sort is a single linear pass in the common case. The order is rebuilt from the object
+	 * list whenever objects were added or cleared; later objects then go first among objects
+	 * at the same height.
+	 *
+	 * @return the objects in drawing order
+	 */
+	private Array<GameObject> sortDrawOrder() {
+		if (drawOrderDirty) {
+			drawOrderDirty = false;
+			drawOrder.clear();
+			for (int i = objects.size - 1; i >= 0; i--) {
+				drawOrder.add(objects.get(i));
+			}
+		}
+		GameObject[] items = drawOrder.items;
+		for (int i = 1; i < drawOrder.size; i++) {
+			GameObject o = items[i];
+			float y = o.getY();
+			int j = i - 1;
+			while (j >= 0 && items[j].getY() < y) {
+				items[j + 1] = items[j];
+				j--;
+			}
+			items[j + 1] = o;
+		}
+		return drawOrder;
+	}
+
 	public void notifyLevel(int currLev) {
 			levelNum = currLev;
 			if (levelNum < 8){
 				tutorialState = 0;
 			}
-			kitchenController.setTutorialLevel(levelNum);
 		}
 
-	public boolean completedAllRecipes(){
-		return kitchenController.getTutorial() && kitchenController.completedAll();
-	}
-
-	public boolean boardExists(){
-		return !noBoard;
-	}
-
 	public void checkKitchenStates(InputController input) {
 		if (levelNum == 6){
 			if (tutorialState == 0){
@@ -1641,10 +1322,6 @@ public class GameplayController {
 				player.resetMadeMove();
 				player.resetMadeTurn();
 			}
-			if (!board.hasFoodOnBoard()) {
-				player.setCanShoot(true);
-				player.setThrowFood(kitchenController.getDefaultFoodTexture());
-			}
 		} else if (levelNum ==9){
 			if (tutorialState<2){
 				isPaused = true;
@@ -42,6 +42,10 @@ public class InputController {
 	protected boolean prevResetPressed;
 	/** Mouse position */
 	private Vector2 mousePos;
+	/** Whether a click was made that no simulation step has read yet */
+	private boolean clickLatched;
+	/** Whether the current simulation step reads a click */
+	private boolean stepClick;
 	/** Whether the flood button was pressed. */
 	protected boolean floodPressed;
 	/** Whether the exit button was pressed. */
@@ -166,8 +170,28 @@ public class InputController {
 		next = false;
 	}
 
-	public boolean updatePause() {
+	/**
+	 * Remembers a click made since the last frame until a simulation step reads it
+	 * <p>
+	 * Called once per rendered frame. A frame may run no simulation step or several, and
+	 * the click must be seen by exactly one of them.
+	 */
+	public void latchClick() {
 		if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
+			clickLatched = true;
+		}
+	}
+
+	/**
+	 * Hands the latched click to the simulation step that is about to run
+	 */
+	public void beginStep() {
+		stepClick = clickLatched;
+		clickLatched = false;
+	}
+
+	public boolean updatePause() {
+		if (stepClick) {
 			pause = Gdx.input.getX() <= 60 && Gdx.input.getY() <= 60;
 		}
 		return pause;
@@ -198,7 +222,7 @@ public class InputController {
 
 	public boolean readNext() {
 		next = false;
-		if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
+		if (stepClick) {
 			next = Gdx.input.getX() >= Gdx.graphics.getWidth()*2/3 &&  Gdx.input.getX() <= Gdx.graphics.getWidth()*2/3 + Gdx.graphics.getWidth()/5
 					&& Gdx.input.getY() >= Gdx.graphics.getHeight()*4/9 && Gdx.input.getY() <= Gdx.graphics.getHeight()*4/9+Gdx.graphics.getWidth()/5*0.423f;
 		}
@@ -396,6 +420,24 @@ public class InputController {
 		return exitPressed;
 	}
 
+	/**
+	 * Returns true if the profiler overlay key (F3) was pressed this frame.
+	 *
+	 * @return true if the profiler overlay key was pressed this frame.
+	 */
+	public boolean didToggleProfiler() {
+		return Gdx.input.isKeyJustPressed(Input.Keys.F3);
+	}
+
+	/**
+	 * Returns true if the frame history key (F4) was pressed this frame.
+	 *
+	 * @return true if the frame history key was pressed this frame.
+	 */
+	public boolean didDumpProfile() {
+		return Gdx.input.isKeyJustPressed(Input.Keys.F4);
+	}
+
 	public boolean didAddPotato(){ return addPotato; }
 
 	public boolean didAddCarrot(){ return addCarrot; }
@@ -469,7 +511,7 @@ public class InputController {
 					}
 				}
 			}
-			if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
+			if (stepClick) {
 				// Detect the selected ingredient
 				boolean detected = false;
 				for (int i = 0; i < ingXPosArr.length; i++){
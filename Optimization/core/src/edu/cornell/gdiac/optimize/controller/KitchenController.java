@@ -8,7 +8,9 @@ import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.Pool;
 import edu.cornell.gdiac.assets.AssetDirectory;
 import edu.cornell.gdiac.optimize.GameCanvas;
 import edu.cornell.gdiac.optimize.kitchen.*;
@@ -97,6 +99,8 @@ public class KitchenController {
     public static ArrayList<Appliance> appliancesList;
     public static String[] basicAppliances = {"chop", "pot", "fry", "plate", "trash"};
     Array<String> rawIngTypesString; // List of ingredients name String
+    /** Ingredient and appliance IDs of the level */
+    private KitchenRegistry registry;
     private ArrayList<Ingredient> ingredients;
     private int selectedIng;
     private ArrayList<Ingredient> rawIngredients;
@@ -119,6 +123,19 @@ public class KitchenController {
 
     private Array<Ingredient> doneIngredients;
 
+    /** Cooked ingredients that left the kitchen, for reuse */
+    private Pool<Ingredient> ingredientPool;
+    /** Fed foods that were not kept, for reuse */
+    private Pool<Food> foodPool;
+    /** Raw ingredients of the food being fed, reused on every feed */
+    private ArrayList<Ingredient> fedIngredients;
+    /** Appliance IDs of the food being fed, reused on every feed */
+    private IntArray fedAppliances;
+    /** Food handed to the truck after a successful feed, refilled on every success */
+    private Food throwFood;
+    /** Food handed to the truck when there is nothing to throw */
+    private Food defaultFood;
+
     private static final int CLICK_OFFSET = 5;
 
     private static final int NO_SELECT = -1;
@@ -165,7 +182,8 @@ public class KitchenController {
     private int assembleTarget;
     private Array<Ingredient> plateIngredients;
     private boolean feed;
-    private HashMap<String, Integer> fedReward;
+    /** Reward of the last successful feed */
+    private Reward fedReward;
     private boolean fedSuccess;
     private boolean failedFed;
     private boolean fed;
@@ -173,8 +191,35 @@ public class KitchenController {
     private float soundvolume;
 
     private JsonValue storedJsonData;
-    private int failedFedCountdown;
     private static final int FAILFEDTIME = 120;
+    /** Clock target of the events of the kitchen itself */
+    private static final int KITCHEN_EVENTS = -1;
+    /** Clock event: the failed feed message is over */
+    private static final int EVENT_FAILED_FEED_END = 0;
+    /** Tick the failed feed message will end on, or -1 if it is not showing */
+    private int failedFedEndTick = -1;
+
+    /** Clock that drives the appliances and the kitchen timers */
+    private KitchenClock clock;
+    /** Whether a trash, assemble or feed command waits for the next update */
+    private boolean commandsPending;
+    /** Dispatches the events of the clock */
+    private final KitchenClock.Listener clockListener = new KitchenClock.Listener() {
+        @Override
+        public void onEvent(int target, int event) {
+            if (target == KITCHEN_EVENTS) {
+                if (event == EVENT_FAILED_FEED_END && clock.getTick() == failedFedEndTick) {
+                    failedFed = false;
+                    failedFedEndTick = -1;
+                }
+                return;
+            }
+            Appliance app = appliances.get(target);
+            if (app.onEvent(event)) {
+                collectProcessed(app);
+            }
+        }
+    };
     private BitmapFont westSacFont;
     private BitmapFont grande;
 
@@ -231,12 +276,45 @@ public class KitchenController {
         doneIngredients = new Array<>();
         currentSelectedCookedIngredient = NO_SELECT;
         rand = new Random();
+        clock = new KitchenClock();
+        resetAssemble();
+        ingredientPool = new Pool<Ingredient>() {
+            @Override
+            protected Ingredient newObject() {
+                return new Ingredient();
+            }
+        };
+        foodPool = new Pool<Food>() {
+            @Override
+            protected Food newObject() {
+                return new Food();
+            }
+        };
+        fedIngredients = new ArrayList<>();
+        fedAppliances = new IntArray();
+        throwFood = new Food();
+        defaultFood = new Food();
     }
 
     public void setTutorialLevel(int level) {
         tutorialLevel = level >= 6 && level <= 8;
         if (tutorialLevel) {
-            completedRecipes = new ArrayList<>();
+            if (completedRecipes == null) {
+                completedRecipes = new ArrayList<>();
+            }
+            freeCompletedRecipes();
+        }
+    }
+
+    /**
+     * Returns the foods of the completed tutorial recipes to the pool
+     */
+    private void freeCompletedRecipes() {
+        if (completedRecipes != null) {
+            for (Food f : completedRecipes) {
+                foodPool.free(f);
+            }
+            completedRecipes.clear();
         }
     }
 
@@ -246,6 +324,7 @@ public class KitchenController {
         for (JsonValue ingT : data.get("ingredients").iterator()) {
             rawIngTypesString.add(ingT.toString());
         }
+        registry = new KitchenRegistry(rawIngTypesString, basicAppliances);
         createIngredients(rawIngTypesString);
 //        setRecipeData(data.get("recipes"));
         recipesJSON = data.get("recipes");
@@ -257,6 +336,8 @@ public class KitchenController {
 
     public JsonValue getRecipesJSON() { return recipesJSON; }
 
+    public KitchenRegistry getRegistry() { return registry; }
+
     /**
      * Populates this mode from the given the directory.
      *
@@ -319,6 +400,7 @@ public class KitchenController {
 
         if (recipesExist()) {
             createAppliances(width, height);
+            collectKitchenObjects();
             for (Appliance app : appliances) {
                 app.setSprite(new FilmStrip[]{new FilmStrip(chopSpriteTexture, 3, 4, 10),
                         new FilmStrip(potSpriteTexture, 2, 4, 6),
@@ -375,37 +457,15 @@ public class KitchenController {
         }
     }
 
-    public Ingredient getIngFromIngLstByName(ArrayList<Ingredient> ingLst, String name) {
-        Ingredient res = null;
-        for (Ingredient ing : ingLst) {
-            if (ing.getIngName().equals(name)) {
-                res = ing;
-            }
-        }
-        return res;
-    }
-
-    public Appliance getAppFromAppLstByName(ArrayList<Appliance> appLst, String name) {
-        Appliance res = null;
-        for (Appliance app : appLst) {
-            if (app.getApplianceStringType() == name) {
-                res = app;
-            }
-        }
-        return res;
-    }
-
     public Food makeFoodJSON(JsonValue recipeJSON, int moves, int turns, int throwable) {
         ArrayList<Ingredient> recipeIngList = new ArrayList<>();
-        ArrayList<String> recipeAppList = new ArrayList<>();
-        ArrayList<Ingredient> ingredientsList = new ArrayList<>(ingsIngCardTextures);
-        ArrayList<Appliance> appliancesList = new ArrayList<>(appIngCardTextures);
+        IntArray recipeAppList = new IntArray();
 
         for (JsonValue ing : recipeJSON.iterator()) {
             String ingName = ing.get("name").toString().split(": ")[1];
-            recipeIngList.add(getIngFromIngLstByName(ingredientsList, ingName).clone());
+            recipeIngList.add(ingsIngCardTextures.get(registry.getIngredientId(ingName)).clone());
             String appName = ing.get("cookingMethod").toString().split(": ")[1];
-            recipeAppList.add(appName);
+            recipeAppList.add(registry.getApplianceId(appName));
 
         }
 
@@ -445,10 +505,52 @@ public class KitchenController {
         appliances = new ArrayList<>();
         for (int i = 0; i < 5; i++) {
             Appliance app = new Appliance(basicAppliances[i], canvasWidth, canvasHeight);
+            app.setClock(clock);
             appliances.add(app);
         }
     }
 
+    /**
+     * Creates the appliances, ingredients and recipes of the level without textures or sounds
+     *
+     * This sets up a kitchen that is simulated but never drawn, in place of populate. The
+     * kitchen data must be loaded first.
+     */
+    public void createKitchen() {
+        createAppliances(width, height);
+        collectKitchenObjects();
+        loadRecipesJSON(recipesJSON);
+    }
+
+    /**
+     * Sets the generator that picks the displayed recipes
+     *
+     * @param random the random number generator
+     */
+    public void setRandom(Random random) {
+        rand = random;
+    }
+
+    /**
+     * Names the appliances and collects the raw ingredients of the level
+     *
+     * Textures are set afterwards, so this also runs for a kitchen that is never drawn.
+     */
+    private void collectKitchenObjects() {
+        choppingBoard = appliances.get(0);
+        stove = appliances.get(1);
+        fryer = appliances.get(2);
+        plate = appliances.get(3);
+        trashcan = appliances.get(4);
+        appIngCardTextures = new ArrayList<>(appliances.subList(0,3));
+        for (Ingredient ing : ingredients) {
+            if (!ing.isCooked()) {
+                rawIngredients.add(ing);
+            }
+        }
+        ingsIngCardTextures = new ArrayList<>(rawIngredients);
+    }
+
     public void setApplianceTexture(AssetDirectory directory) {
         for (int i = 0; i < 5; i++) {
             String appName = basicAppliances[i];
@@ -466,12 +568,6 @@ public class KitchenController {
                 appliances.get(i).setActiveTexture(at);
             }
         }
-        choppingBoard = appliances.get(0);
-        stove = appliances.get(1);
-        fryer = appliances.get(2);
-        plate = appliances.get(3);
-        trashcan = appliances.get(4);
-        appIngCardTextures = new ArrayList<>(appliances.subList(0,3));
         for (Appliance app : appIngCardTextures) {
             app.setIsIncCard();
         }
@@ -480,7 +576,7 @@ public class KitchenController {
     public void highlightDoneIngredient(){
         if (currentSelectedCookedIngredient < 3){
             for (Ingredient ig : doneIngredients){
-                if (cookMatcher(ig.getCook()) == currentSelectedCookedIngredient){
+                if (ig.getCookId() == currentSelectedCookedIngredient){
                     ig.setHighlight();
                 }
             }
@@ -500,11 +596,7 @@ public class KitchenController {
             ing.setTextures(t, th);
             ing.setTexture(t);
             ing.setIncCardTexture(tIC);
-            if (!ing.isCooked()) {
-                rawIngredients.add(ing);
-            }
         }
-        ingsIngCardTextures = new ArrayList<>(rawIngredients);
         for (Ingredient ing : ingsIngCardTextures) {
             ing.setIsIncCard();
         }
@@ -512,13 +604,13 @@ public class KitchenController {
 
     public void createIngredients(Array<String> rawIngTypes){
         ingredients = new ArrayList<>();
-        ArrayList<String> apps = new ArrayList<>(Arrays.asList(Arrays.copyOfRange(basicAppliances, 0, 3)));
-        apps.add(0,"");
+        int[] apps = {KitchenRegistry.RAW, Appliance.CHOPPINGBOARD, Appliance.POT, Appliance.FRYER};
         int ptr = 0;
         for (String rawT : rawIngTypes) {
-            for (String appT : apps) {
-                Ingredient ing = new Ingredient(rawT, appT, ING_WIDTH, ING_WIDTH);
-                if (appT == "") {
+            int rawId = registry.getIngredientId(rawT);
+            for (int appT : apps) {
+                Ingredient ing = new Ingredient(registry, rawId, appT, ING_WIDTH, ING_WIDTH);
+                if (appT == KitchenRegistry.RAW) {
                     ing.setX(INGS_X_RATIOS[ptr]*width);
                     ing.setY(ING_Y_RATIO*height);
                     ptr++;
@@ -537,7 +629,7 @@ public class KitchenController {
 
     public Food makeRecipe(Array<Integer> recipeInfo) { // size, moves, throwable
         ArrayList<Ingredient> recipeIngList = new ArrayList<>();
-        ArrayList<String> recipeAppList = new ArrayList<>();
+        IntArray recipeAppList = new IntArray();
         ArrayList<Ingredient> ingredientsList = new ArrayList<>(ingsIngCardTextures);
         ArrayList<Appliance> appliancesList = new ArrayList<>(appIngCardTextures);
 
@@ -545,7 +637,7 @@ public class KitchenController {
             int recipeIng = RandomController.rollInt(0,Math.min(ingredientsList.size()-1, 3));
             int recipeApp = RandomController.rollInt(0,Math.min(appliancesList.size()-1, 3));
             recipeIngList.add(ingredientsList.get(recipeIng).clone());
-            recipeAppList.add(appliancesList.get(recipeApp).getApplianceStringType());
+            recipeAppList.add(appliancesList.get(recipeApp).getApplianceType());
             ingredientsList.remove(recipeIng);
             appliancesList.remove(recipeApp);
             if (ingredientsList.size() == 0) {
@@ -563,8 +655,11 @@ public class KitchenController {
         if (recipesExist()) {
             selectedIng = NO_SELECT;
             trashState = TRASH_STATE_OFF;
+            ingredientPool.freeAll(doneIngredients);
             doneIngredients.clear();
+            ingredientPool.freeAll(plateIngredients);
             plateIngredients.clear();
+            freeCompletedRecipes();
             for (Appliance a : appliances) {
                 a.resetDoneProcessed();
                 a.setNotCooking();
@@ -594,10 +689,16 @@ public class KitchenController {
         return defaultRecipe;
     }
 
+    /**
+     * Returns the empty food the truck throws when there is no fed food
+     *
+     * The same food is returned every time; only its texture is drawn.
+     *
+     * @return the default food of the kitchen
+     */
     public Food getDefaultFoodTexture() {
-        Food f = new Food(new ArrayList<Ingredient>(), new ArrayList<String>());
-        f.setTexture(foodTexture);
-        return f;
+        defaultFood.setTexture(foodTexture);
+        return defaultFood;
     }
 
 
@@ -628,7 +729,7 @@ public class KitchenController {
     public boolean applianceHasDoneIngredient(int i){
         if (i < 3){
             for (Ingredient ig : doneIngredients){
-                if (cookMatcher(ig.getCook()) == i){
+                if (ig.getCookId() == i){
                     return true;
                 }
             }
@@ -685,10 +786,21 @@ public class KitchenController {
         drawPlate(canvas);
     }
 
+    /**
+     * Returns the displayed recipe that the given food completes
+     *
+     * Each displayed recipe compares its signature with the food's, a few word-sized bit
+     * set checks. If several displayed recipes match, the one displayed first wins.
+     *
+     * @param food the food fed to the truck
+     *
+     * @return the index of the matched recipe, or -1 if no displayed recipe matches
+     */
     public int matchRecipe(Food food) {
-        for (int i : displayedRecipesInd) {
-            if (recipes.get(i).isEqual(food)) {
-                return i;
+        for (int i = 0; i < displayedRecipesInd.size(); i++) {
+            int recipe = displayedRecipesInd.get(i);
+            if (recipes.get(recipe).isEqual(food)) {
+                return recipe;
             }
         }
         return -1;
@@ -723,6 +835,26 @@ public class KitchenController {
 //        }
     }
 
+    /**
+     * Returns the number of recipes displayed on screen
+     *
+     * @return the number of displayed recipes
+     */
+    public int getNumDisplayedRecipes() {
+        return displayedRecipesInd.size();
+    }
+
+    /**
+     * Returns a recipe displayed on screen
+     *
+     * @param i position of the recipe on screen
+     *
+     * @return the recipe
+     */
+    public Food getDisplayedRecipe(int i) {
+        return recipes.get(displayedRecipesInd.get(i));
+    }
+
     public Appliance getApplianceIndex(int idx){
         return appliances.get(idx);
     }
@@ -742,7 +874,7 @@ public class KitchenController {
     public void drawRecipes(GameCanvas canvas) {
         for (int i = 0; i < displayedRecipesInd.size(); i++) {
             ArrayList<Ingredient> curRecipeIng = recipes.get(displayedRecipesInd.get(i)).getAssembleIngredients();
-            ArrayList<String> curRecipeApp = recipes.get(displayedRecipesInd.get(i)).getAssembleAppliances();
+            IntArray curRecipeApp = recipes.get(displayedRecipesInd.get(i)).getAssembleAppliances();
             float recipeIngX = width*(RECIPE_NUM - (i+1))/9f;
             recipeIngX = recipeIngX == 0 ? -15 : recipeIngX;
             float marginOffset = 10f;
@@ -802,14 +934,14 @@ public class KitchenController {
                 float recipeIngY = (KITCHEN_HEIGHT - RECIPE_OFFSET*1.7f) -RECIPE_ING_SIZE*0.74f*n + yOffset;
                 float nOff = n > 1 ? RECIPE_OFFSET/3f : 0;
                 curRecipeIng.get(n).drawSize(canvas, ingXPos+RECIPE_OFFSET, recipeIngY, RECIPE_ING_SIZE*0.8f,RECIPE_ING_SIZE*0.8f);
-                getApplianceName(curRecipeApp.get(n)).drawSize(canvas, ingXPos+(RECIPE_OFFSET*2.67f)+nOff, recipeIngY*1.04f, RECIPE_ING_SIZE*0.85f);
+                getApplianceIndex(curRecipeApp.get(n)).drawSize(canvas, ingXPos+(RECIPE_OFFSET*2.67f)+nOff, recipeIngY*1.04f, RECIPE_ING_SIZE*0.85f);
             }
             // Cross out assembled ingredients
             if (plateIngredients.size > 0) {
                 ArrayList<Integer> crossedIngIdx = new ArrayList<>();
                 for (Ingredient ig : plateIngredients) {
                     for (int n = 0; n < recipes.get(displayedRecipesInd.get(i)).getSize() ; n++){
-                        if (ig.equals(curRecipeIng.get(n)) && ig.getCook().equals(curRecipeApp.get(n)) && !crossedIngIdx.contains(n)) {
+                        if (ig.equals(curRecipeIng.get(n)) && ig.getCookId() == curRecipeApp.get(n) && !crossedIngIdx.contains(n)) {
                             float l = i > 1 ? RECIPE_OFFSET/2 -(RECIPE_OFFSET*2/3f * n) : RECIPE_OFFSET/3 -(RECIPE_OFFSET*2/3f * n);
                             l = i == 0 ? l + RECIPE_OFFSET/3 : l;
                             float recipeIngY = (KITCHEN_HEIGHT - RECIPE_OFFSET*2f) -RECIPE_ING_SIZE*0.74f*n + yOffset;
@@ -849,31 +981,17 @@ public class KitchenController {
         }
     }
 
-    private int cookMatcher(String cook){
-        switch (cook) {
-            case "chop":
-                return 0;
-            case "pot":
-                return 1;
-            case "fry":
-                return 2;
-            case "plate":
-                return 3;
-            default:
-                return 4;
-        }
-    }
-
     private void handleTrash(){
         if (trash){
             if (trashTarget == 3){
+                ingredientPool.freeAll(plateIngredients);
                 plateIngredients.clear();
                 failedFed = false;
-                failedFedCountdown = FAILFEDTIME;
+                failedFedEndTick = -1;
             } else {
                 for (int i = 0; i < doneIngredients.size; i++){
-                    if (cookMatcher(doneIngredients.get(i).getCook()) == trashTarget){
-                        doneIngredients.removeIndex(i);
+                    if (doneIngredients.get(i).getCookId() == trashTarget){
+                        ingredientPool.free(doneIngredients.removeIndex(i));
                         break;
                     }
                 }
@@ -893,14 +1011,14 @@ public class KitchenController {
                     plateIngredients.add(ig);
                 }
                 doneIngredients.clear();
-                for (Appliance a: appliances){
-                    a.setContainsFood(false);
+                for (int i = 0; i < appliances.size(); i++){
+                    appliances.get(i).setContainsFood(false);
                 }
             } else {
                 appliances.get(assembleTarget).setContainsFood(false);
                 appliances.get(assembleTarget).resetDoneProcessed();
                 for (int i = 0; i < doneIngredients.size; i++){
-                    if (cookMatcher(doneIngredients.get(i).getCook()) == assembleTarget){
+                    if (doneIngredients.get(i).getCookId() == assembleTarget){
                         doneIngredients.get(i).setX(plate.getX() + plate.getWidth()/2f);
                         doneIngredients.get(i).setY(plate.getY() + plate.getHeight()/2f);
                         doneIngredients.get(i).setNormal();
@@ -915,63 +1033,48 @@ public class KitchenController {
         }
     }
 
-    private int ingNameToIndMatcher(String s){
-        // assumption: never -1 (string always in rawIngTypesString)
-        int ind = rawIngTypesString.indexOf(s, false);
-        return ind;
-    }
-
-    private HashMap<String, Integer> recipeRewardToDict(int recipe){
-        HashMap<String, Integer> toBeReturned = new HashMap<>();
-        Food reward = recipes.get(recipe);
-        toBeReturned.put("size",reward.getSize());
-        toBeReturned.put("move",reward.getMovementNum());
-        toBeReturned.put("turn",reward.getTurnNum());
-        int thr = reward.isThrowable() ? 1 : 0;
-        toBeReturned.put("throw",thr);
-        return toBeReturned;
-    }
-
     private void handleFeed(){
-        if (failedFed) {
-            failedFedCountdown--;
-            if(failedFedCountdown == 0) {
-                failedFed = false;
-                failedFedCountdown = FAILFEDTIME;
-            }
-        }
         if (feed) {
             // Feed the truck
             if (plateIngredients.size > 0){
-                ArrayList<Ingredient> igList = new ArrayList<>();
-                ArrayList<String> apList = new ArrayList<>();
+                fedIngredients.clear();
+                fedAppliances.clear();
                 for (Ingredient plateIng : plateIngredients){
-                    igList.add(rawIngredients.get(ingNameToIndMatcher(plateIng.getIngName())));
-                    apList.add(appliances.get(cookMatcher(plateIng.getCook())).getApplianceStringType());
+                    fedIngredients.add(rawIngredients.get(plateIng.getIngId()));
+                    fedAppliances.add(plateIng.getCookId());
                 }
                 if (currentFedFood == null){
-                    currentFedFood = new Food(igList,apList);
+                    currentFedFood = foodPool.obtain().set(fedIngredients, fedAppliances);
                     currentFedFood.setTexture(foodTexture);
+                    boolean kept = false;
                     int matchedRecipe = matchRecipe(currentFedFood);
                     if (matchedRecipe > -1){
                         if (tutorialLevel) {
                             completedRecipes.add(currentFedFood);
+                            kept = true;
                         }
                         // Handle recipe reward
                         fedSuccess = true;
-                        ding.play(soundvolume);
-                        fedReward = recipeRewardToDict(matchedRecipe);
-                        fedFood = currentFedFood.clone();
+                        playSound(ding);
+                        fedReward = recipes.get(matchedRecipe).getReward();
+                        // The truck and the board only draw the thrown food, so one food is enough
+                        fedFood = throwFood.set(fedIngredients, fedAppliances);
+                        fedFood.setTexture(foodTexture);
                         // Handle replacement
                         if (recipes.size() > RECIPE_NUM){
                             replaceRecipe(matchedRecipe);
                         }
                     } else {
-                        error.play(soundvolume);
+                        playSound(error);
                         failedFed = true;
-                        failedFedCountdown = FAILFEDTIME;
+                        // Commands run before the clock advances, so the message starts with this update
+                        failedFedEndTick = clock.schedule(FAILFEDTIME + 1, KITCHEN_EVENTS, EVENT_FAILED_FEED_END);
+                    }
+                    if (!kept) {
+                        foodPool.free(currentFedFood);
                     }
                     currentFedFood = null;
+                    ingredientPool.freeAll(plateIngredients);
                     plateIngredients.clear();
                     if (!failedFed) {
                         plate.setAnimating();
@@ -982,25 +1085,57 @@ public class KitchenController {
         }
     }
 
+    /**
+     * Advances the kitchen by one update
+     *
+     * Pending trash, assemble and feed commands run first. The clock then fires whatever the
+     * appliances and the kitchen scheduled for this update; an update with nothing due does
+     * no further work.
+     */
     public void update() {
+        if (commandsPending) {
+            commandsPending = false;
             handleTrash();
             handleAssemble();
             handleFeed();
-            for (Appliance app : appliances) {
-                app.update();
-                if (app.getDoneProcessed() != -1) {
-                    int igType = app.getDoneProcessed();
-                    Ingredient ig = new Ingredient(rawIngredients.get(igType).getIngName(),
-                            app.getApplianceStringType(), app.getWidth() / 2, app.getHeight() / 3);
-                    ig.setX(app.getX() + app.getWidth() / 2);
-                    ig.setY(app.getY() + app.getHeight() / 2);
-                    ig.setTextures(processedTextures.get(app.getApplianceType()).get(igType * 2),
-                            processedTextures.get(app.getApplianceType()).get(igType * 2 + 1));
-                    doneIngredients.add(ig);
-                    app.setContainsFood(true);
-                    app.resetDoneProcessed();
-                }
-            }
+        }
+        clock.advance(clockListener);
+    }
+
+    /**
+     * Advances the kitchen by the given number of updates without player input
+     *
+     * This has the same result as calling update that many times, but skips straight over
+     * the updates with no cooking, animation or message to finish.
+     *
+     * @param updates number of updates to advance
+     */
+    public void fastForward(int updates) {
+        if (updates <= 0) {
+            return;
+        }
+        update();
+        clock.fastForward(updates - 1, clockListener);
+    }
+
+    /**
+     * Moves the ingredient an appliance finished cooking to the done ingredients
+     *
+     * @param app the appliance that finished cooking
+     */
+    private void collectProcessed(Appliance app) {
+        int igType = app.getDoneProcessed();
+        Ingredient ig = ingredientPool.obtain().set(registry, igType, app.getApplianceType(),
+                app.getWidth() / 2, app.getHeight() / 3);
+        ig.setX(app.getX() + app.getWidth() / 2);
+        ig.setY(app.getY() + app.getHeight() / 2);
+        if (processedTextures != null) {
+            ig.setTextures(processedTextures.get(app.getApplianceType()).get(igType * 2),
+                    processedTextures.get(app.getApplianceType()).get(igType * 2 + 1));
+        }
+        doneIngredients.add(ig);
+        app.setContainsFood(true);
+        app.resetDoneProcessed();
     }
 
     /**
@@ -1092,15 +1227,37 @@ public class KitchenController {
         }
         switch (awakeAppliance){
             case 1:
-                boiling.play(soundvolume);
+                playSound(boiling);
                 break;
             case 2:
-                sizzle.play(soundvolume);
+                playSound(sizzle);
                 break;
         }
         appliances.get(awakeAppliance).setWorking(ingredient);
     }
 
+    /**
+     * Plays a sound of the kitchen, if the kitchen has sounds
+     *
+     * @param sound the sound, or null in a kitchen that was not populated
+     */
+    private void playSound(Sound sound) {
+        if (sound != null) {
+            sound.play(soundvolume);
+        }
+    }
+
+    /**
+     * Stops a sound of the kitchen, if the kitchen has sounds
+     *
+     * @param sound the sound, or null in a kitchen that was not populated
+     */
+    private void stopSound(Sound sound) {
+        if (sound != null) {
+            sound.stop();
+        }
+    }
+
     public Array<Ingredient> getDoneIngredients() {
         return doneIngredients;
     }
@@ -1108,12 +1265,13 @@ public class KitchenController {
     public void setTrash(int applianceNum) {
         trash = true;
         trashTarget = applianceNum;
+        commandsPending = true;
 
         switch (applianceNum){
             case 1:
-                boiling.stop();
+                stopSound(boiling);
             case 2:
-                sizzle.stop();
+                stopSound(sizzle);
         }
     }
 
@@ -1128,6 +1286,7 @@ public class KitchenController {
         } else {
             assembleTarget = -1;
         }
+        commandsPending = true;
     }
 
     public void resetAssemble() {
@@ -1136,6 +1295,7 @@ public class KitchenController {
 
     public void setFeed() {
         feed = true;
+        commandsPending = true;
     }
 
     public void resetFeed() {
@@ -1150,7 +1310,12 @@ public class KitchenController {
         fedSuccess = false;
     }
 
-    public HashMap<String, Integer> getFedReward() {
+    /**
+     * Returns the reward of the last successful feed
+     *
+     * @return the reward of the matched recipe, or null after resetFedReward
+     */
+    public Reward getFedReward() {
         return fedReward;
     }
 
@@ -39,6 +39,10 @@ public class Enemy extends GameObject {
     private int cooltimeScale;
     /** Position of the enemy in board coordinate system*/
     private Vector2 tilePosition;
+    /** Scratch array for the neighbors of a tile when picking a new path */
+    private Array<HexTile> neighborBuffer = new Array<>(Board.NUM_DIRECTIONS);
+    /** Random numbers for picking new patrol paths */
+    private Random random = new Random();
 
     /** Reference to enemy's sprite for drawing */
     private FilmStrip hopSprite;
@@ -50,6 +54,8 @@ public class Enemy extends GameObject {
     private FilmStrip hopSpriteSW;
     private FilmStrip hopSpriteNW;
     private FilmStrip moveIndicator;
+    /** Value of aboutToChaseTruckTimer when the indicator last changed frame */
+    private int indicatorTimer;
 
     /** Tile with food placed that enemy wants to move to */
     private HexTile targetFoodTile;
@@ -156,6 +162,15 @@ public class Enemy extends GameObject {
 
     public void setIsMoving(boolean b) {isMoving = b;}
 
+    /**
+     * Sets the random numbers used to pick new patrol paths
+     *
+     * A seeded generator makes the enemy deterministic.
+     *
+     * @param random the random number generator
+     */
+    public void setRandom(Random random) {this.random = random;}
+
 
     public void startMoving(Vector2 tilePos, Board board) {
         Vector2 screenCoord = board.boardToScreen((int) tilePos.x, (int) tilePos.y);
@@ -199,12 +214,15 @@ public class Enemy extends GameObject {
             if (hopTimer % (HOPPING_TIME/HOP_FRAMES.length) == 0 && hopTimer!= HOPPING_TIME) {
                 currFrame++;
             }
-            hopSprite.setFrame(HOP_FRAMES[currFrame]);
+            int frame = HOP_FRAMES[currFrame];
+            if (hopSprite != null) {
+                hopSprite.setFrame(frame);
+            }
             hopTimer--;
 
-            if(hopSprite.getFrame()>= 6 && hopSprite.getFrame()<= 11) {
+            if(frame>= 6 && frame<= 11) {
                 position.x += xOffset/MOVING_FRAMES;
-                position.y += yOffset/MOVING_FRAMES + HOP_OFFSETS[hopSprite.getFrame()]*board.getTileHeight()*0.05f;
+                position.y += yOffset/MOVING_FRAMES + HOP_OFFSETS[frame]*board.getTileHeight()*0.05f;
             }
             if (!hasMoved && hopTimer== 9){
                 hasMoved = true;
@@ -213,11 +231,8 @@ public class Enemy extends GameObject {
                 HexTile currTile = board.getTileArrayCoord((int) currArrCoord.x, (int) currArrCoord.y);
                 Vector2 newArrCoord = board.boardToArray((int) nextPos.x, (int) nextPos.y);
                 HexTile newTile = board.getTileArrayCoord((int) newArrCoord.x, (int) newArrCoord.y);
-                if (currTile.hasEnemy() && currTile.getEnemies().contains(this, true)){
-                    currTile.removeEnemies(this);
-                }
                 setTilePosition(new Vector2(nextPos.x, nextPos.y));
-                newTile.addEnemy(this);
+                board.moveEnemy(this, currTile, newTile);
             }
         }
         else {
@@ -226,7 +241,9 @@ public class Enemy extends GameObject {
 //            setTilePosition(nextPos);
             isMoving = false;
             hasMoved = false;
-            hopSprite.setFrame(STAND_FRAME);
+            if (hopSprite != null) {
+                hopSprite.setFrame(STAND_FRAME);
+            }
             xOffset = 0;
             yOffset = 0;
             currFrame = 0;
@@ -282,8 +299,7 @@ public class Enemy extends GameObject {
         HexTile currTile = board.getTileArrayCoord((int) currArrCoord.x, (int) currArrCoord.y);
         Vector2 newArrCoord = board.boardToArray((int) tilePos.x, (int) tilePos.y);
         HexTile newTile = board.getTileArrayCoord((int) newArrCoord.x, (int) newArrCoord.y);
-        currTile.removeEnemies(this);
-        newTile.addEnemy(this);
+        board.moveEnemy(this, currTile, newTile);
         setTilePosition(tilePos);
         position.x = newTile.getX();
         position.y = newTile.getY() - board.getTileHeight()/4;
@@ -308,6 +324,7 @@ public class Enemy extends GameObject {
 
     public void setAboutToTruckChase(int secLeft) {
         aboutToChaseTruckTimer = secLeft; //ABOUT_TO_TRUCK_CHASE;
+        indicatorTimer = 0;
         ABOUT_TO_TRUCK_CHASE = secLeft / 5;
         color = Color.RED;
     }
@@ -315,7 +332,9 @@ public class Enemy extends GameObject {
     public void unsetAboutToTruckChase() {
         aboutToChaseTruckTimer = UNSET_TRUCK_CHASE;
         color = Color.WHITE;
-        moveIndicator.setFrame(0);
+        if (moveIndicator != null) {
+            moveIndicator.setFrame(0);
+        }
     }
 
     public void resetTimer() {
@@ -359,10 +378,10 @@ public class Enemy extends GameObject {
     }
 
     public Queue<Vector2> findNewSafePath(Board board) {
-        Random random = new Random();
 
-        Array<HexTile> adjTilesBoardCoord = board.getNeighbors((int) tilePosition.x, (int) tilePosition.y);
-        adjTilesBoardCoord = filterPossiblePathTiles(adjTilesBoardCoord);
+        Vector2 currArrayCoord = board.boardToArray((int) tilePosition.x, (int) tilePosition.y);
+        board.getNeighbors(board.getTileIndexArrayCoord((int) currArrayCoord.x, (int) currArrayCoord.y), neighborBuffer);
+        Array<HexTile> adjTilesBoardCoord = filterPossiblePathTiles(neighborBuffer);
 
         // if no adjacent tiles available
         if (adjTilesBoardCoord.size < 1) {
@@ -377,7 +396,8 @@ public class Enemy extends GameObject {
 
         Vector2 currEnemyBoardCoord = board.boardToArray((int) tilePosition.x, (int) tilePosition.y);
         HexTile currEnemyTile = board.getTileArrayCoord((int) currEnemyBoardCoord.x, (int) currEnemyBoardCoord.y);
-        Array<HexTile> sndAdjTilesBoardCoord = filterPossiblePathTiles(board.getNeighbors(fstTile), currEnemyTile);
+        board.getNeighbors(fstTile, neighborBuffer);
+        Array<HexTile> sndAdjTilesBoardCoord = filterPossiblePathTiles(neighborBuffer, currEnemyTile);
         if (sndAdjTilesBoardCoord.size > 0){
             HexTile sndTile = sndAdjTilesBoardCoord.get(random.nextInt(sndAdjTilesBoardCoord.size));
             Vector2 sndDir = new Vector2(sndTile.getQ() - fstTile.getQ(), sndTile.getR() - fstTile.getR());
@@ -393,7 +413,6 @@ public class Enemy extends GameObject {
     }
 
     public Queue<Vector2> findNewSafePath(Board board, HexTile next) {
-        Random random = new Random();
         Queue<Vector2> newPath = new Queue<>();
         // add first direction
         Vector2 fstDir = new Vector2(next.getQ() - tilePosition.x, next.getR() - tilePosition.y);
@@ -401,7 +420,8 @@ public class Enemy extends GameObject {
 
         Vector2 currEnemyBoardCoord = board.boardToArray((int) tilePosition.x, (int) tilePosition.y);
         HexTile currEnemyTile = board.getTileArrayCoord((int) currEnemyBoardCoord.x, (int) currEnemyBoardCoord.y);
-        Array<HexTile> adjTilesBoardCoord = filterPossiblePathTiles(board.getNeighbors(next), currEnemyTile);
+        board.getNeighbors(next, neighborBuffer);
+        Array<HexTile> adjTilesBoardCoord = filterPossiblePathTiles(neighborBuffer, currEnemyTile);
         if (adjTilesBoardCoord.size > 0){
             HexTile sndTile = adjTilesBoardCoord.get(random.nextInt(adjTilesBoardCoord.size));
             Vector2 sndDir = new Vector2(sndTile.getQ() - next.getQ(), sndTile.getR() - next.getR());
@@ -472,7 +492,7 @@ public class Enemy extends GameObject {
                     Vector2 currArrPos = board.boardToArray((int) tilePosition.x, (int) tilePosition.y);
                     Vector2 foodPos = new Vector2(targetFoodTile.getAX(), targetFoodTile.getAY());
                     if (!board.isAdjacent(currArrPos, foodPos)){
-                        Array<HexTile> hpath = board.findBestPathBFSEnemyFree(board.getTileArrayCoord((int) currArrPos.x, (int) currArrPos.y),
+                        Array<HexTile> hpath = board.findBestPathEnemyFree(board.getTileArrayCoord((int) currArrPos.x, (int) currArrPos.y),
                                 board.getTileArrayCoord((int) foodPos.x, (int) foodPos.y));
                         if (hpath.size > 1 && board.isSafeAtBoard(hpath.get(1).getQ(), hpath.get(1).getR())) {
                             startMoving(new Vector2(hpath.get(1).getQ(), hpath.get(1).getR()), board);
@@ -496,7 +516,9 @@ public class Enemy extends GameObject {
             color = Color.RED;
         }
         if (aboutToChaseTruckTimer > 0) {
-            if (aboutToChaseTruckTimer % 3 == 0) {
+            if (aboutToChaseTruckTimer % 3 == 0 && aboutToChaseTruckTimer != indicatorTimer) {
+                // Advance once per timer value, however many frames are drawn in between
+                indicatorTimer = aboutToChaseTruckTimer;
                 if (moveIndicator.getFrame() == moveIndicator.getSize()-1) {
                     moveIndicator.setFrame(0);
                 }
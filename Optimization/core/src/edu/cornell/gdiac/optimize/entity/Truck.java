@@ -66,14 +66,12 @@ public class Truck extends GameObject {
 
     /** Reference to truck's sprite for drawing */
     private FilmStrip truckSprite;
-
-
-    private FilmStrip truckSpriteN;
-    private FilmStrip truckSpriteNE;
-    private FilmStrip truckSpriteSE;
-    private FilmStrip truckSpriteS;
-    private FilmStrip truckSpriteSW;
-    private FilmStrip truckSpriteNW;
+    /** Drive sprite of every direction, or null when running without graphics */
+    private FilmStrip[] driveSprites;
+    /** Direction the truck is facing */
+    private int direction;
+    /** Frame of the drive animation, which also sets the driving speed */
+    private int driveFrame;
 
     private boolean isMoving;
     private float xOffset;
@@ -91,6 +89,10 @@ public class Truck extends GameObject {
     public static final int DIRECTION_S = 3;
     public static final int DIRECTION_SW = 4;
     public static final int DIRECTION_NW = 5;
+    /** Number of directions the truck can face */
+    public static final int NUM_DIRECTIONS = 6;
+    /** Board offset (q, r) of a forward move in every direction */
+    public static final int[][] FORWARD_OFFSETS = {{0, 1}, {1, 0}, {1, -1}, {0, -1}, {-1, 0}, {-1, 1}};
 
     private boolean isThrowing;
     private float throwableFoodPosX;
@@ -366,24 +368,42 @@ public class Truck extends GameObject {
      * param value the image texture for truck
      */
     public void setFilmStrip(int level) {
-        truckSprite = truckSpriteSE;
+        direction = DIRECTION_SE;
         if (level < 2){
-            truckSprite = truckSpriteNE;
+            direction = DIRECTION_NE;
         }
-        truckSprite.setFrame(TRUCK_STATIC_FRAME);
+        driveFrame = TRUCK_STATIC_FRAME;
+        syncSprite();
     }
 
     public void setDriveSprites (FilmStrip[] sprites, Board board) {
-        truckSpriteN = sprites[DIRECTION_N];
-        truckSpriteNE = sprites[DIRECTION_NE];
-        truckSpriteSE = sprites[DIRECTION_SE];
-        truckSpriteS = sprites[DIRECTION_S];
-        truckSpriteSW = sprites[DIRECTION_SW];
-        truckSpriteNW = sprites[DIRECTION_NW];
-        imgScale = board.getTileHeight()*3f / truckSpriteN.getRegionHeight();
+        driveSprites = sprites;
+        imgScale = board.getTileHeight()*3f / sprites[DIRECTION_N].getRegionHeight();
+        tileHeight = board.getTileHeight();
+        syncSprite();
+    }
+
+    /**
+     * Sets the tile height used by the throw arc when the truck has no sprites
+     *
+     * @param board the game board
+     */
+    public void setBoard(Board board) {
         tileHeight = board.getTileHeight();
     }
 
+    /**
+     * Points the sprite at the current direction and drive frame
+     *
+     * The truck keeps its state in direction and driveFrame, so it also runs without sprites.
+     */
+    private void syncSprite() {
+        if (driveSprites != null) {
+            truckSprite = driveSprites[direction];
+            truckSprite.setFrame(driveFrame);
+        }
+    }
+
     public void startMoving(float x, float y, Board board) {
         Vector2 arrayCoord = board.boardToArray((int) x, (int) y);
         HexTile hex = board.getTileArrayCoord((int) arrayCoord.x, (int) arrayCoord.y);
@@ -403,16 +423,17 @@ public class Truck extends GameObject {
     public void updateMoving() {
         if (driveTimer != 0) {
             if (driveTimer % (DRIVING_TIME/TRUCK_FRAME_SIZE) == 0 && driveTimer!= DRIVING_TIME) {
-                truckSprite.setFrame(truckSprite.getFrame()+1);
+                driveFrame++;
+                syncSprite();
             }
             driveTimer--;
             float singleMoveX = xOffset/(float)DRIVING_TIME;
             float singleMoveY = yOffset/(float)DRIVING_TIME;
-            if (truckSprite.getFrame() == 0 || truckSprite.getFrame() == 4){
+            if (driveFrame == 0 || driveFrame == 4){
                 position.x += 0.5f* singleMoveX;
                 position.y += 0.5f* singleMoveY;
             }
-            else if (truckSprite.getFrame() == 1 || truckSprite.getFrame() == 3) {
+            else if (driveFrame == 1 || driveFrame == 3) {
                 position.x += singleMoveX;
                 position.y += singleMoveY;
             }
@@ -423,7 +444,8 @@ public class Truck extends GameObject {
         }
         else{
             isMoving = false;
-            truckSprite.setFrame(TRUCK_STATIC_FRAME);
+            driveFrame = TRUCK_STATIC_FRAME;
+            syncSprite();
             xOffset = 0;
             yOffset = 0;
             driveTimer = DRIVING_TIME;
@@ -485,23 +507,24 @@ public class Truck extends GameObject {
     public boolean getPrevTileTimerTrigger() { return prevTileTimerTrigger; }
 
     public int getDirection() {
-        if (truckSprite.equals(truckSpriteN)){
-            return 0;
-        }
-        else if (truckSprite.equals(truckSpriteNE)) {
-            return 1;
-        }
-        else if (truckSprite.equals(truckSpriteSE)) {
-            return 2;
-        }
-        else if (truckSprite.equals(truckSpriteS)) {
-            return 3;
-        }
-        else if (truckSprite.equals(truckSpriteSW)) {
-            return 4;
-        }
-        else {
-            return 5;
+        return direction;
+    }
+
+    /**
+     * Drives one tile in the given board direction if the tile is free of obstacles
+     *
+     * @param dq offset of the tile along q
+     * @param dr offset of the tile along r
+     * @param board the game board
+     */
+    private void drive(int dq, int dr, Board board) {
+        Vector2 pos = getBoardPosition();
+        if (board.isObstacleFree((int) pos.x + dq, (int) pos.y + dr)) {
+            startMoving(pos.x + dq, pos.y + dr, board);
+            boardPosition.x = pos.x + dq;
+            boardPosition.y = pos.y + dr;
+            madeMove = true;
+            moveNum--;
         }
     }
 
@@ -521,155 +544,26 @@ public class Truck extends GameObject {
             updateMoving();
         }
         else if (isMoveable && !madeMove && !madeTurn) {
-            Vector2 pos = getBoardPosition();
             if (left) {
                 // reset ismoveable after making one move
                 madeTurn = true;
-                if (truckSprite.equals(truckSpriteN)){
-                    truckSprite = truckSpriteNW;
-                }
-                else if (truckSprite.equals(truckSpriteNE)) {
-                    truckSprite = truckSpriteN;
-                }
-                else if (truckSprite.equals(truckSpriteSE)) {
-                    truckSprite = truckSpriteNE;
-                }
-                else if (truckSprite.equals(truckSpriteS)) {
-                    truckSprite = truckSpriteSE;
-                }
-                else if (truckSprite.equals(truckSpriteSW)) {
-                    truckSprite = truckSpriteS;
-                }
-                else if (truckSprite.equals(truckSpriteNW)) {
-                    truckSprite = truckSpriteSW;
-                }
+                direction = (direction + NUM_DIRECTIONS - 1) % NUM_DIRECTIONS;
+                syncSprite();
             }
 
             if (right) {
                 // reset ismoveable after making one move
                 madeTurn = true;
-                if (truckSprite.equals(truckSpriteN)){
-                    truckSprite = truckSpriteNE;
-                }
-                else if (truckSprite.equals(truckSpriteNE)) {
-                    truckSprite = truckSpriteSE;
-                }
-                else if (truckSprite.equals(truckSpriteSE)) {
-                    truckSprite = truckSpriteS;
-                }
-                else if (truckSprite.equals(truckSpriteS)) {
-                    truckSprite = truckSpriteSW;
-                }
-                else if (truckSprite.equals(truckSpriteSW)) {
-                    truckSprite = truckSpriteNW;
-                }
-                else if (truckSprite.equals(truckSpriteNW)) {
-                    truckSprite = truckSpriteN;
-                }
+                direction = (direction + 1) % NUM_DIRECTIONS;
+                syncSprite();
             }
             if (forward) {
                 prevMove = true;
-                if (truckSprite.equals(truckSpriteN)) {
-                    if (board.isObstacleFree((int) pos.x, (int) pos.y + 1)) {
-                        startMoving(pos.x, pos.y + 1, board);
-                        boardPosition.x = pos.x;
-                        boardPosition.y = pos.y + 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteNW)) {
-                    if (board.isObstacleFree((int) pos.x - 1, (int) pos.y + 1)) {
-                        startMoving(pos.x - 1, pos.y + 1, board);
-                        boardPosition.x = pos.x - 1;
-                        boardPosition.y = pos.y + 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteSW)) {
-                    if (board.isObstacleFree((int) pos.x - 1, (int) pos.y )) {
-                        startMoving(pos.x - 1, pos.y, board);
-                        boardPosition.x = pos.x - 1;
-                        boardPosition.y = pos.y;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteS)) {
-                    if (board.isObstacleFree((int) pos.x, (int) pos.y - 1)) {
-                        startMoving(pos.x, pos.y - 1, board);
-                        boardPosition.x = pos.x;
-                        boardPosition.y = pos.y - 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteSE)) {
-                    if (board.isObstacleFree((int) pos.x + 1, (int) pos.y - 1)) {
-                        startMoving(pos.x + 1, pos.y - 1, board);
-                        boardPosition.x = pos.x + 1;
-                        boardPosition.y = pos.y - 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteNE)) {
-                    if (board.isObstacleFree((int) pos.x + 1, (int) pos.y)) {
-                        startMoving(pos.x + 1, pos.y, board);
-                        boardPosition.x = pos.x + 1;
-                        boardPosition.y = pos.y;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                }
+                drive(FORWARD_OFFSETS[direction][0], FORWARD_OFFSETS[direction][1], board);
             }
             if (backward) {
                 prevMove = true;
-                if (truckSprite.equals(truckSpriteN)) {
-                    if (board.isObstacleFree((int) pos.x, (int) pos.y - 1)) {
-                        startMoving(pos.x, pos.y - 1, board);
-                        boardPosition.x = pos.x;
-                        boardPosition.y = pos.y - 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteNW)) {
-                    if (board.isObstacleFree((int) pos.x + 1, (int) pos.y - 1)) {
-                        startMoving(pos.x + 1, pos.y - 1, board);
-                        boardPosition.x = pos.x + 1;
-                        boardPosition.y = pos.y - 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteSW)) {
-                    if (board.isObstacleFree((int) pos.x + 1, (int) pos.y)) {
-                        startMoving(pos.x + 1, pos.y, board);
-                        boardPosition.x = pos.x + 1;
-                        boardPosition.y = pos.y;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteS)) {
-                    if (board.isObstacleFree((int) pos.x, (int) pos.y + 1)) {
-                        startMoving(pos.x, pos.y + 1, board);
-                        boardPosition.x = pos.x;
-                        boardPosition.y = pos.y + 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteSE)) {
-                    if (board.isObstacleFree((int) pos.x - 1, (int) pos.y + 1)) {
-                        startMoving(pos.x - 1, pos.y + 1, board);
-                        boardPosition.x = pos.x - 1;
-                        boardPosition.y = pos.y + 1;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                } else if (truckSprite.equals(truckSpriteNE)){
-                    if (board.isObstacleFree((int) pos.x - 1, (int) pos.y)) {
-                        startMoving(pos.x - 1, pos.y, board);
-                        boardPosition.x = pos.x - 1;
-                        boardPosition.y = pos.y;
-                        madeMove = true;
-                        moveNum--;
-                    }
-                }
+                drive(-FORWARD_OFFSETS[direction][0], -FORWARD_OFFSETS[direction][1], board);
             }
         }
 
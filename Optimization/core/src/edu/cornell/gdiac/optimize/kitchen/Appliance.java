@@ -82,6 +82,13 @@ public class Appliance extends GameObject {
     public int cookingTimer;
     public int totalTimer;
 
+    /** Clock event: the cooking ingredient is done */
+    public static final int EVENT_COOKED = 0;
+    /** Clock event: the working animation is over */
+    public static final int EVENT_ANIMATION_END = 1;
+    /** Due tick of an event that is not scheduled */
+    private static final int NO_EVENT = -1;
+
     public static final int CHOP_SIZE = 10;
     public static final int POT_SIZE = 6;
     public static final int FRYER_SIZE = 6;
@@ -149,6 +156,17 @@ public class Appliance extends GameObject {
     private FilmStrip workingSprite;
     private int frameTime;
 
+    /** The clock of the kitchen */
+    private KitchenClock clock;
+    /** Tick the current ingredient started cooking on, for appliances without click event */
+    private int cookStartTick;
+    /** Tick the current ingredient will be done on */
+    private int cookDoneTick = NO_EVENT;
+    /** Tick the current animation started on */
+    private int animationStartTick;
+    /** Tick the current animation will end on */
+    private int animationEndTick = NO_EVENT;
+
     public static ArrayList<Vector2> getapplianceConstants(){
         ArrayList<Vector2> tbReturned = new ArrayList<>();
         tbReturned.add(new Vector2(CHOPPINGBOARD_X_RATIO,CHOPPINGBOARD_Y_RATIO));
@@ -182,7 +200,7 @@ public class Appliance extends GameObject {
             workingSprite = sprites[3];
             scaleSize = (width)/(workingSprite.getRegionWidth());
         }
-        if (appType != TRASH) {
+        if (appType != TRASH && workingSprite != null) {
             workingSprite.setFrame(0);
         }
     }
@@ -251,6 +269,15 @@ public class Appliance extends GameObject {
         currProgress = totalProgress; // cookable
     }
 
+    /**
+     * Sets the clock that drives cooking and animation
+     *
+     * @param clock the clock of the kitchen
+     */
+    public void setClock(KitchenClock clock) {
+        this.clock = clock;
+    }
+
     public void setTimer() {
         if (appType == CHOPPINGBOARD){
             cookingTimer = CHOP_TIME;
@@ -319,9 +346,20 @@ public class Appliance extends GameObject {
      *
      * @return the current progress of appliance
      */
-    public int getCurrProgress() {return currProgress;}
+    public int getCurrProgress() {
+        if (isWorking && !isClick) {
+            return Math.max(totalProgress - (clock.getTick() - cookStartTick), 0);
+        }
+        return currProgress;
+    }
 
-    public void resetCurrProgress() {currProgress = 0;}
+    public void resetCurrProgress() {
+        currProgress = 0;
+        if (isWorking) {
+            cookStartTick = clock.getTick() - totalProgress;
+            scheduleCooked(1);
+        }
+    }
 
     /**
      * Returns the total progress of appliance
@@ -348,7 +386,10 @@ public class Appliance extends GameObject {
     public void setClickProgress() {
         currProgress = currProgress -1;
         if (isWorking) {
-            isAnimating = true;
+            startAnimation();
+            if (currProgress == 0) {
+                scheduleCooked(1);
+            }
         }
     }
 
@@ -360,8 +401,17 @@ public class Appliance extends GameObject {
     public void setWorking(int i) {
         isWorking = true;
         cookingIng = i;
-        isAnimating = true;
-        texture = activeTextures.get(i);
+        startAnimation();
+        if (activeTextures != null) {
+            texture = activeTextures.get(i);
+        }
+        if (!isClick) {
+            cookStartTick = clock.getTick();
+            scheduleCooked(totalProgress + 1);
+        }
+        else if (currProgress == 0) {
+            scheduleCooked(1);
+        }
     }
 
 
@@ -370,6 +420,11 @@ public class Appliance extends GameObject {
         cookingIng = NOT_COOKING;
         currProgress = totalProgress;
         texture = normalTexture;
+        cookDoneTick = NO_EVENT;
+        // The animation of a cooking appliance stops with the next update
+        if (isAnimating && appType != PLATE) {
+            animationEndTick = clock.schedule(1, appType, EVENT_ANIMATION_END);
+        }
     }
 
     public void setTextures(Texture t, Texture th, Texture tIC){
@@ -451,60 +506,99 @@ public class Appliance extends GameObject {
     }
 
     /**
-     * Updates the age and angle of this star.
+     * Handles an event of the kitchen clock scheduled by this appliance
+     *
+     * Events that were superseded since they were scheduled are ignored.
+     *
+     * @param event the type of the event
+     *
+     * @return whether an ingredient is done, see getDoneProcessed
      */
-    public void update() {
-        if (isWorking) {
-            if (currProgress > 0 && !isClick) {
-                currProgress --;
+    public boolean onEvent(int event) {
+        int tick = clock.getTick();
+        if (event == EVENT_COOKED && tick == cookDoneTick) {
+            cookDoneTick = NO_EVENT;
+            // Extra clicks in the same frame overshoot the chopping board
+            if (!isWorking || (isClick && currProgress != 0)) {
+                return false;
             }
-            else if (currProgress == 0){
-                isWorking = false;
-                doneProcessed = cookingIng;
-                cookingIng = NOT_COOKING;
-                currProgress = totalProgress;
+            isWorking = false;
+            doneProcessed = cookingIng;
+            cookingIng = NOT_COOKING;
+            currProgress = totalProgress;
+            if (isAnimating && appType != PLATE) {
+                endAnimation();
             }
+            return true;
         }
-        if (isAnimating) {
-            updateAnimation();
+        if (event == EVENT_ANIMATION_END && tick == animationEndTick) {
+            endAnimation();
         }
+        return false;
     }
 
-    public void updateAnimation() {
-        if (cookingTimer !=0 && isAnimating && (isWorking || appType == PLATE)) {
-            if (cookingTimer % frameTime == 0 && cookingTimer!= totalTimer) {
-                if (workingSprite!= null && workingSprite.getFrame() == workingSprite.getSize()-1) {
-                    workingSprite.setFrame(0);
-                }
-                else if (workingSprite!= null){
-                    workingSprite.setFrame(workingSprite.getFrame()+1);
-                }
-            }
-            cookingTimer--;
-        }
-        else{
-            setTimer();
-            isAnimating = false;
-            if (appType != TRASH) {
-                workingSprite.setFrame(0);
-            }
-        }
+    /**
+     * Schedules the ingredient to be done after the given number of updates
+     *
+     * @param delay number of updates until the ingredient is done
+     */
+    private void scheduleCooked(int delay) {
+        cookDoneTick = clock.schedule(delay, appType, EVENT_COOKED);
     }
 
-    public boolean isAnimating() {return isAnimating;}
-    public void setAnimating() {
+    /**
+     * Starts the working animation, unless it is already running
+     */
+    private void startAnimation() {
+        if (isAnimating) {
+            return;
+        }
         isAnimating = true;
+        animationStartTick = clock.getTick();
+        animationEndTick = clock.schedule(totalTimer + 1, appType, EVENT_ANIMATION_END);
     }
 
+    /**
+     * Stops the working animation and rewinds it to the first frame
+     */
+    private void endAnimation() {
+        setTimer();
+        isAnimating = false;
+        animationEndTick = NO_EVENT;
+        if (appType != TRASH && workingSprite != null) {
+            workingSprite.setFrame(0);
+        }
+    }
 
-    public void updatePlateAnimation() {
+    /**
+     * Returns the frame of the working animation at the current tick
+     *
+     * The animation moves one frame every frameTime updates, skipping its first update,
+     * and wraps around at the end of the film strip.
+     *
+     * @return the frame of the film strip
+     */
+    private int getAnimationFrame() {
+        int elapsed = Math.min(clock.getTick() - animationStartTick, totalTimer);
+        int first = totalTimer - elapsed + 1;
+        int last = totalTimer - 1;
+        if (last < first || workingSprite == null) {
+            return 0;
+        }
+        int steps = last/frameTime - (first - 1)/frameTime;
+        return steps % workingSprite.getSize();
+    }
 
+    public boolean isAnimating() {return isAnimating;}
+    public void setAnimating() {
+        startAnimation();
     }
 
     public Appliance clone(){
         Appliance ap = new Appliance(type,width,height);
         ap.setTextures(normalTexture,highlightTexture,ingCardTexture);
         ap.setActiveTexture(activeTextures.toArray(new Texture[]{}));
+        ap.setClock(clock);
         return ap;
     }
 
@@ -534,6 +628,7 @@ public class Appliance extends GameObject {
         if (workingSprite == null) {
             return;
         }
+        workingSprite.setFrame(getAnimationFrame());
         float x = workingSprite.getRegionWidth()/2.0f;
         float y = workingSprite.getRegionWidth()/2.0f;
         if (appType == CHOPPINGBOARD){
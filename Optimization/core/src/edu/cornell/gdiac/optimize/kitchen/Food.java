@@ -2,6 +2,8 @@ package edu.cornell.gdiac.optimize.kitchen;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
 import edu.cornell.gdiac.optimize.*;
 import edu.cornell.gdiac.optimize.GameCanvas;
 
@@ -10,11 +12,12 @@ import java.util.ArrayList;
 /**
  * Model class for recipe
  */
-public class Food extends GameObject{
+public class Food extends GameObject implements Pool.Poolable {
 
     /** Order in which the ingredients are put in the recipe */
     private ArrayList<Ingredient> assembleIngredients;
-    private ArrayList<String> assembleAppliances;
+    /** Appliance ID that cooked each ingredient, in the same order */
+    private IntArray assembleAppliances;
     /** Boolean list that keeps track of which ingredients are cleared */
     private ArrayList<Boolean> checkedIngredients;
     /** Whether this food is a recipe or not */
@@ -31,53 +34,129 @@ public class Food extends GameObject{
 
     private ArrayList<Ingredient> processingIngredients;
 
+    /** Order-independent summary of this food, refilled when its ingredients change */
+    private final RecipeSignature signature = new RecipeSignature();
+    /** Whether signature is up to date with the ingredients */
+    private boolean signatureValid;
+    /** Reward of this food if it is a recipe, or null */
+    private Reward reward;
+
+    /**
+     * Initialize an empty food, for a pool or to be filled with set
+     */
+    public Food(){
+        assembleIngredients = new ArrayList<>();
+        assembleAppliances = new IntArray();
+    }
+
     /**
      * Initialize assembled food with ingredients
      */
-    public Food(ArrayList<Ingredient> ingredients, ArrayList<String> apps){
+    public Food(ArrayList<Ingredient> ingredients, IntArray apps){
         //isThrowable = false;
         //isRecipe = false;
         assembleIngredients = new ArrayList<>(ingredients.size());
-        assembleAppliances = new ArrayList<>(ingredients.size());
+        assembleAppliances = new IntArray(apps);
         //checkedIngredients = new ArrayList<>(ingredients.length);
         for (Ingredient ig : ingredients){
             assembleIngredients.add(ig);
             //checkedIngredients.add(false);
         }
-        for (String app : apps) {
-            assembleAppliances.add(app);
-        }
     }
 
     /**
      * Initialize recipe with ingredients
      */
-    public Food(ArrayList<Ingredient> ings, ArrayList<String> apps, int movementNum, int turnNum, boolean isThrowable){
+    public Food(ArrayList<Ingredient> ings, IntArray apps, int movementNum, int turnNum, boolean isThrowable){
         //this.isRecipe = isRecipe;
         this.movementNum = movementNum;
         this.turnNum = turnNum;
         this.isThrowable = isThrowable;
         assembleIngredients = new ArrayList<>(ings.size());
-        assembleAppliances = new ArrayList<>(ings.size());
+        assembleAppliances = new IntArray(apps);
         //checkedIngredients = new ArrayList<>(ingredients.length);
         for (Ingredient ig : ings){
             assembleIngredients.add(ig);
         }
-        for (String app : apps) {
-            assembleAppliances.add(app);
+        reward = new Reward(getSize(), movementNum, turnNum, isThrowable);
+    }
+
+    /**
+     * Replaces the ingredients of this food, keeping its reward and texture
+     *
+     * The lists are copied, so the caller may reuse them.
+     *
+     * @param ingredients ingredients of the food
+     * @param apps ID of the appliance that cooked each ingredient, in the same order
+     *
+     * @return this food
+     */
+    public Food set(ArrayList<Ingredient> ingredients, IntArray apps){
+        assembleIngredients.clear();
+        // addAll would copy the list into a temporary array first
+        for (int i = 0; i < ingredients.size(); i++){
+            assembleIngredients.add(ingredients.get(i));
         }
+        assembleAppliances.clear();
+        assembleAppliances.addAll(apps);
+        signatureValid = false;
+        return this;
+    }
+
+    /**
+     * Clears this food before it goes back to its pool
+     *
+     * The ingredients themselves are not freed; a food only refers to them.
+     */
+    @Override
+    public void reset(){
+        assembleIngredients.clear();
+        assembleAppliances.clear();
+        signatureValid = false;
+        reward = null;
+        texture = null;
+        movementNum = 0;
+        turnNum = 0;
+        isThrowable = false;
+        isRecipe = false;
+        position.setZero();
     }
 
     public void addIngredients(ArrayList<Ingredient> igList){
         for (Ingredient ig : igList){
             assembleIngredients.add(ig);
         }
+        signatureValid = false;
+        if (reward != null){
+            reward = new Reward(getSize(), movementNum, turnNum, isThrowable);
+        }
+    }
+
+    public void addAppliances(IntArray apList){
+        assembleAppliances.addAll(apList);
+        signatureValid = false;
     }
 
-    public void addAppliances(ArrayList<String> apList){
-        for (String ap : apList){
-            assembleAppliances.add(ap);
+    /**
+     * Returns the order-independent summary of this food
+     *
+     * @return the signature of the cooked ingredients of this food
+     */
+    public RecipeSignature getSignature(){
+        if (!signatureValid){
+            signature.set(assembleIngredients, assembleAppliances);
+            signatureValid = true;
         }
+        return signature;
+    }
+
+    /**
+     * Returns the reward the truck gets for this recipe
+     *
+     * @return the reward, or null if this food was not created as a recipe
+     */
+    public Reward getReward(){
+        return reward;
     }
 
     /**
@@ -108,7 +187,7 @@ public class Food extends GameObject{
     }
 
     public ArrayList<Ingredient> getAssembleIngredients() {return assembleIngredients;}
-    public ArrayList<String> getAssembleAppliances() {return assembleAppliances;}
+    public IntArray getAssembleAppliances() {return assembleAppliances;}
 
 //    /**
 //     * Randomizes the ingredients
@@ -200,26 +279,18 @@ public class Food extends GameObject{
 //        return ingredient.equals(assemblyOrder.get(idx));
 //    }
 
+    /**
+     * Returns whether the given food completes this one as a recipe
+     *
+     * The food must have as many ingredients, and use every ingredient and every
+     * appliance of this one. The order in which they were assembled does not matter.
+     *
+     * @param food the food to compare with
+     *
+     * @return true if the food matches this recipe
+     */
     public boolean isEqual(Food food) {
-        if (getSize() != food.getSize()) {
-            return false;
-        }
-        for (Ingredient igCur : assembleIngredients) {
-            for (String appCur : assembleAppliances){
-                boolean result = false;
-                for (Ingredient igGiven : food.getAssembleIngredients()) {
-                    for (String appGiven : food.getAssembleAppliances()){
-                        if (igCur.equals(igGiven) && appCur.equals(appGiven)) {
-                            result = true;
-                        }
-                    }
-                }
-                if (result == false) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return getSignature().matches(food.getSignature());
     }
 
 //    /**
@@ -6,8 +6,9 @@ import edu.cornell.gdiac.util.*;
 
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
+import com.badlogic.gdx.utils.Pool;
 
-public class Ingredient extends GameObject {
+public class Ingredient extends GameObject implements Pool.Poolable {
 
     // MAGIC NUMBERS
     public static final int RECTANGLE_INGREDIENT = 0;
@@ -31,19 +32,90 @@ public class Ingredient extends GameObject {
     private Texture ingCardTexture;
     private String cook;
     private String ingName; // name to refer to when getting texture
+    /** Ingredient ID in the kitchen registry */
+    private int ingId;
+    /** ID of the appliance that cooked this ingredient, or KitchenRegistry.RAW */
+    private int cookId;
 
     /**
      * Initialize an ingredient with trivial starting position.
      *
-//     * @param i Type of the ingredient
+     * @param registry kitchen registry of the level
+     * @param ingId ingredient ID
+     * @param cookId ID of the appliance that cooked the ingredient, or KitchenRegistry.RAW
+     * @param width width of the ingredient
+     * @param height height of the ingredient
      */
-    public Ingredient(String name, String cook, float width, float height) {
+    public Ingredient(KitchenRegistry registry, int ingId, int cookId, float width, float height) {
+        set(registry, ingId, cookId, width, height);
+    }
+
+    /**
+     * Initialize an empty ingredient for a pool. Call set before using it.
+     */
+    public Ingredient() {
+        ingId = -1;
+        cookId = KitchenRegistry.RAW;
+    }
+
+    /**
+     * Initialize an ingredient with trivial starting position from resolved names.
+     */
+    private Ingredient(int ingId, String name, int cookId, String cook, float width, float height) {
+        init(ingId, name, cookId, cook, width, height);
+    }
+
+    /**
+     * Sets this ingredient up as a fresh ingredient with trivial starting position.
+     *
+     * Used on ingredients obtained from a pool.
+     *
+     * @param registry kitchen registry of the level
+     * @param ingId ingredient ID
+     * @param cookId ID of the appliance that cooked the ingredient, or KitchenRegistry.RAW
+     * @param width width of the ingredient
+     * @param height height of the ingredient
+     *
+     * @return this ingredient
+     */
+    public Ingredient set(KitchenRegistry registry, int ingId, int cookId, float width, float height) {
+        init(ingId, registry.getIngredientName(ingId), cookId, registry.getApplianceName(cookId), width, height);
+        return this;
+    }
+
+    /**
+     * Clears this ingredient before it goes back to its pool.
+     *
+     * The ingredient drops its textures and names and holds no ingredient until set again.
+     */
+    @Override
+    public void reset() {
+        ingId = -1;
+        cookId = KitchenRegistry.RAW;
+        ingName = null;
+        cook = null;
+        normalTexture = null;
+        highlightTexture = null;
+        ingCardTexture = null;
+        texture = null;
+        position.setZero();
+        setStatus(KitchenRegistry.RAW);
+        isAssembled = false;
+        isIncCard = false;
+    }
+
+    /**
+     * Sets every attribute of a fresh ingredient from resolved names.
+     */
+    private void init(int ingId, String name, int cookId, String cook, float width, float height) {
+        this.ingId = ingId;
+        this.cookId = cookId;
         ingName = name;
 //        if (cook != "") {
 //            ingName = name + cook.substring(0, 1).toUpperCase() + cook.substring(1);
 //        }
         this.cook = cook;
-        setStatus(cook);
+        setStatus(cookId);
         this.width = width;
         this.height = height;
         isAssembled = false;
@@ -58,6 +130,24 @@ public class Ingredient extends GameObject {
         return cook;
     }
 
+    /**
+     * Returns the ingredient ID of this ingredient
+     *
+     * @return the ID of the raw ingredient in the kitchen registry
+     */
+    public int getIngId() {
+        return ingId;
+    }
+
+    /**
+     * Returns the ID of the appliance that cooked this ingredient
+     *
+     * @return the appliance ID, or KitchenRegistry.RAW if the ingredient is not cooked
+     */
+    public int getCookId() {
+        return cookId;
+    }
+
     /**
      *
      * Set is assembled
@@ -132,8 +222,8 @@ public class Ingredient extends GameObject {
     /**
      * Set the cook and the initial valid status of the ingredient.
      */
-    public void setStatus(String cook) {
-        if (cook == "") {
+    public void setStatus(int cookId) {
+        if (cookId == KitchenRegistry.RAW) {
             isCooked = false;
             isValid = true;
             isTrashable = false;
@@ -156,7 +246,7 @@ public class Ingredient extends GameObject {
     }
 
     public Ingredient clone(){
-        Ingredient ig = new Ingredient(ingName, cook,width, height);
+        Ingredient ig = new Ingredient(ingId, ingName, cookId, cook, width, height);
         ig.setX(getX());
         ig.setY(getY());
         ig.setTextures(normalTexture,highlightTexture);
@@ -189,7 +279,12 @@ public class Ingredient extends GameObject {
     @Override
     public boolean equals(Object obj) {
         Ingredient ingredient = (Ingredient) obj;
-        return ingredient.ingName.equals(ingName);
+        return ingredient.ingId == ingId;
+    }
+
+    @Override
+    public int hashCode() {
+        return ingId;
     }
 
     /**
@@ -0,0 +1,154 @@
+package edu.cornell.gdiac.optimize.kitchen;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Timer wheel that drives the kitchen.
+ *
+ * The clock counts kitchen updates. Appliances and the kitchen schedule events a number of
+ * updates ahead instead of counting down every frame, so an update with nothing due only
+ * moves the clock forward. Events are kept in a ring of slots indexed by their due tick;
+ * an event further away than the ring waits in its slot until its lap comes around.
+ *
+ * Delays are counted from the last completed update: an event scheduled with delay 1 fires
+ * during the next call to {@link #advance}. Events never get cancelled. Owners remember the
+ * tick they expect their event on and ignore events that no longer match.
+ */
+public class KitchenClock {
+    /** Receives the events of the clock */
+    public interface Listener {
+        /**
+         * Called when a scheduled event is due
+         *
+         * @param target the target the event was scheduled for
+         * @param event the type of the event
+         */
+        void onEvent(int target, int event);
+    }
+
+    /** Number of slots in the wheel; a power of two */
+    static final int WHEEL_SIZE = 256;
+    /** Mask from a tick to its slot */
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /** Target of every event, per slot */
+    private IntArray[] targets;
+    /** Type of every event, per slot */
+    private IntArray[] events;
+    /** Due tick of every event, per slot */
+    private IntArray[] dueTicks;
+    /** Number of completed updates */
+    private int tick;
+    /** Number of events waiting in the wheel */
+    private int pending;
+
+    /** Creates a clock at tick 0 with no events */
+    public KitchenClock() {
+        targets = new IntArray[WHEEL_SIZE];
+        events = new IntArray[WHEEL_SIZE];
+        dueTicks = new IntArray[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++){
+            targets[i] = new IntArray(4);
+            events[i] = new IntArray(4);
+            dueTicks[i] = new IntArray(4);
+        }
+    }
+
+    /**
+     * Returns the number of completed updates
+     *
+     * @return the current tick
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Schedules an event
+     *
+     * @param delay number of updates from now, at least 1
+     * @param target the target to pass to the listener
+     * @param event the type to pass to the listener
+     *
+     * @return the tick the event will fire on
+     */
+    public int schedule(int delay, int target, int event) {
+        int due = tick + Math.max(delay, 1);
+        int slot = due & WHEEL_MASK;
+        targets[slot].add(target);
+        events[slot].add(event);
+        dueTicks[slot].add(due);
+        pending++;
+        return due;
+    }
+
+    /**
+     * Completes one update and fires the events due on it, in the order they were scheduled
+     *
+     * Listeners may schedule further events while being called.
+     *
+     * @param listener receiver of the events
+     */
+    public void advance(Listener listener) {
+        tick++;
+        int slot = tick & WHEEL_MASK;
+        IntArray slotTargets = targets[slot];
+        IntArray slotEvents = events[slot];
+        IntArray slotTicks = dueTicks[slot];
+        int size = slotTicks.size;
+        if (size == 0){
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++){
+            if (slotTicks.get(i) == tick){
+                pending--;
+                listener.onEvent(slotTargets.get(i), slotEvents.get(i));
+            } else {
+                keep(slot, i, kept++);
+            }
+        }
+        // Events scheduled a whole lap ahead by the listener landed behind the ones we read
+        for (int i = size; i < slotTicks.size; i++){
+            keep(slot, i, kept++);
+        }
+        slotTargets.size = kept;
+        slotEvents.size = kept;
+        slotTicks.size = kept;
+    }
+
+    /**
+     * Completes the given number of updates, firing every event due on them
+     *
+     * Updates with nothing due cost nothing; once the wheel is empty the clock jumps straight
+     * to the end.
+     *
+     * @param updates number of updates to complete
+     * @param listener receiver of the events
+     */
+    public void fastForward(int updates, Listener listener) {
+        int end = tick + updates;
+        while (tick < end){
+            if (pending == 0){
+                tick = end;
+                return;
+            }
+            advance(listener);
+        }
+    }
+
+    /**
+     * Moves an event to an earlier position of its slot
+     *
+     * @param slot the slot
+     * @param from current position of the event
+     * @param to new position of the event
+     */
+    private void keep(int slot, int from, int to) {
+        if (from != to){
+            targets[slot].set(to, targets[slot].get(from));
+            events[slot].set(to, events[slot].get(from));
+            dueTicks[slot].set(to, dueTicks[slot].get(from));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package edu.cornell.gdiac.optimize.kitchen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Dense integer IDs for the ingredient and appliance names of a level.
+ *
+ * The kitchen loads one registry per level. Ingredients are numbered in the order the
+ * level lists them, which is also the order of the raw ingredients in the kitchen drawer.
+ * Appliances are numbered in the order given at creation, which matches the appliance
+ * types of {@link Appliance}. Everything after loading compares these IDs instead of names.
+ */
+public class KitchenRegistry {
+    /** Appliance ID of an ingredient that has not been cooked */
+    public static final int RAW = -1;
+    /** Appliance name of an ingredient that has not been cooked */
+    public static final String RAW_NAME = "";
+
+    /** ID of every ingredient name */
+    private ObjectIntMap<String> ingredientIds;
+    /** Name of every ingredient ID */
+    private Array<String> ingredientNames;
+    /** ID of every appliance name */
+    private ObjectIntMap<String> applianceIds;
+    /** Name of every appliance ID */
+    private Array<String> applianceNames;
+
+    /**
+     * Creates a registry for the given ingredient and appliance names
+     *
+     * @param ingredients ingredient names of the level
+     * @param appliances appliance names, in the order of the appliance types
+     */
+    public KitchenRegistry(Array<String> ingredients, String[] appliances) {
+        ingredientIds = new ObjectIntMap<>(ingredients.size);
+        ingredientNames = new Array<>(ingredients.size);
+        for (String name : ingredients){
+            if (!ingredientIds.containsKey(name)){
+                ingredientIds.put(name, ingredientNames.size);
+                ingredientNames.add(name);
+            }
+        }
+        applianceIds = new ObjectIntMap<>(appliances.length);
+        applianceNames = new Array<>(appliances);
+        for (int i = 0; i < appliances.length; i++){
+            applianceIds.put(appliances[i], i);
+        }
+    }
+
+    /**
+     * Returns the number of ingredients of the level
+     *
+     * @return the number of ingredient IDs
+     */
+    public int getNumIngredients() {
+        return ingredientNames.size;
+    }
+
+    /**
+     * Returns the ID of an ingredient name
+     *
+     * @param name ingredient name
+     *
+     * @return the ingredient ID, or -1 if the level has no such ingredient
+     */
+    public int getIngredientId(String name) {
+        int id = ingredientIds.get(name, -1);
+        if (id < 0){
+            Gdx.app.error("KitchenRegistry", "Unknown ingredient " + name, new IllegalArgumentException());
+        }
+        return id;
+    }
+
+    /**
+     * Returns the name of an ingredient ID
+     *
+     * @param id ingredient ID
+     *
+     * @return the ingredient name
+     */
+    public String getIngredientName(int id) {
+        return ingredientNames.get(id);
+    }
+
+    /**
+     * Returns the ID of an appliance name
+     *
+     * @param name appliance name, or RAW_NAME for an uncooked ingredient
+     *
+     * @return the appliance ID, RAW for an uncooked ingredient, or -2 if there is no such appliance
+     */
+    public int getApplianceId(String name) {
+        if (RAW_NAME.equals(name)){
+            return RAW;
+        }
+        int id = applianceIds.get(name, -2);
+        if (id < 0){
+            Gdx.app.error("KitchenRegistry", "Unknown appliance " + name, new IllegalArgumentException());
+        }
+        return id;
+    }
+
+    /**
+     * Returns the name of an appliance ID
+     *
+     * @param id appliance ID, or RAW
+     *
+     * @return the appliance name, or RAW_NAME for an uncooked ingredient
+     */
+    public String getApplianceName(int id) {
+        return id == RAW ? RAW_NAME : applianceNames.get(id);
+    }
+}
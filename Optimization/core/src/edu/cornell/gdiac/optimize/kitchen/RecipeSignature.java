@@ -0,0 +1,148 @@
+package edu.cornell.gdiac.optimize.kitchen;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.ArrayList;
+
+/**
+ * Order-independent summary of a food, for matching it against a recipe.
+ *
+ * A signature keeps the number of ingredients of a food, and the sets of the ingredient
+ * IDs and appliance IDs it uses as bit sets. A food matches a recipe when it has as many
+ * ingredients, and every ingredient and every appliance of the recipe appear among its
+ * own. Ingredients and appliances are checked separately, as Food.isEqual always did, so
+ * the pairing of an ingredient with its appliance does not matter.
+ *
+ * Each food owns one signature and refills it when its ingredients change. The bit sets
+ * only grow, so refilling allocates nothing once they are large enough.
+ *
+ * IDs come from the {@link KitchenRegistry} of the level, so signatures are only comparable
+ * within one level. A food with an ingredient or appliance the registry does not know has
+ * no ID for it, so its signature matches nothing.
+ */
+public final class RecipeSignature {
+    /** Number of bits in a word of a bit set */
+    private static final int WORD_BITS = 64;
+
+    /** Number of ingredients of the food */
+    private int size;
+    /** Number of appliance entries of the food */
+    private int numAppliances;
+    /** Bit set of the ingredient IDs */
+    private long[] ingredients;
+    /** Bit set of the appliance IDs, shifted by one so that RAW is bit 0 */
+    private long[] appliances;
+    /** Whether every ingredient and appliance of the food has an ID */
+    private boolean known;
+
+    /**
+     * Creates the signature of an empty food
+     */
+    public RecipeSignature() {
+        ingredients = new long[1];
+        appliances = new long[1];
+        known = true;
+    }
+
+    /**
+     * Recomputes this signature for the given ingredients
+     *
+     * @param ings ingredients of the food
+     * @param apps ID of the appliance each ingredient was cooked with, in the same order
+     *
+     * @return this signature
+     */
+    public RecipeSignature set(ArrayList<Ingredient> ings, IntArray apps) {
+        size = ings.size();
+        numAppliances = apps.size;
+        clear(ingredients);
+        clear(appliances);
+        known = true;
+        for (int i = 0; i < size; i++){
+            int id = ings.get(i).getIngId();
+            if (id >= 0){
+                ingredients = add(ingredients, id);
+            } else {
+                known = false;
+            }
+        }
+        for (int i = 0; i < numAppliances; i++){
+            int bit = apps.get(i) - KitchenRegistry.RAW;
+            if (bit >= 0){
+                appliances = add(appliances, bit);
+            } else {
+                known = false;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns whether a food with the given signature completes this recipe
+     *
+     * The food must have as many ingredients as this recipe, and use every ingredient and
+     * every appliance of this recipe. A food or recipe with an unknown ingredient or
+     * appliance never matches.
+     *
+     * @param food signature of the food
+     *
+     * @return true if the food completes this recipe
+     */
+    public boolean matches(RecipeSignature food) {
+        if (!known || !food.known || size != food.size){
+            return false;
+        }
+        if (size == 0 || numAppliances == 0){
+            return true;
+        }
+        return isSubset(ingredients, food.ingredients) && isSubset(appliances, food.appliances);
+    }
+
+    /**
+     * Clears every bit of a bit set
+     *
+     * @param bits the bit set
+     */
+    private static void clear(long[] bits) {
+        for (int i = 0; i < bits.length; i++){
+            bits[i] = 0;
+        }
+    }
+
+    /**
+     * Sets a bit of a bit set, growing it if needed
+     *
+     * @param bits the bit set
+     * @param bit index of the bit, not negative
+     *
+     * @return the bit set, or a larger copy of it
+     */
+    private static long[] add(long[] bits, int bit) {
+        int word = bit / WORD_BITS;
+        if (word >= bits.length){
+            long[] grown = new long[word + 1];
+            System.arraycopy(bits, 0, grown, 0, bits.length);
+            bits = grown;
+        }
+        bits[word] |= 1L << (bit % WORD_BITS);
+        return bits;
+    }
+
+    /**
+     * Returns whether every bit of one bit set is also set in another
+     *
+     * @param sub the bits that must be set
+     * @param set the bits that are set
+     *
+     * @return true if sub is a subset of set
+     */
+    private static boolean isSubset(long[] sub, long[] set) {
+        for (int i = 0; i < sub.length; i++){
+            long have = i < set.length ? set[i] : 0;
+            if ((sub[i] & ~have) != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.cornell.gdiac.optimize.kitchen;
+
+/**
+ * Reward the truck gets for a recipe.
+ *
+ * Every recipe builds its reward once, when the level is loaded, and a successful feed
+ * hands that same object to the gameplay. Rewards are immutable, so they can be shared
+ * freely.
+ */
+public final class Reward {
+    /** Size of the recipe */
+    private final int size;
+    /** Number of moves the truck gets */
+    private final int moves;
+    /** Number of turns the truck gets */
+    private final int turns;
+    /** Number of throws the truck gets, 0 or 1 */
+    private final int throwNum;
+
+    /**
+     * Creates the reward of a recipe
+     *
+     * @param size size of the recipe
+     * @param moves number of moves the truck gets
+     * @param turns number of turns the truck gets
+     * @param throwable whether the truck gets to throw food
+     */
+    public Reward(int size, int moves, int turns, boolean throwable) {
+        this.size = size;
+        this.moves = moves;
+        this.turns = turns;
+        this.throwNum = throwable ? 1 : 0;
+    }
+
+    /**
+     * Returns the size of the recipe
+     *
+     * @return the number of ingredients of the recipe
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of moves the truck gets
+     *
+     * @return the number of moves
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Returns the number of turns the truck gets
+     *
+     * @return the number of turns
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Returns the number of throws the truck gets
+     *
+     * @return 1 if the truck gets to throw food, 0 otherwise
+     */
+    public int getThrowNum() {
+        return throwNum;
+    }
+
+    /**
+     * Returns whether the truck gets to throw food
+     *
+     * @return true if the reward includes a throw
+     */
+    public boolean isThrowable() {
+        return throwNum > 0;
+    }
+}
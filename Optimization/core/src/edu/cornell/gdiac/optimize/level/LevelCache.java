@@ -0,0 +1,257 @@
+package edu.cornell.gdiac.optimize.level;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Vector2;
+import edu.cornell.gdiac.optimize.map.Board;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decoded levels and prebuilt boards, filled ahead of time by a background thread.
+ *
+ * Decoded level data never changes, so it is kept for the whole run and shared by every
+ * game of a level. A board is changed by the game that plays on it, so a prebuilt board
+ * is handed out once and then dropped; the next prefetch builds a fresh one.
+ *
+ * Prefetching is a hint: asking for a level that is not cached, or whose board is still
+ * being built, loads or waits for it on the calling thread.
+ *
+ * Prebuilt boards are colored when they are taken, on the calling thread. The tile colors
+ * come from the shared RandomController, so they then do not depend on the order or timing
+ * in which the background thread built boards.
+ */
+public class LevelCache {
+    /** Directory of the level files */
+    public static final String LEVEL_DIR = "levels/";
+
+    /** Decoded level of every level file path asked for so far */
+    private final ConcurrentHashMap<String, Future<LevelData>> levels;
+    /** Board prebuilt for each level file path, not handed out yet */
+    private final ConcurrentHashMap<String, BoardTemplate> boards;
+    /** Thread that decodes levels and builds boards */
+    private final ExecutorService loader;
+
+    /** A board prebuilt for a given canvas size */
+    private static class BoardTemplate {
+        /** Width of the canvas the board is laid out for */
+        final float width;
+        /** Height of the canvas the board is laid out for */
+        final float height;
+        /** The board, once built */
+        final Future<Board> board;
+
+        BoardTemplate(float width, float height, Future<Board> board) {
+            this.width = width;
+            this.height = height;
+            this.board = board;
+        }
+    }
+
+    /**
+     * Creates an empty cache with its background thread
+     */
+    public LevelCache() {
+        levels = new ConcurrentHashMap<>();
+        boards = new ConcurrentHashMap<>();
+        loader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "level-prefetch");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Returns the file path of a level
+     *
+     * @param levelNum the level number
+     *
+     * @return the path of its level file
+     */
+    public static String getPath(int levelNum) {
+        return LEVEL_DIR + levelNum + LevelFormat.JSON_EXTENSION;
+    }
+
+    /**
+     * Returns the decoded data of a level, decoding it now if it was never prefetched
+     *
+     * @param path file path of the level
+     *
+     * @return the decoded level
+     */
+    public LevelData getLevel(String path) {
+        Future<LevelData> level = levels.get(path);
+        if (level == null || level.isCancelled()) {
+            FutureTask<LevelData> task = decodeTask(path);
+            if (level == null ? levels.putIfAbsent(path, task) == null : levels.replace(path, level, task)) {
+                task.run();
+            }
+            level = levels.get(path);
+        }
+        return get(level);
+    }
+
+    /**
+     * Hands out the board prebuilt for a level, if there is one
+     *
+     * The board is removed from the cache, since the game will change it. Its tiles are
+     * colored now, on the calling thread.
+     *
+     * @param path file path of the level
+     * @param width width of the canvas
+     * @param height height of the canvas
+     *
+     * @return the board, or null if none was prebuilt for this canvas size
+     */
+    public Board takeBoard(String path, float width, float height) {
+        BoardTemplate template = boards.remove(path);
+        if (template == null || template.width != width || template.height != height) {
+            return null;
+        }
+        Board board = get(template.board);
+        if (board != null) {
+            board.colorTiles();
+        }
+        return board;
+    }
+
+    /**
+     * Decodes a level and builds a board for it in the background
+     *
+     * Does nothing if the level file does not exist or a board is already waiting.
+     *
+     * @param path file path of the level
+     * @param width width of the canvas
+     * @param height height of the canvas
+     */
+    public void prefetch(final String path, final float width, final float height) {
+        if (loader.isShutdown() || boards.containsKey(path) || !Gdx.files.internal(path).exists()) {
+            return;
+        }
+        FutureTask<LevelData> task = decodeTask(path);
+        if (levels.putIfAbsent(path, task) == null) {
+            loader.execute(task);
+        }
+        Future<Board> board = loader.submit(new Callable<Board>() {
+            @Override
+            public Board call() {
+                return buildBoard(getLevel(path), width, height, false);
+            }
+        });
+        boards.put(path, new BoardTemplate(width, height, board));
+    }
+
+    /**
+     * Prefetches a level and its neighbors
+     *
+     * The level itself is included so that a retry finds a fresh board.
+     *
+     * @param levelNum the level being played
+     * @param width width of the canvas
+     * @param height height of the canvas
+     */
+    public void prefetchAround(int levelNum, float width, float height) {
+        prefetch(getPath(levelNum + 1), width, height);
+        prefetch(getPath(levelNum), width, height);
+        if (levelNum > 1) {
+            prefetch(getPath(levelNum - 1), width, height);
+        }
+    }
+
+    /**
+     * Builds the board of a level, laid out as GameplayController lays it out
+     *
+     * @param level the decoded level
+     * @param width width of the canvas
+     * @param height height of the canvas
+     *
+     * @return the board, or null if the level has no board
+     */
+    public static Board buildBoard(LevelData level, float width, float height) {
+        return buildBoard(level, width, height, true);
+    }
+
+    /**
+     * Builds the board of a level, laid out as GameplayController lays it out
+     *
+     * @param level the decoded level
+     * @param width width of the canvas
+     * @param height height of the canvas
+     * @param colored whether to color the tiles now, which must happen on the main thread
+     *
+     * @return the board, or null if the level has no board
+     */
+    private static Board buildBoard(LevelData level, float width, float height, boolean colored) {
+        if (!level.hasBoard()) {
+            return null;
+        }
+        Vector2 exit = new Vector2(level.getExitQ(), level.getExitR());
+        return new Board(level.getBoardQ(), level.getBoardR(), width, height * 3 / 10f, exit, colored);
+    }
+
+    /**
+     * Stops the background thread. Levels can still be loaded on the calling thread.
+     */
+    public void dispose() {
+        for (Runnable pending : loader.shutdownNow()) {
+            ((Future<?>) pending).cancel(false);
+        }
+        boards.clear();
+    }
+
+    /**
+     * Creates the task that decodes a level
+     *
+     * @param path file path of the level
+     *
+     * @return the task, not started
+     */
+    private static FutureTask<LevelData> decodeTask(final String path) {
+        return new FutureTask<>(new Callable<LevelData>() {
+            @Override
+            public LevelData call() {
+                return LevelFormat.load(Gdx.files.internal(path));
+            }
+        });
+    }
+
+    /**
+     * Waits for a background result
+     *
+     * @param future the result
+     *
+     * @return the value of the result
+     */
+    private static <T> T get(Future<T> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package edu.cornell.gdiac.optimize.level;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+/**
+ * Decoded contents of a level file.
+ *
+ * Positions are kept as int coordinates, so building the level again on a restart only
+ * reads arrays. Start coordinates are array coordinates; every other position is in board
+ * coordinates, as in the level files. A level without a board (a kitchen-only level) has a
+ * board size of 0 and no objects.
+ *
+ * The kitchen section is kept as JSON text and only parsed the first time it is asked for.
+ * Level data never changes once created, so it can be shared by every game of the level.
+ */
+public class LevelData {
+    /** Number of columns of the board */
+    final int boardQ;
+    /** Number of rows of the board */
+    final int boardR;
+    /** Seconds on the world timer */
+    final int worldTimeLimit;
+    /** Array x coordinate of the start tile */
+    final int startX;
+    /** Array y coordinate of the start tile */
+    final int startY;
+    /** Board q coordinate of the exit */
+    final int exitQ;
+    /** Board r coordinate of the exit */
+    final int exitR;
+    /** Board q coordinate of every obstacle */
+    final int[] obstacleQ;
+    /** Board r coordinate of every obstacle */
+    final int[] obstacleR;
+    /** Texture name of every obstacle, as in the level file */
+    final String[] obstacleTextures;
+    /** Cool time of every enemy */
+    final int[] enemyCoolTime;
+    /** Board q coordinate of the start of every enemy */
+    final int[] enemyQ;
+    /** Board r coordinate of the start of every enemy */
+    final int[] enemyR;
+    /** Patrol path of every enemy, as (q, r) pairs */
+    final int[][] enemyPaths;
+    /** Board q coordinate of every key */
+    final int[] keyQ;
+    /** Board r coordinate of every key */
+    final int[] keyR;
+    /** Kitchen section of the level, as JSON text */
+    final String kitchenJson;
+
+    /** Kitchen section, once parsed */
+    private JsonValue kitchen;
+
+    /**
+     * Creates level data from its decoded parts
+     *
+     * Arrays are kept, not copied; they must not change afterwards.
+     */
+    LevelData(int boardQ, int boardR, int worldTimeLimit, int startX, int startY, int exitQ, int exitR,
+              int[] obstacleQ, int[] obstacleR, String[] obstacleTextures,
+              int[] enemyCoolTime, int[] enemyQ, int[] enemyR, int[][] enemyPaths,
+              int[] keyQ, int[] keyR, String kitchenJson) {
+        this.boardQ = boardQ;
+        this.boardR = boardR;
+        this.worldTimeLimit = worldTimeLimit;
+        this.startX = startX;
+        this.startY = startY;
+        this.exitQ = exitQ;
+        this.exitR = exitR;
+        this.obstacleQ = obstacleQ;
+        this.obstacleR = obstacleR;
+        this.obstacleTextures = obstacleTextures;
+        this.enemyCoolTime = enemyCoolTime;
+        this.enemyQ = enemyQ;
+        this.enemyR = enemyR;
+        this.enemyPaths = enemyPaths;
+        this.keyQ = keyQ;
+        this.keyR = keyR;
+        this.kitchenJson = kitchenJson;
+    }
+
+    public int getBoardQ() {return boardQ;}
+
+    public int getBoardR() {return boardR;}
+
+    public boolean hasBoard() {return boardQ != 0;}
+
+    public int getWorldTimeLimit() {return worldTimeLimit;}
+
+    public int getStartX() {return startX;}
+
+    public int getStartY() {return startY;}
+
+    public int getExitQ() {return exitQ;}
+
+    public int getExitR() {return exitR;}
+
+    public int getNumObstacles() {return obstacleQ.length;}
+
+    public int getObstacleQ(int i) {return obstacleQ[i];}
+
+    public int getObstacleR(int i) {return obstacleR[i];}
+
+    public String getObstacleTexture(int i) {return obstacleTextures[i];}
+
+    public int getNumEnemies() {return enemyQ.length;}
+
+    public int getEnemyCoolTime(int i) {return enemyCoolTime[i];}
+
+    public int getEnemyQ(int i) {return enemyQ[i];}
+
+    public int getEnemyR(int i) {return enemyR[i];}
+
+    /**
+     * Returns the number of steps of the patrol path of an enemy
+     *
+     * @param i index of the enemy
+     *
+     * @return the number of (q, r) steps
+     */
+    public int getEnemyPathLength(int i) {return enemyPaths[i].length / 2;}
+
+    public int getEnemyPathQ(int i, int step) {return enemyPaths[i][2*step];}
+
+    public int getEnemyPathR(int i, int step) {return enemyPaths[i][2*step+1];}
+
+    public int getNumKeys() {return keyQ.length;}
+
+    public int getKeyQ(int i) {return keyQ[i];}
+
+    public int getKeyR(int i) {return keyR[i];}
+
+    /**
+     * Returns the kitchen section of the level, parsing it on the first call
+     *
+     * @return the kitchen section, with its ingredients and recipes
+     */
+    public synchronized JsonValue getKitchen() {
+        if (kitchen == null) {
+            kitchen = new JsonReader().parse(kitchenJson);
+        }
+        return kitchen;
+    }
+}
@@ -0,0 +1,408 @@
+package edu.cornell.gdiac.optimize.level;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+/**
+ * Binary level format, and the converter from the JSON level files.
+ *
+ * A binary level (.lvl) is a big-endian record: a header, the board, the objects with
+ * their positions as shorts, and the kitchen section as UTF-8 JSON text. It decodes in one
+ * pass with no string parsing, straight from a memory-mapped file where the platform
+ * allows it. The JSON files stay the source of truth; the .lvl files are generated from
+ * them and record the length and CRC-32 of the JSON they came from. A .lvl file is read in
+ * preference only while it matches its JSON file, so editing a level without converting it
+ * again falls back to the JSON.
+ *
+ * <pre>
+ * int    magic, short version
+ * int    source length, int source crc
+ * short  boardQ, boardR; int worldTimeLimit
+ * short  startX, startY, exitQ, exitR
+ * short  n; n x (short q, short r, string texture)           obstacles
+ * short  n; n x (int coolTime, short q, short r,
+ *               short m, m x (short q, short r))             enemies
+ * short  n; n x (short q, short r)                           keys
+ * string kitchen
+ * </pre>
+ *
+ * Strings are an int byte length followed by UTF-8 bytes.
+ */
+public class LevelFormat {
+    /** Marks a binary level file ("NTLV") */
+    public static final int MAGIC = 0x4E544C56;
+    /** Version of the format */
+    public static final short VERSION = 2;
+    /** Extension of the JSON level files */
+    public static final String JSON_EXTENSION = ".json";
+    /** Extension of the binary level files */
+    public static final String BINARY_EXTENSION = ".lvl";
+
+    /** Encoding of the strings */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private LevelFormat() {}
+
+    // ============================ Loading ===========================
+
+    /**
+     * Loads a level, preferring the binary file next to the JSON file
+     *
+     * The binary file is only used if it was generated from the current JSON file.
+     *
+     * @param json handle of the JSON level file
+     *
+     * @return the decoded level
+     */
+    public static LevelData load(FileHandle json) {
+        FileHandle binary = json.sibling(json.nameWithoutExtension() + BINARY_EXTENSION);
+        if (!json.exists() && binary.exists()) {
+            return decode(read(binary));
+        }
+        byte[] source = json.readBytes();
+        if (binary.exists()) {
+            ByteBuffer in = read(binary);
+            if (isGeneratedFrom(in, source)) {
+                return decode(in);
+            }
+        }
+        return fromJson(new JsonReader().parse(new String(source, UTF8)));
+    }
+
+    /**
+     * Returns whether a binary level is in the current format and was generated from the
+     * given JSON file
+     *
+     * This reads the header without moving the position of the buffer.
+     *
+     * @param in the binary level, from its current position
+     * @param source contents of the JSON level file
+     *
+     * @return whether the binary level matches the JSON file
+     */
+    public static boolean isGeneratedFrom(ByteBuffer in, byte[] source) {
+        int start = in.position();
+        if (in.remaining() < 14 || in.getInt(start) != MAGIC || in.getShort(start + 4) != VERSION) {
+            return false;
+        }
+        return in.getInt(start + 6) == source.length && in.getInt(start + 10) == checksum(source);
+    }
+
+    /**
+     * Returns the CRC-32 of a JSON level file, as stored in the binary header
+     *
+     * @param source contents of the JSON level file
+     *
+     * @return the checksum
+     */
+    private static int checksum(byte[] source) {
+        CRC32 crc = new CRC32();
+        crc.update(source, 0, source.length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads a binary file, memory-mapping it when it is a plain file
+     *
+     * @param handle the file
+     *
+     * @return the contents of the file
+     */
+    private static ByteBuffer read(FileHandle handle) {
+        if (handle.type() != Files.FileType.Classpath && handle.file().isFile()) {
+            try {
+                RandomAccessFile raf = new RandomAccessFile(handle.file(), "r");
+                try {
+                    FileChannel channel = raf.getChannel();
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                } finally {
+                    raf.close();
+                }
+            } catch (IOException e) {
+                // Fall back to reading through the handle
+            }
+        }
+        return ByteBuffer.wrap(handle.readBytes());
+    }
+
+    // ============================ JSON ===========================
+
+    /**
+     * Decodes a parsed JSON level
+     *
+     * @param level the parsed level file
+     *
+     * @return the decoded level
+     */
+    public static LevelData fromJson(JsonValue level) {
+        int boardQ = level.getInt("boardQ");
+        int boardR = level.getInt("boardR");
+        int worldTimeLimit = level.getInt("worldTimeLimit");
+        int[] start = new int[2];
+        int[] exit = new int[2];
+        if (boardQ != 0) {
+            parsePosition(level.getString("startPos"), start, 0);
+            parsePosition(level.getString("exitTilePos"), exit, 0);
+        }
+
+        JsonValue objects = level.get("objects");
+        JsonValue obstacles = objects.get("obstacles");
+        int[] obstacleQ = new int[obstacles.size];
+        int[] obstacleR = new int[obstacles.size];
+        String[] obstacleTextures = new String[obstacles.size];
+        int[] pos = new int[2];
+        int i = 0;
+        for (JsonValue o : obstacles) {
+            parsePosition(o.getString("position"), pos, 0);
+            obstacleQ[i] = pos[0];
+            obstacleR[i] = pos[1];
+            obstacleTextures[i] = o.getString("texture");
+            i++;
+        }
+
+        JsonValue enemies = objects.get("enemies");
+        int[] enemyCoolTime = new int[enemies.size];
+        int[] enemyQ = new int[enemies.size];
+        int[] enemyR = new int[enemies.size];
+        int[][] enemyPaths = new int[enemies.size][];
+        i = 0;
+        for (JsonValue e : enemies) {
+            enemyCoolTime[i] = e.getInt("coolTime");
+            parsePosition(e.getString("startPosition"), pos, 0);
+            enemyQ[i] = pos[0];
+            enemyR[i] = pos[1];
+            JsonValue path = e.get("path");
+            enemyPaths[i] = new int[2*path.size];
+            int step = 0;
+            for (JsonValue p : path) {
+                parsePosition(p.asString(), enemyPaths[i], 2*step);
+                step++;
+            }
+            i++;
+        }
+
+        JsonValue keys = objects.get("keys");
+        int[] keyQ = new int[keys.size];
+        int[] keyR = new int[keys.size];
+        i = 0;
+        for (JsonValue k : keys) {
+            parsePosition(k.asString(), pos, 0);
+            keyQ[i] = pos[0];
+            keyR[i] = pos[1];
+            i++;
+        }
+
+        String kitchen = level.get("kitchen").toJson(JsonWriter.OutputType.json);
+        return new LevelData(boardQ, boardR, worldTimeLimit, start[0], start[1], exit[0], exit[1],
+                obstacleQ, obstacleR, obstacleTextures, enemyCoolTime, enemyQ, enemyR, enemyPaths,
+                keyQ, keyR, kitchen);
+    }
+
+    /**
+     * Parses a position written as "(q,r)" into two ints
+     *
+     * @param s position string
+     * @param out array to write the coordinates to
+     * @param offset index of the first coordinate in out
+     */
+    private static void parsePosition(String s, int[] out, int offset) {
+        String[] parts = s.substring(1, s.length() - 1).split(",");
+        out[offset] = (int) Float.parseFloat(parts[0].trim());
+        out[offset + 1] = (int) Float.parseFloat(parts[1].trim());
+    }
+
+    // ============================ Binary ===========================
+
+    /**
+     * Encodes a level in the binary format
+     *
+     * @param level the level
+     * @param source contents of the JSON file the level was decoded from
+     *
+     * @return the binary level
+     */
+    public static byte[] encode(LevelData level, byte[] source) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(source.length);
+            out.writeInt(checksum(source));
+            out.writeShort(level.boardQ);
+            out.writeShort(level.boardR);
+            out.writeInt(level.worldTimeLimit);
+            out.writeShort(level.startX);
+            out.writeShort(level.startY);
+            out.writeShort(level.exitQ);
+            out.writeShort(level.exitR);
+
+            out.writeShort(level.obstacleQ.length);
+            for (int i = 0; i < level.obstacleQ.length; i++) {
+                out.writeShort(level.obstacleQ[i]);
+                out.writeShort(level.obstacleR[i]);
+                writeString(out, level.obstacleTextures[i]);
+            }
+            out.writeShort(level.enemyQ.length);
+            for (int i = 0; i < level.enemyQ.length; i++) {
+                out.writeInt(level.enemyCoolTime[i]);
+                out.writeShort(level.enemyQ[i]);
+                out.writeShort(level.enemyR[i]);
+                int[] path = level.enemyPaths[i];
+                out.writeShort(path.length / 2);
+                for (int v : path) {
+                    out.writeShort(v);
+                }
+            }
+            out.writeShort(level.keyQ.length);
+            for (int i = 0; i < level.keyQ.length; i++) {
+                out.writeShort(level.keyQ[i]);
+                out.writeShort(level.keyR[i]);
+            }
+            writeString(out, level.kitchenJson);
+            out.flush();
+        } catch (IOException e) {
+            // A byte array stream does not throw
+            throw new GdxRuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a binary level
+     *
+     * @param in the binary level, read from its current position
+     *
+     * @return the decoded level
+     */
+    public static LevelData decode(ByteBuffer in) {
+        if (in.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a binary level file");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported binary level version " + version);
+        }
+        // Length and checksum of the source JSON, see isGeneratedFrom
+        in.getInt();
+        in.getInt();
+        int boardQ = in.getShort();
+        int boardR = in.getShort();
+        int worldTimeLimit = in.getInt();
+        int startX = in.getShort();
+        int startY = in.getShort();
+        int exitQ = in.getShort();
+        int exitR = in.getShort();
+
+        int n = in.getShort();
+        int[] obstacleQ = new int[n];
+        int[] obstacleR = new int[n];
+        String[] obstacleTextures = new String[n];
+        for (int i = 0; i < n; i++) {
+            obstacleQ[i] = in.getShort();
+            obstacleR[i] = in.getShort();
+            obstacleTextures[i] = readString(in);
+        }
+        n = in.getShort();
+        int[] enemyCoolTime = new int[n];
+        int[] enemyQ = new int[n];
+        int[] enemyR = new int[n];
+        int[][] enemyPaths = new int[n][];
+        for (int i = 0; i < n; i++) {
+            enemyCoolTime[i] = in.getInt();
+            enemyQ[i] = in.getShort();
+            enemyR[i] = in.getShort();
+            int[] path = new int[2*in.getShort()];
+            for (int j = 0; j < path.length; j++) {
+                path[j] = in.getShort();
+            }
+            enemyPaths[i] = path;
+        }
+        n = in.getShort();
+        int[] keyQ = new int[n];
+        int[] keyR = new int[n];
+        for (int i = 0; i < n; i++) {
+            keyQ[i] = in.getShort();
+            keyR[i] = in.getShort();
+        }
+        String kitchen = readString(in);
+        return new LevelData(boardQ, boardR, worldTimeLimit, startX, startY, exitQ, exitR,
+                obstacleQ, obstacleR, obstacleTextures, enemyCoolTime, enemyQ, enemyR, enemyPaths,
+                keyQ, keyR, kitchen);
+    }
+
+    /**
+     * Writes a string as its byte length and UTF-8 bytes
+     *
+     * @param out the stream
+     * @param s the string
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(UTF8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by writeString
+     *
+     * @param in the buffer
+     *
+     * @return the string
+     */
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, UTF8);
+    }
+
+    // ============================ Converter ===========================
+
+    /**
+     * Converts every JSON level file of a directory to a binary level file next to it
+     *
+     * @param args an optional directory of level files, levels by default
+     */
+    public static void main(String[] args) throws IOException {
+        File dir = new File(args.length > 0 ? args[0] : "levels");
+        File[] files = dir.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File d, String name) {
+                return name.endsWith(JSON_EXTENSION);
+            }
+        });
+        if (files == null) {
+            System.err.println("No level directory " + dir);
+            System.exit(1);
+            return;
+        }
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        for (File file : files) {
+            byte[] source = new FileHandle(file).readBytes();
+            byte[] binary = encode(fromJson(new JsonReader().parse(new String(source, UTF8))), source);
+            String name = file.getName();
+            File target = new File(dir, name.substring(0, name.length() - JSON_EXTENSION.length()) + BINARY_EXTENSION);
+            new FileHandle(target).writeBytes(binary, false);
+            jsonBytes += file.length();
+            binaryBytes += binary.length;
+        }
+        System.out.println("Converted " + files.length + " levels, " + jsonBytes + " bytes of JSON to "
+                + binaryBytes + " bytes");
+    }
+}
@@ -0,0 +1,202 @@
+package edu.cornell.gdiac.optimize.map;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A* path search over the tiles of a board, guided by the hex distance between tiles.
+ *
+ * Every step costs one, and the hex distance never overestimates the remaining steps, so
+ * the paths are as short as the ones found by {@link PathFinder}. The open set is a binary
+ * heap over tile indices. Ties on the estimated total are broken in favor of the tile
+ * farthest from the start, then in favor of the tile that was reached first, so a search
+ * always returns the same path for the same board.
+ *
+ * Like {@link PathFinder}, all search state is allocated once per board.
+ */
+public class AStarPathFinder implements PathStrategy {
+    /** Marks a tile without a parent (the start of the search) */
+    private static final int NO_PARENT = -1;
+
+    /** The board to search */
+    private Board board;
+    /** Parent index of every tile reached in the current search */
+    private int[] parent;
+    /** Steps from the start to every tile reached in the current search */
+    private int[] cost;
+    /** Estimated total path length through every tile reached in the current search */
+    private int[] estimate;
+    /** Order in which the tiles were first reached, for tie-breaking */
+    private int[] order;
+    /** Search generation that last reached each tile */
+    private int[] reached;
+    /** Search generation that last closed each tile */
+    private int[] closed;
+    /** Binary heap of open tile indices */
+    private int[] heap;
+    /** Position of every open tile in the heap */
+    private int[] heapPos;
+    /** Number of tiles in the heap */
+    private int heapSize;
+    /** Current search generation */
+    private int generation;
+    /** Number of tiles expanded by the last search */
+    private int expanded;
+    /** Reusable output buffer for the path */
+    private Array<HexTile> path;
+
+    /**
+     * Creates an A* path finder for the given board
+     *
+     * @param board the board to search
+     */
+    public AStarPathFinder(Board board) {
+        this.board = board;
+        int size = board.getNumTiles();
+        parent = new int[size];
+        cost = new int[size];
+        estimate = new int[size];
+        order = new int[size];
+        reached = new int[size];
+        closed = new int[size];
+        heap = new int[size];
+        heapPos = new int[size];
+        path = new Array<>(size);
+    }
+
+    @Override
+    public Array<HexTile> findPath(HexTile start, HexTile end, int enemyRule) {
+        path.clear();
+        expanded = 0;
+        heapSize = 0;
+        generation++;
+        int goal = board.getTileIndex(end);
+        int origin = board.getTileIndex(start);
+        int count = 0;
+
+        reached[origin] = generation;
+        parent[origin] = NO_PARENT;
+        cost[origin] = 0;
+        estimate[origin] = Board.hexDistance(start, end);
+        order[origin] = count++;
+        push(origin);
+
+        while (heapSize > 0){
+            int node = pop();
+            closed[node] = generation;
+            expanded++;
+            if (node == goal){
+                for (int n = node; n != NO_PARENT; n = parent[n]){
+                    path.add(board.getTile(n));
+                }
+                path.reverse();
+                return path;
+            }
+            boolean blockEnemies = enemyRule == PathFinder.ENEMIES_BLOCK || (enemyRule == PathFinder.ENEMIES_BLOCK_FIRST_STEP && node == origin);
+            int nextCost = cost[node] + 1;
+            for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+                int next = board.getNeighborIndex(node, dir);
+                if (next < 0 || closed[next] == generation){
+                    continue;
+                }
+                HexTile t = board.getTile(next);
+                if (t.isObstacle() || (blockEnemies && t.hasEnemy())){
+                    continue;
+                }
+                if (reached[next] != generation){
+                    reached[next] = generation;
+                    parent[next] = node;
+                    cost[next] = nextCost;
+                    estimate[next] = nextCost + Board.hexDistance(t, end);
+                    order[next] = count++;
+                    push(next);
+                } else if (nextCost < cost[next]){
+                    parent[next] = node;
+                    estimate[next] -= cost[next] - nextCost;
+                    cost[next] = nextCost;
+                    siftUp(heapPos[next]);
+                }
+            }
+        }
+        return path;
+    }
+
+    @Override
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Returns true if tile a should leave the open set before tile b
+     *
+     * @param a first tile index
+     * @param b second tile index
+     *
+     * @return true if a comes before b
+     */
+    private boolean before(int a, int b) {
+        if (estimate[a] != estimate[b]){
+            return estimate[a] < estimate[b];
+        }
+        if (cost[a] != cost[b]){
+            return cost[a] > cost[b];
+        }
+        return order[a] < order[b];
+    }
+
+    /** Adds a tile index to the heap */
+    private void push(int node) {
+        heap[heapSize] = node;
+        heapPos[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    /** Removes and returns the first tile index in the heap */
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0){
+            heap[0] = heap[heapSize];
+            heapPos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /** Moves the heap entry at i up to its place */
+    private void siftUp(int i) {
+        int node = heap[i];
+        while (i > 0){
+            int up = (i - 1) / 2;
+            if (!before(node, heap[up])){
+                break;
+            }
+            heap[i] = heap[up];
+            heapPos[heap[i]] = i;
+            i = up;
+        }
+        heap[i] = node;
+        heapPos[node] = i;
+    }
+
+    /** Moves the heap entry at i down to its place */
+    private void siftDown(int i) {
+        int node = heap[i];
+        while (true){
+            int child = 2*i + 1;
+            if (child >= heapSize){
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])){
+                child++;
+            }
+            if (!before(heap[child], node)){
+                break;
+            }
+            heap[i] = heap[child];
+            heapPos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = node;
+        heapPos[node] = i;
+    }
+}
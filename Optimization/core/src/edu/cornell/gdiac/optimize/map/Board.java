@@ -6,7 +6,7 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Queue;
+import com.badlogic.gdx.utils.IntArray;
 import edu.cornell.gdiac.optimize.GameCanvas;
 import edu.cornell.gdiac.optimize.GameObject;
 import edu.cornell.gdiac.optimize.controller.RandomController;
@@ -14,7 +14,6 @@ import edu.cornell.gdiac.optimize.entity.Enemy;
 import edu.cornell.gdiac.optimize.kitchen.Food;
 import edu.cornell.gdiac.optimize.playmode.GameMode;
 
-import java.util.HashMap;
 import java.util.Random;
 
 public class Board {
@@ -28,6 +27,14 @@ public class Board {
     private Array<Vector2> foodTiles;
     /** Constants to find neighbors of a tile*/
     private final int[][] neighbors = {{1,0},{0,1},{-1,0},{0,-1},{1,-1},{-1,1}};
+    /** Number of neighbor directions of a tile */
+    public static final int NUM_DIRECTIONS = 6;
+    /** Path mode using breadth-first search */
+    public static final int PATH_BFS = 0;
+    /** Path mode using A* search guided by the hex distance */
+    public static final int PATH_ASTAR = 1;
+    /** Number of source tiles whose distance fields dst2Tile keeps */
+    private static final int NUM_CACHED_SOURCES = 4;
     /** Selected (red) tiles*/
     private Array<HexTile> selectedPath;
     /** Array to store the gameboard*/
@@ -46,6 +53,54 @@ public class Board {
     private TextureRegion statusBkgMiddle;
     /** Middle portion of the status forground (colored region) */
     private TextureRegion statusFrgMiddle;
+    /** Neighbor tile indices, NUM_DIRECTIONS slots per tile (-1 for none) */
+    private int[] adjacency;
+    /** Reusable path search over this board */
+    private PathFinder pathFinder;
+    /** Path searches by mode (PATH_BFS or PATH_ASTAR) */
+    private PathStrategy[] pathStrategies;
+    /** Path search used by findBestPath and findBestPathEnemyFree */
+    private PathStrategy pathStrategy;
+    /** Current search generation; tiles stamped with it count as visited */
+    private int visitGeneration = 1;
+    /** Distances from every tile to the player */
+    private DistanceField playerDistances;
+    /** Distance fields of the most recent dst2Tile sources */
+    private DistanceField[] sourceDistances;
+    /** Slot in sourceDistances to reuse for the next new source */
+    private int nextSourceSlot;
+    /** Number of obstacles on the board */
+    private int numObstacles;
+    /** Incremented whenever an obstacle is added or removed */
+    private int obstacleVersion;
+    /** Incremented whenever food is placed on or removed from a tile */
+    private int foodVersion;
+    /** Incremented whenever an enemy enters or leaves a tile */
+    private int enemyVersion;
+    /** Tiles that hold enemies */
+    private EnemyIndex enemyIndex;
+    /** Indices of the tiles currently highlighted */
+    private IntArray highlighted;
+    /** Indices of the tiles highlighted by the last flood fill */
+    private IntArray highlightCache;
+    /** Steps from the throw origin in the last flood fill (valid for tiles in highlightQueue) */
+    private int[] highlightDist;
+    /** Tiles reached by the last flood fill, in order */
+    private int[] highlightQueue;
+    /** Whether a tile is highlighted by the flood fill in progress */
+    private boolean[] highlightMarks;
+    /** Throw origin of the cached highlight, or -1 if there is none */
+    private int highlightOrigin = -1;
+    /** Throw radius of the cached highlight */
+    private int highlightRadius;
+    /** Obstacle version of the cached highlight */
+    private int highlightObstacleVersion;
+    /** Enemy version of the cached highlight */
+    private int highlightEnemyVersion;
+    /** Food version of the cached highlight */
+    private int highlightFoodVersion;
+    /** Tiles in drawing order, back (top of the screen) to front */
+    private HexTile[] drawOrder;
 
     /**
      * Creates a new hexagonal tile board of the given size with exit position e
@@ -57,6 +112,24 @@ public class Board {
      * @param e exit position
      */
     public Board(int nCols, int nRows, float regionWidth, float regionHeight, Vector2 e) {
+        this(nCols, nRows, regionWidth, regionHeight, e, true);
+    }
+
+    /**
+     * Creates a new hexagonal tile board of the given size with exit position e
+     *
+     * The tile colors are drawn from the shared RandomController. A board built on another
+     * thread should leave them out and call colorTiles() on the main thread, so that the
+     * colors do not depend on what else that thread built first.
+     *
+     * @param nCols number of columns
+     * @param nRows number of rows
+     * @param regionWidth width of region to fill
+     * @param regionHeight height of region to fill
+     * @param e exit position
+     * @param colored whether to color the tiles now
+     */
+    public Board(int nCols, int nRows, float regionWidth, float regionHeight, Vector2 e, boolean colored) {
         if (nCols % 0.5 != 0 || nRows % 0.5 != 0){
             Gdx.app.error("GameBoard","Invalid number of rows / columns", new IllegalArgumentException());
         }
@@ -84,15 +157,16 @@ public class Board {
             xOffset = (regionWidth-tileWidth*nCols*0.75f - tileWidth/4f)/2f;
             yOffset = regionHeight*(10/3f*8/18f) + tileHeight/2f;
         }
-        int tileColor;
         for (int i = 0; i < nCols; i++){
             for (int j = 0; j < nRows; j++){
-                tileColor = RandomController.rollInt(0, 100) % 3;
-                gameBoard[i][j] = new HexTile(i, j - (int) Math.floor(i/2), tileWidth, tileHeight, xOffset, yOffset, tileColor);
+                gameBoard[i][j] = new HexTile(i, j - (int) Math.floor(i/2), tileWidth, tileHeight, xOffset, yOffset, 0);
             }
         }
         numCols = nCols;
         numRows = nRows;
+        if (colored) {
+            colorTiles();
+        }
         width = regionWidth;
         height = regionHeight;
         selectedPath = new Array<>();
@@ -100,6 +174,99 @@ public class Board {
         foodTiles = new Array<>();
         Vector2 exitArrayCoord = boardToArray((int) e.x, (int) e.y);
         gameBoard[(int) exitArrayCoord.x][(int) exitArrayCoord.y].setIsExit(true);
+        buildAdjacency();
+        buildDrawOrder();
+        pathFinder = new PathFinder(this);
+        pathStrategies = new PathStrategy[] {pathFinder, new AStarPathFinder(this)};
+        pathStrategy = pathFinder;
+        playerDistances = new DistanceField(this);
+        enemyIndex = new EnemyIndex(this);
+        highlighted = new IntArray();
+        highlightCache = new IntArray();
+        highlightDist = new int[getNumTiles()];
+        highlightQueue = new int[getNumTiles()];
+        highlightMarks = new boolean[getNumTiles()];
+        sourceDistances = new DistanceField[NUM_CACHED_SOURCES];
+        for (int i = 0; i < NUM_CACHED_SOURCES; i++){
+            sourceDistances[i] = new DistanceField(this);
+        }
+    }
+
+    /**
+     * Gives every tile a random plain color from the shared RandomController
+     *
+     * Must be called on the main thread, since that generator is shared by the whole game.
+     */
+    public void colorTiles() {
+        for (int i = 0; i < numCols; i++){
+            for (int j = 0; j < numRows; j++){
+                gameBoard[i][j].setColorIndex(RandomController.rollInt(0, 100) % 3);
+            }
+        }
+    }
+
+    /**
+     * Fills the adjacency table with the neighbor indices of every tile.
+     *
+     * The table only depends on the board shape. Obstacles do not change it, since each
+     * search applies its own rule for which tiles can be entered.
+     */
+    private void buildAdjacency() {
+        adjacency = new int[numCols*numRows*NUM_DIRECTIONS];
+        for (int q = 0; q < numCols; q++){
+            for (int y = 0; y < numRows; y++){
+                int r = y - (int) Math.floor(q/2);
+                int base = (q*numRows + y)*NUM_DIRECTIONS;
+                for (int dir = 0; dir < NUM_DIRECTIONS; dir++){
+                    int ox = q + neighbors[dir][0];
+                    int oy = r + neighbors[dir][1] + (int) Math.floor(ox/2);
+                    if (ox >= 0 && ox < numCols && oy >= 0 && oy < numRows){
+                        adjacency[base + dir] = ox*numRows + oy;
+                    } else {
+                        adjacency[base + dir] = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the tiles into drawing order, from the highest on the screen to the lowest.
+     *
+     * Tile positions are fixed once the board is laid out, so this runs once. A tile's
+     * height on the screen only depends on its half-row: its row, plus half a tile for odd
+     * columns. A counting sort over half-rows therefore orders the tiles in linear time,
+     * keeping tiles of the same half-row in column order.
+     */
+    private void buildDrawOrder() {
+        int numKeys = 2*numRows;
+        int[] starts = new int[numKeys + 1];
+        for (int q = 0; q < numCols; q++){
+            for (int y = 0; y < numRows; y++){
+                starts[drawKey(q, y) + 1]++;
+            }
+        }
+        for (int k = 0; k < numKeys; k++){
+            starts[k + 1] += starts[k];
+        }
+        drawOrder = new HexTile[getNumTiles()];
+        for (int q = 0; q < numCols; q++){
+            for (int y = 0; y < numRows; y++){
+                drawOrder[starts[drawKey(q, y)]++] = gameBoard[q][y];
+            }
+        }
+    }
+
+    /**
+     * Returns the drawing rank of the tile at array coordinates (q, y); lower ranks are drawn first
+     *
+     * @param q array column of the tile
+     * @param y array row of the tile
+     *
+     * @return the rank, between 0 and 2*numRows-1
+     */
+    private int drawKey(int q, int y) {
+        return 2*(numRows - 1 - y) + 1 - (q & 1);
     }
 
     /**
@@ -120,24 +287,26 @@ public class Board {
      * @return Array of size 0..6 containing all adjacent tiles.
      */
     public Array<HexTile> getNeighbors(int q, int r){
-        int x = q;
-        int y = r - (int) Math.floor(q/2);
-        Array<HexTile> result = new Array<>();
-        for (int[] offsets : neighbors){
-            int oq = q + offsets[0];
-            int or = r + offsets[1];
-            int ox = oq;
-            int oy = or + (int) Math.floor(oq/2);
-            if (ox >= 0
-                    && ox < gameBoard.length
-                    && oy >= 0
-                    && oy < gameBoard[0].length){
-                if (gameBoard[ox][oy] != null){
-                    result.add(gameBoard[ox][oy]);
-                }
+        Array<HexTile> result = new Array<>(NUM_DIRECTIONS);
+        getNeighbors(q*numRows + r + (int) Math.floor(q/2), result);
+        return result;
+    }
+
+    /**
+     * Fills out with all neighbors adjacent to the tile with the given index, without allocating.
+     *
+     * @param index tile index
+     * @param out array to fill; it is cleared first
+     */
+    public void getNeighbors(int index, Array<HexTile> out){
+        out.clear();
+        int base = index*NUM_DIRECTIONS;
+        for (int dir = 0; dir < NUM_DIRECTIONS; dir++){
+            int next = adjacency[base + dir];
+            if (next >= 0){
+                out.add(getTile(next));
             }
         }
-        return result;
     }
 
     public void setProgressTextures(TextureRegion bkg, TextureRegion frg) {
@@ -156,6 +325,16 @@ public class Board {
         return getNeighbors(t.getQ(), t.getR());
     }
 
+    /**
+     * Fills out with all neighbors adjacent to the tile t, without allocating.
+     *
+     * @param t tile
+     * @param out array to fill; it is cleared first
+     */
+    public void getNeighbors(HexTile t, Array<HexTile> out){
+        getNeighbors(getTileIndex(t), out);
+    }
+
     /**
      * Returns the number of tiles horizontally across the board.
      *
@@ -188,6 +367,65 @@ public class Board {
         return gameBoard[c][r];
     }
 
+    /**
+     * Returns the number of tiles on the board.
+     *
+     * @return the number of tiles on the board.
+     */
+    public int getNumTiles() {
+        return numCols*numRows;
+    }
+
+    /**
+     * Returns the index of tile t. Tile indices run from 0 to getNumTiles() - 1, column by column.
+     *
+     * @param t tile
+     *
+     * @return the index of tile t
+     */
+    public int getTileIndex(HexTile t) {
+        return t.getQ()*numRows + t.getR() + (int) Math.floor(t.getQ()/2);
+    }
+
+    /**
+     * Returns the index of the tile at array coordinate (x,y)
+     *
+     * @param x x array coordinate
+     * @param y y array coordinate
+     *
+     * @return the index of the tile at (x,y)
+     */
+    public int getTileIndexArrayCoord(int x, int y) {
+        return x*numRows + y;
+    }
+
+    /**
+     * Returns the tile with the given index
+     *
+     * @param index tile index
+     *
+     * @return the tile with the given index
+     */
+    public HexTile getTile(int index) {
+        return gameBoard[index / numRows][index % numRows];
+    }
+
+    /**
+     * Returns the index of the neighbor of a tile in the given direction, without allocating.
+     *
+     * Iterating dir over 0 .. NUM_DIRECTIONS - 1 visits every neighbor of the tile.
+     *
+     * Directions follow the order of {@link #getNeighbors(int, int)}.
+     *
+     * @param index tile index
+     * @param dir direction, from 0 to NUM_DIRECTIONS - 1
+     *
+     * @return the index of the neighbor, or -1 if it is off the board
+     */
+    public int getNeighborIndex(int index, int dir) {
+        return adjacency[index*NUM_DIRECTIONS + dir];
+    }
+
 
     /** Method to get tile width */
     public float getTileWidth(){
@@ -232,6 +470,22 @@ public class Board {
                 }
             }
         }
+        // Obstacle textures decide whether throws can pass over an obstacle
+        obstacleVersion++;
+    }
+
+    /**
+     * Sets the texture of a single tile
+     *
+     * An obstacle without a texture is a hole that throws cannot pass over.
+     *
+     * @param tile the tile
+     * @param texture the texture, or null for none
+     */
+    public void setTileTexture(HexTile tile, Texture texture){
+        tile.setTexture(texture);
+        // Obstacle textures decide whether throws can pass over an obstacle
+        obstacleVersion++;
     }
 
     /**
@@ -262,7 +516,7 @@ public class Board {
         // not player tile
         if (playerTile.x != selectTile.getQ() || playerTile.y != selectTile.getR()) {
             if (!selectTile.getIsExit()) {
-                selectTile.setObstacle(true);
+                setTileObstacle(selectTile, true);
             }
         }
     }
@@ -275,14 +529,27 @@ public class Board {
      * @param playerTile the tile on which the player is
      */
     public void setObstacle(int q, int r, Vector2 playerTile, Texture t) {
-        Vector2 arrayCoord = boardToArray(q, r);
-        HexTile selectTile = getTileArrayCoord((int) arrayCoord.x, (int) arrayCoord.y);
-        selectTile.setObstacle(true);
+        HexTile selectTile = setObstacle(q, r);
         if (t == null){
-            selectTile.setTexture(null);
+            setTileTexture(selectTile, null);
         }
     }
 
+    /**
+     * Creates an obstacle on the tile at board coordinates (q, r), keeping its texture
+     *
+     * @param q board coordinate q
+     * @param r board coordinate r
+     *
+     * @return the obstacle tile
+     */
+    public HexTile setObstacle(int q, int r) {
+        Vector2 arrayCoord = boardToArray(q, r);
+        HexTile selectTile = getTileArrayCoord((int) arrayCoord.x, (int) arrayCoord.y);
+        setTileObstacle(selectTile, true);
+        return selectTile;
+    }
+
     /**
      * Helper function for findNearestTile
      */
@@ -381,128 +648,212 @@ public class Board {
     }
     // #EndRegion
 
-    /** Marks all tiles as unvisited for next update loop */
+    /**
+     * Marks all tiles as unvisited for next update loop
+     *
+     * This only starts a new search generation, so it takes constant time. The stamps are
+     * swept only in the (practically unreachable) case that the generation counter wraps.
+     */
     public void clearVisited(){
-        for (HexTile[] col : gameBoard){
-            for (HexTile tile : col){
-                if (tile != null){
-                    tile.setVisited(false);
+        if (visitGeneration == Integer.MAX_VALUE){
+            for (HexTile[] col : gameBoard){
+                for (HexTile tile : col){
+                    tile.setVisitStamp(0);
                 }
             }
+            visitGeneration = 0;
         }
+        visitGeneration++;
     }
 
     /**
-     * Returns the best path between tiles start and end
+     * Marks tile t as visited in the current search
+     *
+     * @param t tile
+     */
+    public void setVisited(HexTile t){
+        t.setVisitStamp(visitGeneration);
+    }
+
+    /**
+     * Returns whether tile t is visited in the current search
+     *
+     * @param t tile
+     *
+     * @return true if t is marked as visited since the last call to clearVisited
+     */
+    public boolean isVisited(HexTile t){
+        return t.getVisitStamp() == visitGeneration;
+    }
+
+    /**
+     * Selects the search used by findBestPath and findBestPathEnemyFree
+     *
+     * @param mode PATH_BFS or PATH_ASTAR
+     */
+    public void setPathMode(int mode){
+        if (mode < 0 || mode >= pathStrategies.length){
+            Gdx.app.error("GameBoard","Invalid path mode " + mode, new IllegalArgumentException());
+            return;
+        }
+        pathStrategy = pathStrategies[mode];
+    }
+
+    /**
+     * Returns the search used by findBestPath and findBestPathEnemyFree
+     *
+     * @return the current path search
+     */
+    public PathStrategy getPathStrategy(){
+        return pathStrategy;
+    }
+
+    /**
+     * Returns the best path between tiles start and end using the current path mode
+     *
+     * The returned array is reused by the next search on this board.
      *
      * @param start start tile
      * @param end end tile
      *
      * @return the array of tiles on the shortest path from start to end
      */
-    public Array<HexTile> findBestPathBFS(HexTile start, HexTile end){
-        Queue<Array<HexTile>> potentialPaths = new Queue<>();
+    public Array<HexTile> findBestPath(HexTile start, HexTile end){
         clearVisited();
+        return pathStrategy.findPath(start, end, PathFinder.ENEMIES_IGNORED);
+    }
 
-        start.setVisited(true);
-
-        Array<HexTile> path = new Array<>();
-        path.add(start);
-        potentialPaths.addLast(path);
+    /**
+     * Returns the best path between tiles start and end enemy free adjacent to start, using the
+     * current path mode
+     *
+     * The returned array is reused by the next search on this board.
+     *
+     * @param start start tile
+     * @param end end tile
+     *
+     * @return the array of tiles on the shortest path from start to end
+     */
+    public Array<HexTile> findBestPathEnemyFree(HexTile start, HexTile end){
+        clearVisited();
+        return pathStrategy.findPath(start, end, PathFinder.ENEMIES_BLOCK_FIRST_STEP);
+    }
 
-        while (!potentialPaths.isEmpty()){
-            path = potentialPaths.removeFirst();
-            HexTile node = path.peek();
-            if (node.equals(end)){
-                return path;
-            }
-            for (HexTile t : getNeighbors(node.getQ(), node.getR())){
-                if (!t.isVisited() && !t.isObstacle()){
-                    t.setVisited(true);
-                    Array<HexTile> newPath = new Array<HexTile>(path);
-                    newPath.add(t);
-                    potentialPaths.addLast(newPath);
-                }
-            }
-        }
-        return new Array<>();
+    /**
+     * Returns the best path between tiles start and end
+     *
+     * The returned array is reused by the next search on this board.
+     *
+     * @param start start tile
+     * @param end end tile
+     *
+     * @return the array of tiles on the shortest path from start to end
+     */
+    public Array<HexTile> findBestPathBFS(HexTile start, HexTile end){
+        clearVisited();
+        return pathFinder.findPath(start, end, PathFinder.ENEMIES_IGNORED);
     }
 
 
     /**
      * Returns the best path between tiles start and end enemy free adjacent to target
      *
+     * The returned array is reused by the next search on this board.
+     *
      * @param start start tile
      * @param end end tile
      *
      * @return the array of tiles on the shortest path from start to end
      */
     public Array<HexTile> findBestPathBFSEnemyFree(HexTile start, HexTile end){
-        Queue<Array<HexTile>> potentialPaths = new Queue<>();
         clearVisited();
-
-        int idx = 0;
-
-        start.setVisited(true);
-
-        Array<HexTile> path = new Array<>();
-        path.add(start);
-        potentialPaths.addLast(path);
-
-        while (!potentialPaths.isEmpty()){
-            path = potentialPaths.removeFirst();
-            HexTile node = path.peek();
-            if (node == end){
-                return path;
-            }
-            for (HexTile t : getNeighbors(node.getQ(), node.getR())){
-                if (!t.isVisited() && !t.isObstacle() && (!t.hasEnemy() || idx > 0)){
-                    t.setVisited(true);
-                    Array<HexTile> newPath = new Array<HexTile>(path);
-                    newPath.add(t);
-                    potentialPaths.addLast(newPath);
-                }
-            }
-            idx++;
-        }
-        return new Array<>();
+        return pathFinder.findPath(start, end, PathFinder.ENEMIES_BLOCK_FIRST_STEP);
     }
 
     /**
      * Returns the best path between tiles start and end enemy free adjacent to target
      *
+     * Unlike the other searches this does not clear the visited tiles first. The returned
+     * array is reused by the next search on this board.
+     *
      * @param start start tile
      * @param end end tile
      *
      * @return the array of tiles on the shortest path from start to end
      */
     public Array<HexTile> BFSPath(HexTile start, HexTile end){
-        Queue<Array<HexTile>> potentialPaths = new Queue<>();
+        return pathFinder.findPath(start, end, PathFinder.ENEMIES_BLOCK);
+    }
 
-//        int idx = 0;
+    /**
+     * Returns the distances from every tile to the player tile
+     *
+     * The field is only searched again when the player has moved or the obstacles or food
+     * on the board have changed since the last call.
+     *
+     * @param playerTile the tile on which the player is
+     *
+     * @return the distance field towards the player
+     */
+    public DistanceField getPlayerDistances(HexTile playerTile){
+        playerDistances.update(playerTile);
+        return playerDistances;
+    }
 
-        start.setVisited(true);
+    /**
+     * Returns the number of times obstacles were added to or removed from the board
+     *
+     * @return the obstacle version of the board
+     */
+    public int getObstacleVersion(){
+        return obstacleVersion;
+    }
 
-        Array<HexTile> path = new Array<>();
-        path.add(start);
-        potentialPaths.addLast(path);
+    /**
+     * Returns the number of times food was placed on or removed from the board
+     *
+     * @return the food version of the board
+     */
+    public int getFoodVersion(){
+        return foodVersion;
+    }
 
-        while (!potentialPaths.isEmpty()){
-            path = potentialPaths.removeFirst();
-            HexTile node = path.peek();
-            if (node == end){
-                return path;
-            }
-            for (HexTile t : getNeighbors(node.getQ(), node.getR())){
-                if (!t.isVisited() && !t.isObstacle() && !t.hasEnemy()){
-                    t.setVisited(true);
-                    Array<HexTile> newPath = new Array<HexTile>(path);
-                    newPath.add(t);
-                    potentialPaths.addLast(newPath);
-                }
-            }
+    /**
+     * Returns the number of times an enemy entered or left a tile on the board
+     *
+     * @return the enemy version of the board
+     */
+    public int getEnemyVersion(){
+        return enemyVersion;
+    }
+
+    /**
+     * Moves enemy e from tile from to tile to
+     *
+     * @param e the enemy
+     * @param from the tile the enemy leaves
+     * @param to the tile the enemy enters
+     */
+    public void moveEnemy(Enemy e, HexTile from, HexTile to){
+        if (from.removeEnemies(e)){
+            enemyIndex.remove(getTileIndex(from));
         }
-        return new Array<>();
+        to.addEnemy(e);
+        enemyIndex.add(getTileIndex(to));
+        enemyVersion++;
+    }
+
+    /**
+     * Fills out with the indices of the tiles within dst steps of tile center that hold enemies
+     *
+     * Distances ignore obstacles. The center tile is included if it holds an enemy.
+     *
+     * @param center center tile
+     * @param dst radius in tiles
+     * @param out array to fill; it is cleared first
+     */
+    public void findEnemyTiles(HexTile center, int dst, IntArray out){
+        enemyIndex.query(center, dst, out);
     }
 
     /**
@@ -514,11 +865,13 @@ public class Board {
      * @return the array of tiles that are adjacent to tile on (x,y)
      */
     public Array<Vector2> adjTiles(int x, int y) {
-        Array<Vector2> result = new Array<>();
-        HexTile tile = gameBoard[x][y];
-        Array<HexTile> adjTiles = getNeighbors(tile.getQ(),tile.getR());
-        for (HexTile target : adjTiles){
-            result.add(boardToArray(target.getQ(),target.getR()));
+        Array<Vector2> result = new Array<>(NUM_DIRECTIONS);
+        int index = getTileIndexArrayCoord(x, y);
+        for (int dir = 0; dir < NUM_DIRECTIONS; dir++){
+            int next = getNeighborIndex(index, dir);
+            if (next >= 0){
+                result.add(new Vector2(next / numRows, next % numRows));
+            }
         }
         return result;
     }
@@ -532,10 +885,10 @@ public class Board {
      * @return true iff first and second are adjacent
      */
     public boolean isAdjacent(Vector2 a, Vector2 b){
-        Vector2 boardACoord = arrayToBoard((int) a.x, (int) a.y);
-        Array<HexTile> neighborsA = getNeighbors((int) boardACoord.x, (int) boardACoord.y);
-        for (HexTile t : neighborsA){
-            if (t.equals(gameBoard[(int) b.x][(int) b.y])){
+        int indexA = getTileIndexArrayCoord((int) a.x, (int) a.y);
+        int indexB = getTileIndexArrayCoord((int) b.x, (int) b.y);
+        for (int dir = 0; dir < NUM_DIRECTIONS; dir++){
+            if (getNeighborIndex(indexA, dir) == indexB){
                 return true;
             }
         }
@@ -584,17 +937,37 @@ public class Board {
         for (HexTile[] hexRow : gameBoard){
             for (HexTile hex : hexRow){
                 if (hex.isObstacle()){
-                    hex.setObstacle(false);
+                    setTileObstacle(hex, false);
                 }
             }
         }
     }
 
+    /**
+     * Changes the obstacle state of a tile and repairs the distance fields of the board
+     *
+     * @param tile the tile to change
+     * @param obstacle whether the tile becomes an obstacle
+     */
+    void setTileObstacle(HexTile tile, boolean obstacle){
+        if (tile.isObstacle() == obstacle){
+            return;
+        }
+        tile.setObstacle(obstacle);
+        numObstacles += obstacle ? 1 : -1;
+        obstacleVersion++;
+        playerDistances.obstacleChanged(tile);
+        for (DistanceField field : sourceDistances){
+            field.obstacleChanged(tile);
+        }
+    }
+
     /** Adds food to array index in aCoord */
     public void addFood(Vector2 aCoord, GameObject recipe){
         HexTile tile = gameBoard[(int) aCoord.x][(int) aCoord.y];
         tile.setFood((Food) recipe);
         foodTiles.add(aCoord);
+        foodVersion++;
     }
 
     /** Removes all enemies */
@@ -605,10 +978,14 @@ public class Board {
                 gameBoard[j][i].setHasFood(false);
                 gameBoard[j][i].setFood(null);
                 gameBoard[j][i].setOnPath(false);
-                gameBoard[j][i].setVisited(false);
                 gameBoard[j][i].setIsHighlighted(false);
             }
         }
+        highlighted.clear();
+        enemyIndex.clear();
+        clearVisited();
+        foodVersion++;
+        enemyVersion++;
     }
 
     /** Removes all elements from the board */
@@ -621,11 +998,10 @@ public class Board {
 
     /** Unmarks all tiles */
     public void unhighlightTiles(){
-        for (int i = 0; i < numRows; i++){
-            for (int j = 0; j < numCols; j++){
-                gameBoard[j][i].setIsHighlighted(false);
-            }
+        for (int i = 0; i < highlighted.size; i++){
+            getTile(highlighted.get(i)).setIsHighlighted(false);
         }
+        highlighted.clear();
     }
 
 
@@ -658,42 +1034,12 @@ public class Board {
     /**
      * Draws the board to the canvas
      *
-     * There is only one drawing pass in this application, so you can draw the objects
-     * in any order.
+     * Tiles are drawn back to front, in the order computed when the board was built.
      *
      * @param canvas The drawing context
      */
     public void draw(GameCanvas canvas) {
-        Array<HexTile> tilesArranged = new Array<>();
-        for (HexTile[] col : gameBoard) {
-            for (HexTile tile : col) {
-                if (tile != null) {
-                    if (tilesArranged.size == 0) {
-                        tilesArranged.add(tile);
-                    } else {
-                        boolean containsTile = false;
-                        int idx = 0;
-                        while (!containsTile && idx < tilesArranged.size){
-                            if (tile.getY() > tilesArranged.get(idx).getY()){
-                                tilesArranged.insert(idx,tile);
-                                containsTile = true;
-                            }
-                            idx++;
-                        }
-//                        for(int i = 0; i<tilesArranged.size; i++) {
-//                            if (!containsTile && tile.getY() >= tilesArranged.get(i).getY()) {
-//                                tilesArranged.insert(i,tile);
-//                                containsTile = true;
-//                            }
-//                        }
-                        if (!containsTile) {
-                            tilesArranged.add(tile);
-                        }
-                    }
-                }
-            }
-        }
-        for (HexTile tile : tilesArranged) {
+        for (HexTile tile : drawOrder) {
             tile.draw(canvas);
             if(tile.hasFood()) {
                 drawProgressBar(canvas,tile);
@@ -708,91 +1054,141 @@ public class Board {
      * @param dst throw radius
      */
     public void highlightTiles(Vector2 a, int dst){
-        Queue<Vector2> queue = new Queue<>();
-        HashMap<Vector2, Boolean> visited = new HashMap<>();
-        HashMap<Vector2, Integer> distanceKeeper = new HashMap<>();
-        distanceKeeper.put(a,0);
-        queue.addLast(a);
-        while (!queue.isEmpty()){
-            Vector2 node = queue.removeFirst();
-            if (!visited.containsKey(node)){
-                if (dst > distanceKeeper.get(node) && node.x < numCols && node.y < numRows) {
-                    HexTile target = gameBoard[(int) node.x][(int) node.y];
-                    if (!target.isObstacle() && !target.hasEnemy() && !target.hasFood() && node != a){
-                        target.setIsHighlighted(true);
-                    }
-                    for (Vector2 tile : adjTiles((int) node.x, (int) node.y)) {
-                        HexTile neiTile = gameBoard[(int) tile.x][(int) tile.y];
-                        if (!neiTile.isObstacle() || neiTile.getTexture() == null){
-                            queue.addLast(tile);
-                            if (!distanceKeeper.containsKey(tile) || distanceKeeper.get(tile) > distanceKeeper.get(node) + 1){
-                                distanceKeeper.put(tile,distanceKeeper.get(node) + 1);
-                            }
-                        }
-                    }
-                } else if (dst == distanceKeeper.get(node)){
-                    HexTile target = gameBoard[(int) node.x][(int) node.y];
-                    if (!target.isObstacle() && !target.hasEnemy() && !target.hasFood()){
-                        target.setIsHighlighted(true);
-                    }
+        int origin = getTileIndexArrayCoord((int) a.x, (int) a.y);
+        if (origin != highlightOrigin || dst != highlightRadius || obstacleVersion != highlightObstacleVersion
+                || enemyVersion != highlightEnemyVersion || foodVersion != highlightFoodVersion){
+            floodHighlight(origin, dst);
+            highlightOrigin = origin;
+            highlightRadius = dst;
+            highlightObstacleVersion = obstacleVersion;
+            highlightEnemyVersion = enemyVersion;
+            highlightFoodVersion = foodVersion;
+        }
+        for (int i = 0; i < highlightCache.size; i++){
+            int index = highlightCache.get(i);
+            HexTile tile = getTile(index);
+            if (!tile.getIsHighlighted()){
+                tile.setIsHighlighted(true);
+                highlighted.add(index);
+            }
+        }
+    }
+
+    /**
+     * Fills highlightCache with the tiles within throw radius of the origin
+     *
+     * Throws pass over enemies, food and obstacles without a texture. A tile is highlighted
+     * if it is free and within dst steps, unless a textured obstacle lies between it and the
+     * origin on one of the six straight lines out of the origin.
+     *
+     * @param origin index of the tile of the truck
+     * @param dst throw radius
+     */
+    private void floodHighlight(int origin, int dst){
+        int head = 0;
+        int tail = 0;
+        highlightDist[origin] = 0;
+        highlightMarks[origin] = true;
+        highlightQueue[tail++] = origin;
+        while (head < tail){
+            int node = highlightQueue[head++];
+            if (highlightDist[node] == dst){
+                continue;
+            }
+            for (int dir = 0; dir < NUM_DIRECTIONS; dir++){
+                int next = getNeighborIndex(node, dir);
+                if (next < 0 || highlightMarks[next]){
+                    continue;
+                }
+                HexTile tile = getTile(next);
+                if (!tile.isObstacle() || tile.getTexture() == null){
+                    highlightDist[next] = highlightDist[node] + 1;
+                    highlightMarks[next] = true;
+                    highlightQueue[tail++] = next;
                 }
-                visited.put(node, true);
             }
         }
-        int[] temp = {0,1,1,0,-1,-1};
-        Vector2 pos;
-        for (int i = 0; i < 6; i++){
-            pos = a;
-            int yOff;
-            boolean isEven;
-            int d = 0;
+
+        // Keep the free tiles; the origin itself only counts for a radius of 0
+        for (int i = 0; i < tail; i++){
+            int index = highlightQueue[i];
+            HexTile tile = getTile(index);
+            highlightMarks[index] = !tile.isObstacle() && !tile.hasEnemy() && !tile.hasFood() && (index != origin || dst == 0);
+        }
+
+        // Textured obstacles hide the tiles behind them on the straight lines out of the origin
+        for (int dir = 0; dir < NUM_DIRECTIONS; dir++){
             boolean hasObstacle = false;
-            while (pos.x >= 0 && pos.y >= 0 && pos.x < numCols && pos.y < numRows && d <= dst){
-                if (gameBoard[(int) pos.x][(int) pos.y].isObstacle() && gameBoard[(int) pos.x][(int) pos.y].getTexture() != null ){
+            int index = origin;
+            for (int d = 0; d <= dst && index >= 0; d++){
+                HexTile tile = getTile(index);
+                if (tile.isObstacle() && tile.getTexture() != null){
                     hasObstacle = true;
-                    gameBoard[(int) pos.x][(int) pos.y].setIsHighlighted(false);
-                } else {
-                    if (hasObstacle){
-                        gameBoard[(int) pos.x][(int) pos.y].setIsHighlighted(false);
-                    }
                 }
-                isEven = pos.x%2 == 0;
-                switch (i) {
-                    case 0:
-                        yOff = 1;
-                        break;
-                    case 1:
-                        yOff = isEven ? 0 : 1;
-                        break;
-                    case 2:
-                        yOff = isEven ? -1 : 0;
-                        break;
-                    case 3:
-                        yOff = -1;
-                        break;
-                    case 4:
-                        yOff = isEven ? -1 : 0;
-                        break;
-                    default:
-                        yOff = isEven ? 0 : 1;
-                        break;
+                if (hasObstacle){
+                    highlightMarks[index] = false;
                 }
-                pos = new Vector2(temp[i] + pos.x, yOff + pos.y);
-                d++;
+                index = getNeighborIndex(index, dir);
+            }
+        }
+
+        highlightCache.clear();
+        for (int i = 0; i < tail; i++){
+            int index = highlightQueue[i];
+            if (highlightMarks[index]){
+                highlightCache.add(index);
+                highlightMarks[index] = false;
             }
         }
     }
 
 
+    /**
+     * Returns the number of steps between two tiles on a board without obstacles
+     *
+     * @param a first tile
+     * @param b second tile
+     *
+     * @return the hex distance between a and b
+     */
+    public static int hexDistance(HexTile a, HexTile b){
+        int dq = a.getQ() - b.getQ();
+        int dr = a.getR() - b.getR();
+        return (Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) / 2;
+    }
+
     /**
      * Returns the distance between two tiles
      *
+     * Without obstacles this is the hex distance. Otherwise it is read from a distance field
+     * of the first tile; the fields of the last few first tiles are kept and are only searched
+     * again once the obstacles or food on the board change.
+     *
      * @param a array coordinate of first tile
      * @param b array coordinate of second tile
+     *
+     * @return the number of steps from a to b, or -1 if b cannot be reached
      */
     public int dst2Tile(Vector2 a, Vector2 b){
-        Array<HexTile> path = findBestPathBFS(gameBoard[(int) a.x][(int) a.y],gameBoard[(int) b.x][(int) b.y]);
-        return path.size - 1;
+        HexTile start = gameBoard[(int) a.x][(int) a.y];
+        HexTile end = gameBoard[(int) b.x][(int) b.y];
+        if (numObstacles == 0){
+            return hexDistance(start, end);
+        }
+        int source = getTileIndex(start);
+        DistanceField field = null;
+        for (DistanceField f : sourceDistances){
+            if (f.getTargetIndex() == source){
+                field = f;
+                break;
+            }
+        }
+        if (field == null){
+            field = sourceDistances[nextSourceSlot];
+            nextSourceSlot = (nextSourceSlot + 1) % NUM_CACHED_SOURCES;
+        }
+        field.update(start);
+        return field.getDistance(end);
     }
 
     /**
@@ -803,6 +1199,7 @@ public class Board {
             Vector2 food = foodTiles.get(i);
             if (gameBoard[(int) food.x][(int) food.y].update()){
                 foodTiles.removeValue(food, false);
+                foodVersion++;
             }
         }
     }
@@ -0,0 +1,286 @@
+package edu.cornell.gdiac.optimize.map;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first distance field towards a single target tile.
+ *
+ * One search outward from the target gives, for every tile, the number of steps to the
+ * target and the next tile to step on. Any number of chasers can then read their next move
+ * in constant time. Obstacles block the search; enemies do not, which matches
+ * {@link Board#findBestPathBFS}.
+ *
+ * The field remembers the target and the board versions it was built from, so
+ * {@link #update} only searches again after the target moves or the obstacles or food on the
+ * board change. A single obstacle edit reported through {@link #obstacleChanged} is repaired
+ * in place instead: only the tiles whose distance depends on the edited tile are searched
+ * again, in the spirit of the Ramalingam-Reps dynamic shortest path algorithm.
+ */
+public class DistanceField {
+    /** Distance of a tile that cannot reach the target */
+    public static final int UNREACHABLE = -1;
+
+    /** The board to search */
+    private Board board;
+    /** Steps from every tile to the target */
+    private int[] distance;
+    /** Index of the next tile towards the target, or -1 */
+    private int[] nextHop;
+    /** Queue of tile indices waiting to be expanded */
+    private int[] frontier;
+    /** Second queue used while repairing the field */
+    private int[] repairQueue;
+    /** Repair seeds packed as (distance << 32 | tile index), sorted by distance */
+    private long[] seeds;
+    /** Whether a tile lost its shortest path in the current repair */
+    private boolean[] affected;
+    /** Index of the target the field was built for, or -1 if it was never built */
+    private int target;
+    /** Obstacle version of the board when the field was built */
+    private int obstacleVersion;
+    /** Food version of the board when the field was built */
+    private int foodVersion;
+
+    /**
+     * Creates an empty distance field for the given board
+     *
+     * @param board the board to search
+     */
+    public DistanceField(Board board) {
+        this.board = board;
+        int size = board.getNumTiles();
+        distance = new int[size];
+        nextHop = new int[size];
+        frontier = new int[size];
+        repairQueue = new int[size];
+        seeds = new long[size];
+        affected = new boolean[size];
+        target = -1;
+    }
+
+    /**
+     * Makes the field point towards tile t, searching again only if needed
+     *
+     * @param t target tile
+     *
+     * @return true if the field was rebuilt
+     */
+    public boolean update(HexTile t) {
+        int index = board.getTileIndex(t);
+        if (index == target && obstacleVersion == board.getObstacleVersion()
+                && foodVersion == board.getFoodVersion()){
+            return false;
+        }
+        build(index);
+        return true;
+    }
+
+    /**
+     * Returns the index of the tile the field was last built for
+     *
+     * @return the index of the target tile, or -1 if the field is not built
+     */
+    public int getTargetIndex() {
+        return target;
+    }
+
+    /** Forces the next call to update to search again */
+    public void invalidate() {
+        target = -1;
+    }
+
+    /**
+     * Repairs the field after tile t became an obstacle or stopped being one
+     *
+     * The board must report every obstacle edit right after bumping its obstacle version.
+     * If the field is already out of date, it is left for the next call to update to rebuild.
+     *
+     * @param t the tile whose obstacle state changed
+     */
+    public void obstacleChanged(HexTile t) {
+        if (target < 0 || obstacleVersion != board.getObstacleVersion() - 1){
+            return;
+        }
+        obstacleVersion = board.getObstacleVersion();
+        int index = board.getTileIndex(t);
+        if (index == target){
+            invalidate();
+        } else if (t.isObstacle()){
+            repairBlocked(index);
+        } else {
+            repairOpened(index);
+        }
+    }
+
+    /**
+     * Returns the number of steps from tile t to the target
+     *
+     * @param t tile
+     *
+     * @return the number of steps to the target, or UNREACHABLE
+     */
+    public int getDistance(HexTile t) {
+        return distance[board.getTileIndex(t)];
+    }
+
+    /**
+     * Returns the tile to step on when moving from tile t towards the target
+     *
+     * @param t tile
+     *
+     * @return the next tile towards the target, or null if t is the target or cannot reach it
+     */
+    public HexTile getNextHop(HexTile t) {
+        int next = nextHop[board.getTileIndex(t)];
+        return next < 0 ? null : board.getTile(next);
+    }
+
+    /**
+     * Repairs the field after the tile with the given index became an obstacle
+     *
+     * Distances can only grow, and only for the tiles whose next-hop chain runs through the
+     * blocked tile. Those tiles are reset and seeded from their unaffected neighbors, then
+     * the seeds are expanded in order of distance.
+     *
+     * @param blocked index of the new obstacle
+     */
+    private void repairBlocked(int blocked) {
+        if (distance[blocked] == UNREACHABLE){
+            return;
+        }
+        // Collect the subtree of the blocked tile; a tile's children are among its neighbors
+        int count = 0;
+        affected[blocked] = true;
+        frontier[count++] = blocked;
+        for (int i = 0; i < count; i++){
+            int node = frontier[i];
+            for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+                int next = board.getNeighborIndex(node, dir);
+                if (next >= 0 && !affected[next] && nextHop[next] == node){
+                    affected[next] = true;
+                    frontier[count++] = next;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++){
+            distance[frontier[i]] = UNREACHABLE;
+            nextHop[frontier[i]] = -1;
+        }
+
+        // Seed every affected tile from its best unaffected neighbor
+        int numSeeds = 0;
+        for (int i = 1; i < count; i++){
+            int node = frontier[i];
+            for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+                int next = board.getNeighborIndex(node, dir);
+                if (next >= 0 && !affected[next] && distance[next] != UNREACHABLE
+                        && (distance[node] == UNREACHABLE || distance[next] + 1 < distance[node])){
+                    distance[node] = distance[next] + 1;
+                    nextHop[node] = next;
+                }
+            }
+            if (distance[node] != UNREACHABLE){
+                seeds[numSeeds++] = ((long) distance[node] << 32) | node;
+            }
+        }
+        Arrays.sort(seeds, 0, numSeeds);
+
+        // Expand the seeds and the tiles they improve in order of distance
+        int seed = 0;
+        int head = 0;
+        int tail = 0;
+        while (seed < numSeeds || head < tail){
+            int node;
+            if (head < tail && (seed == numSeeds || distance[repairQueue[head]] <= (int) (seeds[seed] >>> 32))){
+                node = repairQueue[head++];
+            } else {
+                node = (int) seeds[seed];
+                if (distance[node] != (int) (seeds[seed++] >>> 32)){
+                    continue;
+                }
+            }
+            for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+                int next = board.getNeighborIndex(node, dir);
+                if (next >= 0 && next != blocked && affected[next]
+                        && (distance[next] == UNREACHABLE || distance[node] + 1 < distance[next])){
+                    distance[next] = distance[node] + 1;
+                    nextHop[next] = node;
+                    repairQueue[tail++] = next;
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++){
+            affected[frontier[i]] = false;
+        }
+    }
+
+    /**
+     * Repairs the field after the obstacle on the tile with the given index was removed
+     *
+     * Distances can only shrink, so a search outward from the opened tile that only follows
+     * improvements is enough.
+     *
+     * @param opened index of the tile that is no longer an obstacle
+     */
+    private void repairOpened(int opened) {
+        for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+            int next = board.getNeighborIndex(opened, dir);
+            if (next >= 0 && distance[next] != UNREACHABLE
+                    && (distance[opened] == UNREACHABLE || distance[next] + 1 < distance[opened])){
+                distance[opened] = distance[next] + 1;
+                nextHop[opened] = next;
+            }
+        }
+        if (distance[opened] == UNREACHABLE){
+            return;
+        }
+
+        int head = 0;
+        int tail = 0;
+        frontier[tail++] = opened;
+        while (head < tail){
+            int node = frontier[head++];
+            for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+                int next = board.getNeighborIndex(node, dir);
+                if (next >= 0 && !board.getTile(next).isObstacle()
+                        && (distance[next] == UNREACHABLE || distance[node] + 1 < distance[next])){
+                    distance[next] = distance[node] + 1;
+                    nextHop[next] = node;
+                    frontier[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the breadth-first search outward from the tile with the given index
+     *
+     * @param origin index of the target tile
+     */
+    private void build(int origin) {
+        for (int i = 0; i < distance.length; i++){
+            distance[i] = UNREACHABLE;
+            nextHop[i] = -1;
+        }
+        target = origin;
+        obstacleVersion = board.getObstacleVersion();
+        foodVersion = board.getFoodVersion();
+
+        int head = 0;
+        int tail = 0;
+        distance[origin] = 0;
+        frontier[tail++] = origin;
+        while (head < tail){
+            int node = frontier[head++];
+            for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+                int next = board.getNeighborIndex(node, dir);
+                if (next >= 0 && distance[next] == UNREACHABLE && !board.getTile(next).isObstacle()){
+                    distance[next] = distance[node] + 1;
+                    nextHop[next] = node;
+                    frontier[tail++] = next;
+                }
+            }
+        }
+    }
+}
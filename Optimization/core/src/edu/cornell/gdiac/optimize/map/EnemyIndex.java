@@ -0,0 +1,124 @@
+package edu.cornell.gdiac.optimize.map;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Spatial index of the tiles of a board that hold enemies.
+ *
+ * The index keeps an enemy count per tile and a compact list of the occupied tiles, both
+ * updated in constant time as enemies enter and leave tiles. A radius query either walks
+ * the hex range around the center or scans the occupied tiles, whichever is smaller, so
+ * its cost does not grow with the size of the board.
+ */
+public class EnemyIndex {
+    /** The board to index */
+    private Board board;
+    /** Number of enemies on every tile */
+    private int[] counts;
+    /** Position of every occupied tile in the occupied list */
+    private int[] slots;
+    /** Indices of the tiles with at least one enemy */
+    private IntArray occupied;
+
+    /**
+     * Creates an empty enemy index for the given board
+     *
+     * @param board the board to index
+     */
+    public EnemyIndex(Board board) {
+        this.board = board;
+        counts = new int[board.getNumTiles()];
+        slots = new int[board.getNumTiles()];
+        occupied = new IntArray();
+    }
+
+    /**
+     * Records an enemy entering the tile with the given index
+     *
+     * @param index tile index
+     */
+    public void add(int index) {
+        if (counts[index]++ == 0){
+            slots[index] = occupied.size;
+            occupied.add(index);
+        }
+    }
+
+    /**
+     * Records an enemy leaving the tile with the given index
+     *
+     * @param index tile index
+     */
+    public void remove(int index) {
+        if (counts[index] == 0){
+            return;
+        }
+        if (--counts[index] == 0){
+            int last = occupied.pop();
+            if (last != index){
+                occupied.set(slots[index], last);
+                slots[last] = slots[index];
+            }
+        }
+    }
+
+    /** Removes all enemies from the index */
+    public void clear() {
+        for (int i = 0; i < occupied.size; i++){
+            counts[occupied.get(i)] = 0;
+        }
+        occupied.clear();
+    }
+
+    /**
+     * Returns the number of enemies on the tile with the given index
+     *
+     * @param index tile index
+     *
+     * @return the number of enemies on the tile
+     */
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Fills out with the indices of the occupied tiles within dst steps of tile center
+     *
+     * Distances ignore obstacles. The center tile is included if it is occupied.
+     *
+     * @param center center tile
+     * @param dst radius in tiles
+     * @param out array to fill; it is cleared first
+     */
+    public void query(HexTile center, int dst, IntArray out) {
+        out.clear();
+        if (occupied.size <= 3*dst*(dst + 1) + 1){
+            for (int i = 0; i < occupied.size; i++){
+                int index = occupied.get(i);
+                if (Board.hexDistance(center, board.getTile(index)) <= dst){
+                    out.add(index);
+                }
+            }
+            return;
+        }
+        int numCols = board.getNumCols();
+        int numRows = board.getNumRows();
+        for (int dq = -dst; dq <= dst; dq++){
+            int q = center.getQ() + dq;
+            if (q < 0 || q >= numCols){
+                continue;
+            }
+            int minDr = Math.max(-dst, -dq - dst);
+            int maxDr = Math.min(dst, -dq + dst);
+            for (int dr = minDr; dr <= maxDr; dr++){
+                int y = center.getR() + dr + (int) Math.floor(q/2);
+                if (y >= 0 && y < numRows){
+                    int index = board.getTileIndexArrayCoord(q, y);
+                    if (counts[index] > 0){
+                        out.add(index);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -32,8 +32,8 @@ public class HexTile {
     private BitmapFont font;
     /** Whether the tile is highlighted or not */
     private boolean isHighlighted;
-    /** Whether the tile is visited or not */
-    private boolean visited = false;
+    /** Search generation that last visited this tile (see {@link Board#clearVisited}) */
+    private int visitStamp = 0;
     /** Whether the tile is on path or not */
     private boolean onPath = false;
     /** Whether the tile is obstacle or not */
@@ -51,7 +51,10 @@ public class HexTile {
     /** How long it has been since the food was on the tile */
     private int foodOnTileTime;
 
-    private Color[] tileColors = {new Color(110f/255, 196f/255, 146f/255, 1), new Color(78f/255, 166f/255, 114f/255, 1), new Color(59f/255, 125f/255, 86f/255, 1)};
+    /** Tints of the plain tiles, shared by every tile and never modified */
+    private static final Color[] TILE_COLORS = {new Color(110f/255, 196f/255, 146f/255, 1), new Color(78f/255, 166f/255, 114f/255, 1), new Color(59f/255, 125f/255, 86f/255, 1)};
+    /** Tint of the exit tile, never modified */
+    private static final Color EXIT_COLOR = new Color(61f/255, 97f/255, 155f/255, 1);
 
     private Color color;
     private Color originalColor;
@@ -80,7 +83,7 @@ public class HexTile {
         this.textDisplay = (int) q + ", " + (int) r;
         enemies = new Array<>();
         obstacle = false;
-        color = tileColors[c];
+        color = TILE_COLORS[c];
         originalColor = color;
     }
 
@@ -147,6 +150,15 @@ public class HexTile {
         return isExit;
     }
 
+    /**
+     * Returns whether this tile is highlighted
+     *
+     * @return whether this tile is highlighted or not
+     */
+    public boolean getIsHighlighted(){
+        return isHighlighted;
+    }
+
     /**
      * Returns the font
      *
@@ -218,6 +230,16 @@ public class HexTile {
         enemies.add(e);
     }
 
+    /**
+     * Sets the plain color of the tile
+     *
+     * @param c index of the color, from 0 to 2
+     */
+    public void setColorIndex(int c){
+        originalColor = TILE_COLORS[c];
+        color = originalColor;
+    }
+
     /**
      * Sets the tile to exit
      *
@@ -246,12 +268,12 @@ public class HexTile {
     }
 
     /**
-     * Sets a tile as visited for a BFS search
+     * Stamps a tile with the generation of the BFS search that visited it
      *
-     * @param v true if this tile is visited in bfs
+     * @param stamp search generation
      */
-    public void setVisited(boolean v){
-        visited = v;
+    public void setVisitStamp(int stamp){
+        visitStamp = stamp;
     }
 
     /**
@@ -323,12 +345,12 @@ public class HexTile {
     }
 
     /**
-     * Returns whether this tile is marked as visited for a BFS search
+     * Returns the generation of the last BFS search that visited this tile
      *
-     * @return true if this tile is marked as visited for a BFS search
+     * @return the generation of the last BFS search that visited this tile
      */
-    public boolean isVisited(){
-        return visited;
+    public int getVisitStamp(){
+        return visitStamp;
     }
 
     /**
@@ -351,9 +373,15 @@ public class HexTile {
         return x == pos.x && y == pos.y;
     }
 
-    /** Removes enemy from the tile */
-    public void removeEnemies(Enemy e){
-        enemies.removeValue(e, false);
+    /**
+     * Removes enemy from the tile
+     *
+     * @param e Enemy to remove
+     *
+     * @return true if the enemy was on the tile
+     */
+    public boolean removeEnemies(Enemy e){
+        return enemies.removeValue(e, false);
     }
 
     /** Removes enemy from the tile */
@@ -386,7 +414,7 @@ public class HexTile {
       */
     public void draw(GameCanvas canvas){
         if (isExit) {
-            color = new Color(61f/255, 97f/255, 155f/255, 1);
+            color = EXIT_COLOR;
         }
         if (isHighlighted && !isExit){
             color = Color.LIME;
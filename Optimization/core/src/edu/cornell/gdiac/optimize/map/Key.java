@@ -97,14 +97,41 @@ public class Key extends GameObject {
         }
     }
 
-    public void updateCollecting(GameCanvas canvas){
+    /**
+     * Advances the key by one frame: the bobbing on its tile, or the flight to the key
+     * display while it is being collected
+     *
+     * The key only changes state here, so the game can run without drawing it.
+     *
+     * @param delta Number of seconds since last animation frame
+     */
+    @Override
+    public void update(float delta) {
+        if (isCollected) {
+            return;
+        }
+        if (!isCollecting) {
+            timer++;
+            if (timer % 6 == 0) {
+                if (frame == 9) {frame = 0;}
+                else  {frame++;}
+                if (frame < 5){position.y -= offset;}
+                else {position.y += offset;}
+            }
+        }
+        else {
+            updateCollecting();
+        }
+    }
+
+    /** Moves the key towards the key display while it is being collected */
+    private void updateCollecting(){
         if (collectingTimer != 0) {
             collectingTimer--;
             position.x += collectingOffsetX/COLLECT_TIME;
             position.y += collectingOffsetY/COLLECT_TIME;
             size += sizeOffset/COLLECT_TIME;
             alpha -= 1f/COLLECT_TIME;
-            canvas.draw(keyTexture, position.x,position.y,size,size);
         }
         else {
             isCollecting = false;
@@ -116,19 +143,7 @@ public class Key extends GameObject {
 
     public void draw(GameCanvas canvas) {
         if(!isCollected) {
-            if (!isCollecting) {
-                timer++;
-                if (timer % 6 == 0) {
-                    if (frame == 9) {frame = 0;}
-                    else  {frame++;}
-                    if (frame < 5){position.y -= offset;}
-                    else {position.y += offset;}
-                }
-                canvas.draw(keyTexture, position.x,position.y,size,size);
-            }
-            else {
-                updateCollecting(canvas);
-            }
+            canvas.draw(keyTexture, position.x,position.y,size,size);
         }
     }
 }
@@ -0,0 +1,118 @@
+package edu.cornell.gdiac.optimize.map;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Breadth-first path search over the tiles of a board.
+ *
+ * Tiles are addressed by their board index (see {@link Board#getTileIndex}). The search
+ * keeps its state in arrays that are allocated once per board: a parent index per tile,
+ * an int frontier queue and an output path buffer. After the first search on a board no
+ * further allocation takes place.
+ *
+ * The path returned by {@link #findPath} is the same array every time. Callers that need
+ * to keep a path across searches must copy it.
+ */
+public class PathFinder implements PathStrategy {
+    /** Enemies do not block the search */
+    public static final int ENEMIES_IGNORED = 0;
+    /** Enemies block only the first step away from the start tile */
+    public static final int ENEMIES_BLOCK_FIRST_STEP = 1;
+    /** Enemies block every step of the search */
+    public static final int ENEMIES_BLOCK = 2;
+
+    /** Marks a tile without a parent (the start of the search) */
+    private static final int NO_PARENT = -1;
+
+    /** The board to search */
+    private Board board;
+    /** Parent index of every tile reached in the current search */
+    private int[] parent;
+    /** Queue of tile indices waiting to be expanded */
+    private int[] frontier;
+    /** Reusable output buffer for the path */
+    private Array<HexTile> path;
+    /** Number of tiles expanded by the last search */
+    private int expanded;
+
+    /**
+     * Creates a path finder for the given board
+     *
+     * @param board the board to search
+     */
+    public PathFinder(Board board) {
+        this.board = board;
+        int size = board.getNumTiles();
+        parent = new int[size];
+        frontier = new int[size];
+        path = new Array<>(size);
+    }
+
+    /**
+     * Returns the shortest path between tiles start and end
+     *
+     * Neighbors are expanded in the same order as {@link Board#getNeighbors(int, int)},
+     * so ties are broken exactly as in a search over that method. Tiles are marked as
+     * visited on the board; starting a new search generation beforehand is left to the caller.
+     *
+     * @param start start tile
+     * @param end end tile
+     * @param enemyRule one of ENEMIES_IGNORED, ENEMIES_BLOCK_FIRST_STEP or ENEMIES_BLOCK
+     *
+     * @return the tiles on the shortest path from start to end, or an empty array if there is none
+     */
+    @Override
+    public Array<HexTile> findPath(HexTile start, HexTile end, int enemyRule) {
+        path.clear();
+        expanded = 0;
+        int goal = board.getTileIndex(end);
+        int head = 0;
+        int tail = 0;
+
+        int origin = board.getTileIndex(start);
+        board.setVisited(start);
+        parent[origin] = NO_PARENT;
+        frontier[tail++] = origin;
+
+        // Every tile is marked visited before it is queued, so the queue never holds more than size entries
+        while (head < tail){
+            int node = frontier[head++];
+            expanded = head;
+            if (node == goal){
+                buildPath(node);
+                return path;
+            }
+            boolean blockEnemies = enemyRule == ENEMIES_BLOCK || (enemyRule == ENEMIES_BLOCK_FIRST_STEP && node == origin);
+            for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++){
+                int next = board.getNeighborIndex(node, dir);
+                if (next < 0){
+                    continue;
+                }
+                HexTile t = board.getTile(next);
+                if (!board.isVisited(t) && !t.isObstacle() && !(blockEnemies && t.hasEnemy())){
+                    board.setVisited(t);
+                    parent[next] = node;
+                    frontier[tail++] = next;
+                }
+            }
+        }
+        return path;
+    }
+
+    @Override
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Fills the path buffer by walking the parent links back from the given tile
+     *
+     * @param last index of the final tile on the path
+     */
+    private void buildPath(int last) {
+        for (int node = last; node != NO_PARENT; node = parent[node]){
+            path.add(board.getTile(node));
+        }
+        path.reverse();
+    }
+}
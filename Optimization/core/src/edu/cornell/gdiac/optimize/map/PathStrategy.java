@@ -0,0 +1,31 @@
+package edu.cornell.gdiac.optimize.map;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A point-to-point path search over the tiles of a board.
+ *
+ * Implementations may mark tiles as visited on the board, so callers start a new search
+ * generation with {@link Board#clearVisited} first. The returned path may be reused by the
+ * next search of the same strategy.
+ */
+public interface PathStrategy {
+
+    /**
+     * Returns the shortest path between tiles start and end
+     *
+     * @param start start tile
+     * @param end end tile
+     * @param enemyRule one of PathFinder.ENEMIES_IGNORED, ENEMIES_BLOCK_FIRST_STEP or ENEMIES_BLOCK
+     *
+     * @return the tiles on the shortest path from start to end, or an empty array if there is none
+     */
+    public Array<HexTile> findPath(HexTile start, HexTile end, int enemyRule);
+
+    /**
+     * Returns the number of tiles expanded by the last search
+     *
+     * @return the number of tiles expanded by the last search
+     */
+    public int getExpandedCount();
+}
@@ -20,11 +20,15 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.utils.TimeUtils;
 import edu.cornell.gdiac.assets.AssetDirectory;
 import edu.cornell.gdiac.optimize.Button;
 import edu.cornell.gdiac.optimize.controller.GameplayController;
 import edu.cornell.gdiac.optimize.controller.InputController;
+import edu.cornell.gdiac.optimize.FrameProfiler;
 import edu.cornell.gdiac.optimize.GameCanvas;
+import edu.cornell.gdiac.optimize.level.LevelCache;
+import edu.cornell.gdiac.optimize.simulation.GameSimulation;
 import edu.cornell.gdiac.util.Controllers;
 import edu.cornell.gdiac.util.ScreenListener;
 import edu.cornell.gdiac.util.XBoxController;
@@ -80,6 +84,12 @@ public class GameMode implements Screen, InputProcessor {
 
 	private static final int TILE_X_OFFSET = 15;
 	private static final int TILE_Y_OFFSET = 325;
+	/** Seconds of game time simulated by one update */
+	private static final float STEP_TIME = 1 / 60f;
+	/** Most seconds of game time simulated per frame, so a long stall does not snowball */
+	private static final float MAX_FRAME_TIME = 5 * STEP_TIME;
+	/** Local file the frame history is written to */
+	private static final String PROFILE_FILE = "frames.csv";
 	private int pressState;
 	private int lastLevel;
 
@@ -95,6 +105,8 @@ public class GameMode implements Screen, InputProcessor {
 	private GameState gameState;
 	/** Variable to track total time played in milliseconds (SIMPLE FIELDS) */
 	private float totalTime = 0;
+	/** Seconds of real time not simulated yet */
+	private float accumulator = 0;
 	/** Whether or not this player mode is still active */
 	private boolean active;
 	/** The amount of time after damage font initiates */
@@ -126,6 +138,10 @@ public class GameMode implements Screen, InputProcessor {
 	private Texture black;
 
 	private String level;
+	/** Cache of decoded levels and prebuilt boards */
+	private LevelCache levels;
+	/** Records the update and draw time of every frame */
+	private FrameProfiler profiler;
 	private ArrayList<Button> buttons;
 	private Button selectedButton;
 	private int currLev;
@@ -161,9 +177,15 @@ public class GameMode implements Screen, InputProcessor {
 	 *
 	 * This constructor initializes the models and controllers for the game.  The
 	 * view has already been initialized by the root class.
+	 *
+	 * @param canvas The drawing context
+	 * @param levels Cache of decoded levels, shared by every game
+	 * @param profiler Records the update and draw time of every frame
 	 */
-	public GameMode(GameCanvas canvas) {
+	public GameMode(GameCanvas canvas, LevelCache levels, FrameProfiler profiler) {
 		this.canvas = canvas;
+		this.levels = levels;
+		this.profiler = profiler;
 		active = false;
 		winKeySaved = false;
 
@@ -189,8 +211,10 @@ public class GameMode implements Screen, InputProcessor {
 	}
 
 	public void setGameplayController() {
-		gameplayController = new GameplayController(canvas.getWidth(), canvas.getHeight(), level);
+		gameplayController = new GameplayController(canvas.getWidth(), canvas.getHeight(), level, levels);
 		gameplayController.notifyLevel(currLev);
+		// Decode the levels the player can move to next while this one is played
+		levels.prefetchAround(currLev, canvas.getWidth(), canvas.getHeight());
 		gameplayController.loadConstantsToInputController(inputController);
 		gameplayController.setVolumes(musicvolume,soundvolume);
 	}
@@ -310,26 +334,14 @@ public class GameMode implements Screen, InputProcessor {
 	protected void play(float delta) {
 		// if no player is alive, declare game over
 		if (gameState != GameState.OVER){
-			if (gameplayController.reachExit() && !gameplayController.isCollectingKey()) {
-				gameResult = true;
+			GameSimulation.State state = gameplayController.updateGameState();
+			if (state != GameSimulation.State.PLAYING) {
+				gameResult = state == GameSimulation.State.WON;
 				gameState = GameState.OVER;
 				return;
 			}
 
-			if (gameplayController.getWorldTimerDisplay() == 0 || gameplayController.playerMetEnemy()) {
-				gameResult = false;
-				gameState = GameState.OVER;
-				System.out.println("here");
-				return;
-			}
-
-			if(!gameplayController.boardExists() && gameplayController.completedAllRecipes()){
-				gameResult = true;
-				gameState = GameState.OVER;
-				return;
-			}
-
-			gameplayController.play(delta, inputController);
+			gameplayController.play(inputController);
 
 			if(gameplayController.isPaused()) {
 				gameState = GameState.PAUSE;
@@ -409,6 +421,9 @@ public class GameMode implements Screen, InputProcessor {
 					pauseButton.getWidth() /2f, pauseButton.getHeight()/2f, tintQ);
 			drawOver();
 		}
+		if (profiler.isOverlayVisible()) {
+			profiler.drawOverlay(canvas, displayFont);
+		}
 		// Flush information to the graphic buffer.
 		canvas.end();
 	}
@@ -523,6 +538,27 @@ public class GameMode implements Screen, InputProcessor {
 		// IGNORE FOR NOW
 	}
 
+	/**
+	 * Runs as many fixed updates as the real time since the last frame covers
+	 *
+	 * The game logic counts updates, not seconds, so it always advances by STEP_TIME. Time
+	 * left over is carried to the next frame and tells the next draw how far to
+	 * interpolate between the last two updates.
+	 *
+	 * @param delta Number of seconds since last animation frame
+	 */
+	private void step(float delta) {
+		inputController.latchClick();
+		accumulator += Math.min(delta, MAX_FRAME_TIME);
+		while (accumulator >= STEP_TIME) {
+			inputController.beginStep();
+			gameplayController.savePositions();
+			update(STEP_TIME);
+			accumulator -= STEP_TIME;
+		}
+		gameplayController.setInterpolation(accumulator / STEP_TIME);
+	}
+
 	/**
 	 * Called when the Screen should render itself.
 	 *
@@ -533,7 +569,15 @@ public class GameMode implements Screen, InputProcessor {
 	 */
 	public void render(float delta) {
 		if (active) {
+			if (inputController.didToggleProfiler()) {
+				profiler.toggleOverlay();
+			}
+			if (inputController.didDumpProfile()) {
+				profiler.dumpCsv(Gdx.files.local(PROFILE_FILE));
+			}
+			long start = TimeUtils.nanoTime();
 			draw();
+			profiler.addDrawTime(TimeUtils.nanoTime() - start);
 			if (gameState == GameState.OVER && gameResult && gameplayController.keysExist() && !winKeySaved) {
 				listener.exitScreen(this, 100);
 				return;
@@ -563,9 +607,13 @@ public class GameMode implements Screen, InputProcessor {
 			}
 
 			updateVolume(musicvolume,soundvolume);
-			update(delta);
+			start = TimeUtils.nanoTime();
+			step(delta);
+			profiler.addUpdateTime(TimeUtils.nanoTime() - start);
 			if(gameState == GameState.PAUSE){
+				start = TimeUtils.nanoTime();
 				drawPauseScreen();
+				profiler.addDrawTime(TimeUtils.nanoTime() - start);
 			}
 			if (inputController.didExit() && listener != null) {
 				listener.exitScreen(this, 0);
@@ -578,11 +626,12 @@ public class GameMode implements Screen, InputProcessor {
 	 *
 	 * This is usually when it's not active or visible on screen. An Application is
 	 * also paused before it is destroyed.
+	 *
+	 * This only changes state; render() draws the pause screen once per frame.
 	 */
 	public void pause() {
 		// TODO Auto-generated method stub
 		bgm.pause();
-		drawPauseScreen();
 	}
 
 	/**
@@ -82,6 +82,12 @@ public class LoadingMode implements Screen, InputProcessor, ControllerListener {
 	private Texture levelBackground;
 	private Texture enemy;
 	private Texture whitebar;
+	/** Tint of the interlevel stars, whose alpha fades in */
+	private final Color starTint = new Color(Color.WHITE);
+	/** Tint of the empty interlevel progress bar */
+	private static final Color BAR_BACK_TINT = new Color(146/255f,247/255f,62/85f,1f);
+	/** Tint of the filled interlevel progress bar */
+	private static final Color BAR_FRONT_TINT = new Color(44/51f,103/255f,26/51f,1f);
 
 
 
@@ -388,7 +394,8 @@ public class LoadingMode implements Screen, InputProcessor, ControllerListener {
 			canvas.draw(levelBackground,0,0,Gdx.graphics.getWidth(), Gdx.graphics.getHeight(),Color.BLACK);
 			float starRadius = Gdx.graphics.getHeight()*3/5f;
 			if (truck != null){
-				canvas.draw(stars,new Color(1,1,1,(120f-timeLimit)/120f), starRadius/2f,starRadius/2f,
+				starTint.a = (120f-timeLimit)/120f;
+				canvas.draw(stars,starTint, starRadius/2f,starRadius/2f,
 						Gdx.graphics.getWidth()/2f,Gdx.graphics.getHeight()/2f, starRadius, starRadius);
 				float truckWidth = Gdx.graphics.getWidth()/3f;
 				float truckHeight = truckWidth*truck.getHeight()/truck.getWidth();
@@ -399,11 +406,11 @@ public class LoadingMode implements Screen, InputProcessor, ControllerListener {
 				float enemyHeight = enemyWidth*enemy.getHeight()/enemy.getWidth();
 				canvas.draw(enemy,Color.WHITE, enemyWidth/2f,enemyHeight/2f,
 						Gdx.graphics.getWidth()/2f,Gdx.graphics.getHeight()/2f, enemyWidth, enemyHeight);
-				canvas.draw(whitebar, new Color(146/255f,247/255f,62/85f,1f),
+				canvas.draw(whitebar, BAR_BACK_TINT,
 						5/32f*Gdx.graphics.getWidth(),5/144f*Gdx.graphics.getHeight(),
 						Gdx.graphics.getWidth()/2f, Gdx.graphics.getHeight()/4f,
 						5/16f*Gdx.graphics.getWidth(),5/72f*Gdx.graphics.getHeight());
-				canvas.draw(whitebar, new Color(44/51f,103/255f,26/51f,1f),
+				canvas.draw(whitebar, BAR_FRONT_TINT,
 						5/32f*Gdx.graphics.getWidth(),5/144f*Gdx.graphics.getHeight(),
 						Gdx.graphics.getWidth()/2f, Gdx.graphics.getHeight()/4f,
 						(float) ((1-Math.pow(timeLimit/90f,3))*5/16f*Gdx.graphics.getWidth()),5/72f*Gdx.graphics.getHeight());
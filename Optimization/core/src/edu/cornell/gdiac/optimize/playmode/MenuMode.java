@@ -42,6 +42,8 @@ import java.util.HashMap;
 public class MenuMode implements Screen, InputProcessor, ControllerListener {
     /** Constants */
     private static final int UNSET_LEVEL = -1;
+    /** Tint of the filled part of the volume bars */
+    private static final Color BAR_FILL_TINT = new Color(0,0,0,0.25f);
     private int PADDING_VER = 200;
     private int PADDING_HORI = 300;
     private int LEVELS_PER_PAGE = 10;
@@ -647,7 +649,7 @@ public class MenuMode implements Screen, InputProcessor, ControllerListener {
                         Gdx.graphics.getHeight()*231/270f + westsac.getLineHeight(),Color.BLACK);
 
                 canvas.draw(bar, Color.WHITE,0,0, musicfilterPos.x, musicfilterPos.y,barSize.x,barSize.y);
-                canvas.draw(blackfilter, new Color(0,0,0,0.25f),0,0,musicfilterPos.x,
+                canvas.draw(blackfilter, BAR_FILL_TINT,0,0,musicfilterPos.x,
                         musicfilterPos.y,barWidths[0] * barSize.x,barSize.y);
                 canvas.drawText("  Music ("+Integer.toString((int) (barWidths[0]*100))+"%)",westsac,
                         musicfilterPos.x, musicfilterPos.y + westsac.getLineHeight(), Color.WHITE);
@@ -656,7 +658,7 @@ public class MenuMode implements Screen, InputProcessor, ControllerListener {
                         barSize.y*0.6f,barSize.y*0.6f);
 
                 canvas.draw(bar, Color.WHITE,0,0, soundfilterPos.x, soundfilterPos.y,barSize.x,barSize.y);
-                canvas.draw(blackfilter, new Color(0,0,0,0.25f),0,0,soundfilterPos.x,
+                canvas.draw(blackfilter, BAR_FILL_TINT,0,0,soundfilterPos.x,
                         soundfilterPos.y,barWidths[1] * barSize.x,barSize.y);
                 canvas.drawText("  Sound ("+Integer.toString((int) (barWidths[1]*100))+"%)",westsac,
                         soundfilterPos.x, soundfilterPos.y+ westsac.getLineHeight(),Color.WHITE);
@@ -0,0 +1,662 @@
+package edu.cornell.gdiac.optimize.simulation;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.Queue;
+import edu.cornell.gdiac.optimize.controller.AIController;
+import edu.cornell.gdiac.optimize.controller.KitchenController;
+import edu.cornell.gdiac.optimize.entity.Enemy;
+import edu.cornell.gdiac.optimize.entity.Truck;
+import edu.cornell.gdiac.optimize.kitchen.Appliance;
+import edu.cornell.gdiac.optimize.kitchen.Reward;
+import edu.cornell.gdiac.optimize.level.LevelCache;
+import edu.cornell.gdiac.optimize.level.LevelData;
+import edu.cornell.gdiac.optimize.level.LevelFormat;
+import edu.cornell.gdiac.optimize.map.Board;
+import edu.cornell.gdiac.optimize.map.HexTile;
+import edu.cornell.gdiac.optimize.map.Key;
+
+import java.util.Random;
+
+/**
+ * Rules of the game, stepped without graphics, sound or input devices.
+ *
+ * The simulation owns the world timer, the truck, the enemies and the keys of a level, and
+ * runs the kitchen and the board it is given, one frame per step, from a
+ * {@link SimulationInput}. The GameplayController plays every level through a simulation:
+ * it turns the player's input into a SimulationInput, calls the phases of a step in the
+ * order of the GameMode, and draws the state of the simulation.
+ *
+ * A simulation can also build its own level without textures or sprites, so it runs on the
+ * headless backend with no GL context. Enemies and the displayed recipes then come from a
+ * generator seeded by the simulation, so two simulations of the same level with the same
+ * seed and inputs play exactly the same game.
+ */
+public class GameSimulation {
+    /** State of the game */
+    public enum State {
+        /** The game is still running */
+        PLAYING,
+        /** The truck reached the exit, or every tutorial recipe was completed */
+        WON,
+        /** The world timer ran out or an enemy caught the truck */
+        LOST
+    }
+
+    /**
+     * Receives the events of a game that are shown or heard, and runs the tutorials
+     */
+    public interface Listener {
+        /**
+         * Called on the tutorial levels before the truck moves, to set its controls
+         *
+         * On tutorial levels without recipes, the input does not reach the truck: only the
+         * tutorial sets its controls.
+         *
+         * @param truck the truck
+         */
+        void tutorialControls(Truck truck);
+
+        /**
+         * Called when the truck picks up a key
+         *
+         * @param key the key
+         */
+        void keyCollected(Key key);
+    }
+
+    /** Frames per second of the game, used by the world timer */
+    private static final int FRAMES_PER_SECOND = 60;
+    /** Seconds of a frame, passed to the object updates */
+    private static final float FRAME_DELTA = 1f / FRAMES_PER_SECOND;
+    /** Distance from the thrown food within which enemies chase it */
+    private static final int FOOD_RADIUS = 2;
+    /** Level whose throws do not use up the reward */
+    private static final int FREE_THROW_LEVEL = 4;
+    /** Level with recipes whose tutorial sets the truck controls */
+    private static final int KITCHEN_TUTORIAL_LEVEL = 9;
+
+    /** The level */
+    private LevelData level;
+    /** Level number */
+    private int levelNum;
+    /** Width of the canvas the level is laid out for */
+    private float width;
+    /** Height of the canvas the level is laid out for */
+    private float height;
+    /** The game board, or null on a level with only a kitchen */
+    private Board board;
+    /** The truck, or null before the start and on a level with only a kitchen */
+    private Truck truck;
+    /** Controller of the enemies */
+    private AIController aiController;
+    /** The kitchen */
+    private KitchenController kitchen;
+    /** Keys on the board */
+    private Array<Key> keys;
+    /** Generator of the enemy patrol paths, or null to let the enemies pick their own */
+    private Random random;
+    /** Receives the events of the game, or null */
+    private Listener listener;
+    /** Size, moves, turns and throws left from the last fed recipe; empty until the first feed */
+    private IntArray currentMove;
+    /** Array coordinates of the tile the truck is throwing at */
+    private Vector2 throwTarget;
+    /** Whether the truck finished a throw this step */
+    private boolean threw;
+    /** Frames left on the world timer */
+    private int worldTimerF;
+    /** Seconds left on the world timer */
+    private int worldTimerDisplay;
+    /** Number of completed updates */
+    private int frame;
+    /** State of the game */
+    private State state;
+
+    /**
+     * Creates the simulation of a parsed level file
+     *
+     * @param level parsed level file
+     * @param levelNum level number, which turns some rules on or off
+     * @param width width of the canvas the board is laid out for
+     * @param height height of the canvas the board is laid out for
+     * @param seed seed of the enemy patrol paths and the displayed recipes
+     */
+    public GameSimulation(JsonValue level, int levelNum, float width, float height, long seed) {
+        this(LevelFormat.fromJson(level), levelNum, width, height, seed);
+    }
+
+    /**
+     * Creates the simulation of a level, with a kitchen and enemies that are never drawn
+     *
+     * The game starts right away.
+     *
+     * @param level decoded level
+     * @param levelNum level number, which turns some rules on or off
+     * @param width width of the canvas the board is laid out for
+     * @param height height of the canvas the board is laid out for
+     * @param seed seed of the enemy patrol paths and the displayed recipes
+     */
+    public GameSimulation(LevelData level, int levelNum, float width, float height, long seed) {
+        this(level, levelNum, width, height, LevelCache.buildBoard(level, width, height),
+                new KitchenController((int) width, (int) height, levelNum), new AIController(new Array<Enemy>()));
+        random = new Random(seed);
+        kitchen.setRandom(random);
+        kitchen.loadJSONKitchenData(level.getKitchen());
+        kitchen.createKitchen();
+        start();
+    }
+
+    /**
+     * Creates the game of a level on the given board, kitchen and enemy controller
+     *
+     * The kitchen must be loaded and populated. Call start to place the objects.
+     *
+     * @param level decoded level
+     * @param levelNum level number, which turns some rules on or off
+     * @param width width of the canvas the board is laid out for
+     * @param height height of the canvas the board is laid out for
+     * @param board board of the level, or null on a level with only a kitchen
+     * @param kitchen the kitchen of the level
+     * @param aiController controller of the enemies
+     */
+    public GameSimulation(LevelData level, int levelNum, float width, float height, Board board,
+                          KitchenController kitchen, AIController aiController) {
+        this.level = level;
+        this.levelNum = levelNum;
+        this.width = width;
+        this.height = height;
+        this.board = board;
+        this.kitchen = kitchen;
+        this.aiController = aiController;
+        kitchen.setTutorialLevel(levelNum);
+        keys = new Array<>();
+        currentMove = new IntArray(4);
+        resetTimer();
+        state = State.PLAYING;
+    }
+
+    /**
+     * Places the truck, the obstacles, the enemies and the keys of the level
+     *
+     * Does nothing on a level with only a kitchen.
+     */
+    public void start() {
+        if (board == null) {
+            return;
+        }
+        initTruck(level.getStartX(), level.getStartY());
+        initObstacles();
+        initEnemies();
+        initKeys();
+    }
+
+    /**
+     * Clears the board, the kitchen and the timer for a new game
+     *
+     * Call start afterwards to place the objects again.
+     */
+    public void reset() {
+        if (board != null) {
+            board.reset();
+        }
+        truck = null;
+        keys.clear();
+        aiController.setEnemies(new Array<Enemy>());
+        kitchen.reset();
+        currentMove.clear();
+        threw = false;
+        resetTimer();
+        frame = 0;
+        state = State.PLAYING;
+    }
+
+    /** Sets the world timer to the time limit of the level */
+    private void resetTimer() {
+        worldTimerDisplay = level.getWorldTimeLimit();
+        worldTimerF = worldTimerDisplay * FRAMES_PER_SECOND;
+    }
+
+    /**
+     * Places the truck on its start tile
+     *
+     * @param startX array x coordinate of the start tile
+     * @param startY array y coordinate of the start tile
+     */
+    private void initTruck(int startX, int startY) {
+        truck = new Truck();
+        truck.setBoard(board);
+        truck.setFilmStrip(levelNum);
+        Vector2 screenPos = board.arrayToScreen(startX, startY);
+        truck.getPosition().set(screenPos.x, screenPos.y);
+        truck.setBoardPosition(board);
+    }
+
+    /** Places the obstacles of the level */
+    private void initObstacles() {
+        for (int i = 0; i < level.getNumObstacles(); i++) {
+            board.setObstacle(level.getObstacleQ(i), level.getObstacleR(i));
+        }
+    }
+
+    /** Places the enemies of the level */
+    private void initEnemies() {
+        for (int i = 0; i < level.getNumEnemies(); i++) {
+            Queue<Vector2> path = new Queue<>();
+            for (int step = 0; step < level.getEnemyPathLength(i); step++) {
+                path.addLast(new Vector2(level.getEnemyPathQ(i, step), level.getEnemyPathR(i, step)));
+            }
+            Enemy enemy = new Enemy(level.getEnemyCoolTime(i), new Vector2(level.getEnemyQ(i), level.getEnemyR(i)),
+                    board, path);
+            if (random != null) {
+                enemy.setRandom(random);
+            }
+            aiController.addEnemies(enemy, board);
+        }
+    }
+
+    /** Places the keys of the level */
+    private void initKeys() {
+        for (int i = 0; i < level.getNumKeys(); i++) {
+            keys.add(new Key(board, width, height, new Vector2(level.getKeyQ(i), level.getKeyR(i))));
+        }
+    }
+
+    // ============================ Accessors ===========================
+
+    public Board getBoard() {return board;}
+
+    public Truck getTruck() {return truck;}
+
+    public Array<Enemy> getEnemies() {return aiController.getEnemies();}
+
+    public Array<Key> getKeys() {return keys;}
+
+    public KitchenController getKitchen() {return kitchen;}
+
+    /**
+     * Returns what is left of the last fed recipe
+     *
+     * @return size, moves, turns and throws left, or an empty array before the first feed
+     */
+    public IntArray getCurrentMove() {return currentMove;}
+
+    public int getWorldTimerDisplay() {return worldTimerDisplay;}
+
+    public int getFrame() {return frame;}
+
+    public State getState() {return state;}
+
+    public boolean isOver() {return state != State.PLAYING;}
+
+    /**
+     * Returns whether the truck landed a throw in the last step
+     *
+     * @return true if thrown food landed on the board
+     */
+    public boolean didThrow() {return threw;}
+
+    /**
+     * Sets the receiver of the events of the game
+     *
+     * @param listener the listener, or null
+     */
+    public void setListener(Listener listener) {this.listener = listener;}
+
+    /**
+     * Returns the number of keys the truck collected
+     *
+     * @return the number of collected keys
+     */
+    public int getKeyNum() {
+        int result = 0;
+        for (Key key : keys) {
+            if (key.isCollected()) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    // ============================ Step ===========================
+
+    /**
+     * Advances the game by one frame
+     *
+     * Runs the phases of a frame in the order of the GameMode: update, the end of the game,
+     * then play. A finished game does not change anymore.
+     *
+     * @param input the input of this frame
+     */
+    public void step(SimulationInput input) {
+        if (state != State.PLAYING) {
+            return;
+        }
+        update(input);
+        if (updateState() != State.PLAYING) {
+            return;
+        }
+        play(input);
+    }
+
+    /**
+     * Steps until the game is over or the step limit is reached
+     *
+     * @param input the input of every frame
+     * @param maxSteps maximum number of steps
+     *
+     * @return the state of the game
+     */
+    public State run(SimulationInput input, int maxSteps) {
+        for (int i = 0; i < maxSteps && state == State.PLAYING; i++) {
+            step(input);
+        }
+        return state;
+    }
+
+    /**
+     * Runs the first phase of a frame: the timer, the kitchen and the food on the board
+     *
+     * The kitchen commands of the input reach the kitchen before it updates, and the reward
+     * of a successful feed goes to the truck right after.
+     *
+     * @param input the input of this frame
+     */
+    public void update(SimulationInput input) {
+        frame++;
+        timerUpdate();
+        if (kitchen.recipesExist()) {
+            sendKitchenCommands(input);
+            kitchen.update();
+            if (board != null) {
+                handleReward();
+            }
+        }
+        if (board != null) {
+            board.clearVisited();
+            board.update();
+        }
+    }
+
+    /**
+     * Checks whether the game was won or lost
+     *
+     * @return the state of the game
+     */
+    public State updateState() {
+        if (state != State.PLAYING) {
+            return state;
+        }
+        if (board != null && reachExit() && !isCollectingKey()) {
+            state = State.WON;
+        } else if (worldTimerDisplay == 0 || (board != null && truckMetEnemy())) {
+            state = State.LOST;
+        } else if (board == null && kitchen.getTutorial() && kitchen.completedAll()) {
+            state = State.WON;
+        }
+        return state;
+    }
+
+    /**
+     * Runs the last phase of a frame: the truck, the enemies and the keys
+     *
+     * @param input the input of this frame
+     */
+    public void play(SimulationInput input) {
+        threw = false;
+        if (board == null) {
+            return;
+        }
+        aiController.updateFoodChaseStateToFalse();
+        resolveTruck(input);
+        for (Enemy e : aiController.getEnemies()) {
+            e.updateEnemy(FRAME_DELTA, board);
+        }
+        for (Key key : keys) {
+            key.update(FRAME_DELTA);
+        }
+    }
+
+    /** Counts down the world timer on the levels that have one */
+    private void timerUpdate() {
+        if (worldTimerF > 0 && levelNum != 1 && levelNum != 3 && (levelNum > 8 || levelNum < 6)) {
+            worldTimerF--;
+            if (worldTimerF % FRAMES_PER_SECOND == 0) {
+                worldTimerDisplay--;
+            }
+        }
+    }
+
+    /**
+     * Passes the kitchen commands of the input to the kitchen
+     *
+     * @param input the input of this frame
+     */
+    private void sendKitchenCommands(SimulationInput input) {
+        if (input.getCookAppliance() != SimulationInput.NONE) {
+            kitchen.activateAppliance(input.getCookAppliance(), input.getCookIngredient());
+        }
+        if (input.isChopping()) {
+            Appliance choppingBoard = kitchen.getChoppingBoard();
+            if (choppingBoard.isWorking()) {
+                choppingBoard.setClickProgress();
+            }
+        }
+        if (input.getTrashTarget() != SimulationInput.NONE) {
+            kitchen.setTrash(input.getTrashTarget());
+        }
+        if (input.isAssembling()) {
+            int target = input.getAssembleTarget();
+            kitchen.setAssemble(target != SimulationInput.NONE, target);
+        }
+        if (input.isFeeding()) {
+            kitchen.setFeed();
+        }
+    }
+
+    /** Hands the reward of a successful feed to the truck */
+    private void handleReward() {
+        if (!kitchen.getFedSuccess()) {
+            return;
+        }
+        Reward reward = kitchen.getFedReward();
+        currentMove.clear();
+        currentMove.add(reward.getSize());
+        currentMove.add(reward.getMoves());
+        currentMove.add(reward.getTurns());
+        currentMove.add(reward.getThrowNum());
+        truck.setMoveNum(reward.getMoves());
+        truck.setCanShoot(reward.isThrowable());
+        truck.setTurnNum(reward.getTurns());
+        truck.setThrowFood(kitchen.getFedFood());
+        kitchen.resetFedSuccess();
+        kitchen.resetFedReward();
+    }
+
+    /**
+     * Returns whether the truck stands on the exit
+     *
+     * @return true if the truck reached the exit
+     */
+    private boolean reachExit() {
+        return truck.getBoardPosition().equals(board.getExitTile()) && !truck.isMoving();
+    }
+
+    /**
+     * Returns whether the truck stands on a tile with an enemy
+     *
+     * @return true if an enemy caught the truck
+     */
+    private boolean truckMetEnemy() {
+        Vector2 arrayCoord = truck.getArrayPosition(board);
+        return board.getTileArrayCoord((int) arrayCoord.x, (int) arrayCoord.y).hasEnemy() && !truck.isMoving();
+    }
+
+    /**
+     * Returns whether a key is flying to the key display
+     *
+     * @return true if a key is being collected
+     */
+    private boolean isCollectingKey() {
+        for (Key key : keys) {
+            if (key.isCollecting() && !key.isCollected()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Processes the truck for one frame
+     *
+     * @param input the input of this frame
+     */
+    private void resolveTruck(SimulationInput input) {
+        if (aiController.allEnemiesNotMoving() && truck.getPrevTileTimerTrigger() && truck.getTileTimer() < 0) {
+            // reset truck's tile timer after enemies finished jumping
+            truck.resetTileTimer();
+        }
+        boolean recipes = kitchen.recipesExist();
+        if (recipes) {
+            boolean fed = currentMove.size > 0;
+            truck.setIsMoveable(fed);
+            if (fed) {
+                truck.setForward(input.isMoveForward() && currentMove.get(1) > 0);
+                truck.setBackward(input.isMoveBackward() && currentMove.get(1) > 0);
+                truck.setLeft(input.isTurnLeft() && currentMove.get(2) > 0);
+                truck.setRight(input.isTurnRight() && currentMove.get(2) > 0);
+            }
+        } else if (!hasTutorialControls(recipes)) {
+            truck.setIsMoveable(true);
+            truck.setForward(input.isMoveForward());
+            truck.setBackward(input.isMoveBackward());
+            truck.setLeft(input.isTurnLeft());
+            truck.setRight(input.isTurnRight());
+            truck.resetMadeMove();
+            truck.resetMadeTurn();
+        }
+        if (levelNum == FREE_THROW_LEVEL && !board.hasFoodOnBoard()) {
+            // The throwing level hands out food until some lies on the board
+            truck.setCanShoot(true);
+            truck.setThrowFood(kitchen.getDefaultFoodTexture());
+        }
+        if (listener != null && hasTutorialControls(recipes)) {
+            listener.tutorialControls(truck);
+        }
+
+        if (truck.isThrowing()) {
+            updateThrow();
+        } else if (input.isShooting() && truck.getCanShoot()) {
+            handleThrow(input.getThrowX(), input.getThrowY());
+        } else {
+            updateEnemyTimer();
+        }
+        truck.update(FRAME_DELTA, board, threw);
+        if (recipes) {
+            updateReward();
+        }
+        truckMetKey();
+    }
+
+    /**
+     * Returns whether the tutorial of this level sets the truck controls
+     *
+     * @param recipes whether the kitchen has recipes
+     *
+     * @return whether the tutorial sets the truck controls
+     */
+    private boolean hasTutorialControls(boolean recipes) {
+        if (recipes) {
+            return levelNum == KITCHEN_TUTORIAL_LEVEL;
+        }
+        return levelNum == 1 || levelNum == 3 || levelNum == 4 || levelNum == 5;
+    }
+
+    /**
+     * Starts a throw at the given tile if the truck can reach it
+     *
+     * @param x array x coordinate of the tile
+     * @param y array y coordinate of the tile
+     */
+    private void handleThrow(int x, int y) {
+        if (x < 0 || y < 0 || x >= board.getNumCols() || y >= board.getNumRows()) {
+            return;
+        }
+        Vector2 target = new Vector2(x, y);
+        Vector2 truckCoord = truck.getArrayPosition(board);
+        HexTile selectedTile = board.getTileArrayCoord(x, y);
+        if (target.dst(truckCoord) > 0 && truck.getThrowRadius() >= board.dst2Tile(truckCoord, target)
+                && !selectedTile.isObstacle() && !selectedTile.hasFood() && !selectedTile.hasEnemy()) {
+            // The board keeps the target as the food tile, so every throw gets its own
+            throwTarget = target;
+            Vector2 screenPos = board.arrayToScreen(x, y);
+            truck.startThrowing(new Vector2(screenPos.x, screenPos.y + board.getTileHeight() / 4f),
+                    board.getTileWidth(), board.getTileHeight());
+            if (levelNum != FREE_THROW_LEVEL && currentMove.size > 0) {
+                currentMove.set(3, 0);
+                currentMove.set(0, currentMove.get(0) - 1);
+            }
+        }
+    }
+
+    /** Moves the thrown food and lands it on its tile once the throw is over */
+    private void updateThrow() {
+        truck.updateThrowing();
+        if (!truck.isThrowing()) {
+            threw = true;
+            board.addFood(throwTarget, truck.getThrowFood());
+            aiController.setEnemiesInFoodRadius(aiController.findEnemies(throwTarget, board, FOOD_RADIUS));
+            aiController.updateFoodChaseState(board.getTileArrayCoord((int) throwTarget.x, (int) throwTarget.y));
+        }
+    }
+
+    /** Sends the enemies after food and after a truck that stood still for too long */
+    private void updateEnemyTimer() {
+        for (Vector2 arrC : board.getFoodTiles()) {
+            aiController.setEnemiesInFoodRadius(aiController.findEnemies(arrC, board, FOOD_RADIUS));
+            aiController.updateFoodChaseState(board.getTileArrayCoord((int) arrC.x, (int) arrC.y));
+        }
+        if (truck.getExceedTileTimer()) {
+            aiController.updateTileTimerEnemyMoveIn(board, truck.getBoardPosition());
+            truck.resetExceedTileTimer();
+        } else if (truck.getTileTimer() == Truck.TILE_TIMER / 5) {
+            aiController.setEnemiesAboutToChaseTruck(truck.getTileTimer());
+        }
+        if (truck.getPrevMove()) {
+            aiController.unsetEnemiesAboutToChaseTruck();
+            truck.resetPrevMove();
+        }
+    }
+
+    /** Uses up the reward for the move or turn the truck made */
+    private void updateReward() {
+        if (currentMove.size == 0) {
+            return;
+        }
+        if (truck.getMadeMove()) {
+            currentMove.set(1, currentMove.get(1) - 1);
+            currentMove.set(0, currentMove.get(0) - 1);
+            truck.resetMadeMove();
+        } else if (truck.getMadeTurn()) {
+            currentMove.set(2, currentMove.get(2) - 1);
+            currentMove.set(0, currentMove.get(0) - 1);
+            truck.resetMadeTurn();
+        }
+    }
+
+    /** Starts collecting the keys on the tile of the truck */
+    private void truckMetKey() {
+        Vector2 truckCoord = truck.getBoardPosition();
+        int currKeyNum = getKeyNum();
+        for (Key key : keys) {
+            if (truckCoord.equals(key.getTileBoardPos()) && !truck.isMoving() && !key.isCollecting()) {
+                if (!key.isCollected() && listener != null) {
+                    listener.keyCollected(key);
+                }
+                key.setCollected(true, currKeyNum);
+            }
+        }
+    }
+}
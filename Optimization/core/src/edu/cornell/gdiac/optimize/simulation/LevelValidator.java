@@ -0,0 +1,505 @@
+package edu.cornell.gdiac.optimize.simulation;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.optimize.entity.Truck;
+import edu.cornell.gdiac.optimize.map.Board;
+import edu.cornell.gdiac.optimize.map.HexTile;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks the level files and works out how hard they are to solve.
+ *
+ * Every level is validated on its own task of a ForkJoin pool. A level is parsed, its board
+ * is built with its obstacles, and every position in the file is checked against the board.
+ * The exit and every key must be reachable from the start by driving the truck, and the
+ * cheapest route to the exit is turned into the number of recipes that must be fed at
+ * least, given the moves and turns the recipes reward. Enemies are not considered, since
+ * they move during the game.
+ *
+ * Runs without a libGDX backend. The main method validates levels/*.json under the working
+ * directory, prints a report and exits with status 1 if any level has errors.
+ */
+public class LevelValidator {
+    /** Marks a position that cannot be reached */
+    public static final int UNREACHABLE = -1;
+
+    /** Canvas width the boards are laid out for; it does not change the results */
+    private static final float CANVAS_WIDTH = 1280;
+    /** Canvas height the boards are laid out for; it does not change the results */
+    private static final float CANVAS_HEIGHT = 720;
+    /** Weight of a move against a turn; routes use as few moves as possible, then turns */
+    private static final long MOVE_COST = 1L << 32;
+
+    /** Result of validating one level */
+    public static class Report {
+        /** Name of the level file */
+        private String name;
+        /** Problems that make the level broken or unsolvable */
+        private Array<String> errors = new Array<>();
+        /** Suspicious data that does not break the level */
+        private Array<String> warnings = new Array<>();
+        /** Whether the level has a board; kitchen-only levels do not */
+        private boolean hasBoard;
+        /** Moves on the cheapest route to the exit, or UNREACHABLE */
+        private int exitMoves = UNREACHABLE;
+        /** Turns on the cheapest route to the exit, or UNREACHABLE */
+        private int exitTurns = UNREACHABLE;
+        /** Least number of recipes to feed before reaching the exit, or UNREACHABLE */
+        private int minFeeds = UNREACHABLE;
+        /** Moves on the cheapest route to every key, or UNREACHABLE */
+        private int[] keyMoves = new int[0];
+
+        public String getName() {return name;}
+
+        public Array<String> getErrors() {return errors;}
+
+        public Array<String> getWarnings() {return warnings;}
+
+        public boolean hasBoard() {return hasBoard;}
+
+        public boolean isValid() {return errors.size == 0;}
+
+        public int getExitMoves() {return exitMoves;}
+
+        public int getExitTurns() {return exitTurns;}
+
+        public int getMinFeeds() {return minFeeds;}
+
+        public int getKeyMoves(int key) {return keyMoves[key];}
+
+        public int getNumKeys() {return keyMoves.length;}
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(isValid() ? "OK   " : "FAIL ").append(name);
+            if (hasBoard) {
+                sb.append("  exit: ");
+                if (exitMoves == UNREACHABLE) {
+                    sb.append("unreachable");
+                } else {
+                    sb.append(exitMoves).append(" moves, ").append(exitTurns).append(" turns");
+                }
+                if (minFeeds != UNREACHABLE) {
+                    sb.append(", at least ").append(minFeeds).append(" recipes");
+                }
+                if (keyMoves.length > 0) {
+                    sb.append("  keys: ").append(Arrays.toString(keyMoves));
+                }
+            } else {
+                sb.append("  kitchen only");
+            }
+            for (String e : errors) {
+                sb.append("\n  error: ").append(e);
+            }
+            for (String w : warnings) {
+                sb.append("\n  warning: ").append(w);
+            }
+            return sb.toString();
+        }
+    }
+
+    /** Validates one level file */
+    private static class ValidateTask extends RecursiveTask<Report> {
+        private static final long serialVersionUID = 1L;
+
+        /** The level file */
+        private final File file;
+
+        /**
+         * Creates the task of a level
+         *
+         * @param file the level file
+         */
+        ValidateTask(File file) {
+            this.file = file;
+        }
+
+        @Override
+        protected Report compute() {
+            return validate(file);
+        }
+    }
+
+    /**
+     * Validates every level file in a directory in parallel
+     *
+     * @param dir directory of the level files
+     *
+     * @return the report of every level, in level order
+     */
+    public static Array<Report> validateAll(File dir) {
+        File[] files = dir.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File d, String name) {
+                return name.endsWith(".json");
+            }
+        });
+        if (files == null) {
+            files = new File[0];
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                int cmp = levelNumber(a.getName()) - levelNumber(b.getName());
+                return cmp != 0 ? cmp : a.getName().compareTo(b.getName());
+            }
+        });
+
+        final ValidateTask[] tasks = new ValidateTask[files.length];
+        for (int i = 0; i < files.length; i++) {
+            tasks[i] = new ValidateTask(files[i]);
+        }
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            pool.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    invokeAll(tasks);
+                    return null;
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+
+        Array<Report> reports = new Array<>(files.length);
+        for (ValidateTask task : tasks) {
+            reports.add(task.join());
+        }
+        return reports;
+    }
+
+    /**
+     * Validates a level file
+     *
+     * @param file the level file
+     *
+     * @return the report of the level
+     */
+    public static Report validate(File file) {
+        Report report = new Report();
+        report.name = file.getName();
+        JsonValue level;
+        try {
+            level = new JsonReader().parse(new FileHandle(file));
+        } catch (RuntimeException e) {
+            report.errors.add("cannot parse: " + e.getMessage());
+            return report;
+        }
+        try {
+            validate(level, levelNumber(file.getName()), report);
+        } catch (RuntimeException e) {
+            report.errors.add("malformed level: " + e);
+        }
+        return report;
+    }
+
+    /**
+     * Validates a parsed level
+     *
+     * @param level the parsed level
+     * @param levelNum level number, which sets the starting direction of the truck
+     * @param report report to fill
+     */
+    private static void validate(JsonValue level, int levelNum, Report report) {
+        int maxMoves = 0;
+        int maxTurns = 0;
+        JsonValue recipes = level.get("kitchen").get("recipes");
+        for (JsonValue recipe : recipes) {
+            JsonValue rewards = recipe.get("rewards");
+            int ingredients = recipe.get("ingredients").size;
+            if (ingredients == 0) {
+                report.errors.add("recipe " + recipe.getString("name") + " has no ingredients");
+            } else if (rewards.getInt("size") != ingredients) {
+                report.warnings.add("recipe " + recipe.getString("name") + " has size " + rewards.getInt("size")
+                        + " but " + ingredients + " ingredients");
+            }
+            maxMoves = Math.max(maxMoves, rewards.getInt("movements"));
+            maxTurns = Math.max(maxTurns, rewards.getInt("turns"));
+        }
+
+        int boardQ = level.getInt("boardQ");
+        int boardR = level.getInt("boardR");
+        if (boardQ == 0 && boardR == 0) {
+            if (recipes.size == 0) {
+                report.errors.add("level has neither a board nor recipes");
+            }
+            return;
+        }
+        if (boardQ <= 0 || boardR <= 0) {
+            report.errors.add("invalid board size " + boardQ + "x" + boardR);
+            return;
+        }
+        report.hasBoard = true;
+
+        Vector2 exit = parsePosition(level.getString("exitTilePos"));
+        Vector2 startArray = parsePosition(level.getString("startPos"));
+        // The board marks its exit tile when it is built, so check the exit with the same
+        // mapping as Board.boardToArray first
+        int exitQ = (int) exit.x;
+        if (!inArray(boardQ, boardR, exitQ, (int) exit.y + (int) Math.floor(exitQ/2))) {
+            report.errors.add("exit " + exit + " is off the board");
+            return;
+        }
+        if (!inArray(boardQ, boardR, (int) startArray.x, (int) startArray.y)) {
+            report.errors.add("start " + startArray + " is off the board");
+            return;
+        }
+        Board board = new Board(boardQ, boardR, CANVAS_WIDTH, CANVAS_HEIGHT * 3 / 10f, exit);
+        Vector2 start = board.arrayToBoard((int) startArray.x, (int) startArray.y);
+
+        for (JsonValue o : level.get("objects").get("obstacles")) {
+            Vector2 pos = parsePosition(o.getString("position"));
+            if (!board.isSafeAtBoard(pos.x, pos.y)) {
+                report.errors.add("obstacle " + pos + " is off the board");
+            } else if (pos.equals(start)) {
+                report.errors.add("obstacle " + pos + " is on the start");
+            } else if (pos.equals(exit)) {
+                report.errors.add("obstacle " + pos + " is on the exit");
+            } else {
+                board.setObstacle((int) pos.x, (int) pos.y, start, null);
+            }
+        }
+        for (JsonValue e : level.get("objects").get("enemies")) {
+            Vector2 pos = parsePosition(e.getString("startPosition"));
+            if (!board.isObstacleFree((int) pos.x, (int) pos.y)) {
+                report.errors.add("enemy " + pos + " is off the board or on an obstacle");
+            }
+        }
+
+        int startDirection = levelNum < 2 ? Truck.DIRECTION_NE : Truck.DIRECTION_SE;
+        long[] cost = findRoutes(board, start, startDirection);
+
+        long exitCost = bestCost(board, cost, exit);
+        if (exitCost < 0) {
+            report.errors.add("exit " + exit + " cannot be reached from the start");
+        } else {
+            report.exitMoves = (int) (exitCost / MOVE_COST);
+            report.exitTurns = (int) (exitCost % MOVE_COST);
+            if (recipes.size > 0) {
+                report.minFeeds = minFeeds(report.exitMoves, report.exitTurns, maxMoves, maxTurns, report);
+            }
+        }
+
+        JsonValue keys = level.get("objects").get("keys");
+        report.keyMoves = new int[keys.size];
+        int k = 0;
+        for (JsonValue key : keys) {
+            Vector2 pos = parsePosition(key.asString());
+            long keyCost = board.isObstacleFree((int) pos.x, (int) pos.y) ? bestCost(board, cost, pos) : -1;
+            if (keyCost < 0) {
+                report.errors.add("key " + pos + " cannot be reached from the start");
+                report.keyMoves[k] = UNREACHABLE;
+            } else {
+                report.keyMoves[k] = (int) (keyCost / MOVE_COST);
+            }
+            k++;
+        }
+    }
+
+    /**
+     * Returns the least number of recipes that give the moves and turns of a route
+     *
+     * Feeding a recipe replaces what is left of the previous one, so every recipe gives at
+     * most the largest reward of the level. This is a lower bound.
+     *
+     * @param moves moves of the route
+     * @param turns turns of the route
+     * @param maxMoves most moves a recipe gives
+     * @param maxTurns most turns a recipe gives
+     * @param report report to add an error to if no recipes give what the route needs
+     *
+     * @return the least number of recipes, or UNREACHABLE
+     */
+    private static int minFeeds(int moves, int turns, int maxMoves, int maxTurns, Report report) {
+        if (moves > 0 && maxMoves == 0) {
+            report.errors.add("the exit needs " + moves + " moves but no recipe gives moves");
+            return UNREACHABLE;
+        }
+        if (turns > 0 && maxTurns == 0) {
+            report.errors.add("the exit needs " + turns + " turns but no recipe gives turns");
+            return UNREACHABLE;
+        }
+        int feeds = 0;
+        if (moves > 0) {
+            feeds = (moves + maxMoves - 1) / maxMoves;
+        }
+        if (turns > 0) {
+            feeds = Math.max(feeds, (turns + maxTurns - 1) / maxTurns);
+        }
+        return feeds;
+    }
+
+    /**
+     * Finds the cheapest way for the truck to reach every tile and direction
+     *
+     * The truck drives forward or backward one tile per move and turns 60 degrees per turn.
+     * Routes are ranked by moves first, then by turns.
+     *
+     * @param board the board with its obstacles
+     * @param start board coordinates of the start
+     * @param startDirection direction the truck faces at the start
+     *
+     * @return cost of every (tile index * 6 + direction) state, or -1 if it cannot be reached
+     */
+    private static long[] findRoutes(Board board, Vector2 start, int startDirection) {
+        int numStates = board.getNumTiles() * Truck.NUM_DIRECTIONS;
+        long[] cost = new long[numStates];
+        boolean[] done = new boolean[numStates];
+        Arrays.fill(cost, -1);
+        cost[stateIndex(board, (int) start.x, (int) start.y, startDirection)] = 0;
+
+        // The boards are small, so a plain scan for the cheapest open state is enough
+        while (true) {
+            int best = -1;
+            for (int s = 0; s < numStates; s++) {
+                if (!done[s] && cost[s] >= 0 && (best < 0 || cost[s] < cost[best])) {
+                    best = s;
+                }
+            }
+            if (best < 0) {
+                return cost;
+            }
+            done[best] = true;
+            HexTile tile = board.getTile(best / Truck.NUM_DIRECTIONS);
+            int dir = best % Truck.NUM_DIRECTIONS;
+            int q = tile.getQ();
+            int r = tile.getR();
+
+            relax(cost, done, stateIndex(board, q, r, (dir + Truck.NUM_DIRECTIONS - 1) % Truck.NUM_DIRECTIONS), cost[best] + 1);
+            relax(cost, done, stateIndex(board, q, r, (dir + 1) % Truck.NUM_DIRECTIONS), cost[best] + 1);
+            for (int sign = -1; sign <= 1; sign += 2) {
+                int nq = q + sign * Truck.FORWARD_OFFSETS[dir][0];
+                int nr = r + sign * Truck.FORWARD_OFFSETS[dir][1];
+                if (board.isObstacleFree(nq, nr)) {
+                    relax(cost, done, stateIndex(board, nq, nr, dir), cost[best] + MOVE_COST);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lowers the cost of a state if the new cost is cheaper
+     *
+     * @param cost cost of every state
+     * @param done whether the cost of a state is final
+     * @param state the state
+     * @param newCost the new cost
+     */
+    private static void relax(long[] cost, boolean[] done, int state, long newCost) {
+        if (!done[state] && (cost[state] < 0 || newCost < cost[state])) {
+            cost[state] = newCost;
+        }
+    }
+
+    /**
+     * Returns the cheapest cost of a tile over all directions
+     *
+     * @param board the board
+     * @param cost cost of every state
+     * @param pos board coordinates of the tile
+     *
+     * @return the cost, or -1 if the tile cannot be reached
+     */
+    private static long bestCost(Board board, long[] cost, Vector2 pos) {
+        long best = -1;
+        for (int dir = 0; dir < Truck.NUM_DIRECTIONS; dir++) {
+            long c = cost[stateIndex(board, (int) pos.x, (int) pos.y, dir)];
+            if (c >= 0 && (best < 0 || c < best)) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the index of a truck state
+     *
+     * @param board the board
+     * @param q board q coordinate of the tile
+     * @param r board r coordinate of the tile
+     * @param dir direction the truck faces
+     *
+     * @return the state index
+     */
+    private static int stateIndex(Board board, int q, int r, int dir) {
+        Vector2 arrayCoord = board.boardToArray(q, r);
+        return board.getTileIndexArrayCoord((int) arrayCoord.x, (int) arrayCoord.y) * Truck.NUM_DIRECTIONS + dir;
+    }
+
+    /**
+     * Returns whether array coordinates are on a board
+     *
+     * @param cols number of columns of the board
+     * @param rows number of rows of the board
+     * @param x array x coordinate
+     * @param y array y coordinate
+     *
+     * @return true if there is a tile at the coordinates
+     */
+    private static boolean inArray(int cols, int rows, int x, int y) {
+        return x >= 0 && y >= 0 && x < cols && y < rows;
+    }
+
+    /**
+     * Parses a position written as "(q,r)"
+     *
+     * @param s position string
+     *
+     * @return the position
+     */
+    private static Vector2 parsePosition(String s) {
+        String[] parts = s.substring(1, s.length() - 1).split(",");
+        return new Vector2(Float.parseFloat(parts[0].trim()), Float.parseFloat(parts[1].trim()));
+    }
+
+    /**
+     * Returns the level number of a level file name
+     *
+     * @param name file name, like 12.json
+     *
+     * @return the level number, or 0 if the name is not a number
+     */
+    private static int levelNumber(String name) {
+        try {
+            return Integer.parseInt(name.substring(0, name.lastIndexOf('.')));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Validates levels/*.json and prints the report
+     *
+     * @param args an optional directory of level files
+     */
+    public static void main(String[] args) {
+        File dir = new File(args.length > 0 ? args[0] : "levels");
+        long startTime = System.nanoTime();
+        Array<Report> reports = validateAll(dir);
+        long elapsed = (System.nanoTime() - startTime) / 1000000;
+
+        int failed = 0;
+        for (Report report : reports) {
+            System.out.println(report);
+            if (!report.isValid()) {
+                failed++;
+            }
+        }
+        System.out.println(reports.size + " levels, " + failed + " failed, " + elapsed + " ms");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package edu.cornell.gdiac.optimize.simulation;
+
+/**
+ * Input for one step of a {@link GameSimulation}.
+ *
+ * Stands in for the InputController: instead of keys and mouse clicks, the input holds the
+ * truck controls, the tile to throw at and the commands to the kitchen. The GameplayController
+ * fills it from the player's input every frame; a script can fill it instead. A step reads
+ * the input without changing it, so kitchen commands must be cleared once they were sent.
+ */
+public class SimulationInput {
+    /** Marks that no appliance, ingredient or tile is chosen */
+    public static final int NONE = -1;
+
+    /** Whether to drive forward */
+    private boolean forward;
+    /** Whether to drive backward */
+    private boolean backward;
+    /** Whether to turn left */
+    private boolean left;
+    /** Whether to turn right */
+    private boolean right;
+    /** Whether to throw food */
+    private boolean shoot;
+    /** Array x coordinate of the tile to throw at */
+    private int throwX;
+    /** Array y coordinate of the tile to throw at */
+    private int throwY;
+    /** Appliance to cook with, or NONE */
+    private int cookAppliance;
+    /** Raw ingredient to cook */
+    private int cookIngredient;
+    /** Whether to click the chopping board */
+    private boolean chop;
+    /** Appliance whose food to trash, or NONE */
+    private int trashTarget;
+    /** Whether to move cooked food to the plate */
+    private boolean assemble;
+    /** Appliance whose food to move to the plate, or NONE for all of them */
+    private int assembleTarget;
+    /** Whether to feed the food on the plate to the truck */
+    private boolean feed;
+
+    /** Creates an input that does nothing */
+    public SimulationInput() {
+        clear();
+    }
+
+    /** Resets the input so that it does nothing */
+    public void clear() {
+        forward = false;
+        backward = false;
+        left = false;
+        right = false;
+        shoot = false;
+        clearKitchen();
+    }
+
+    /** Clears the commands to the kitchen */
+    public void clearKitchen() {
+        cookAppliance = NONE;
+        chop = false;
+        trashTarget = NONE;
+        assemble = false;
+        feed = false;
+    }
+
+    public boolean isMoveForward() {return forward;}
+
+    public boolean isMoveBackward() {return backward;}
+
+    public boolean isTurnLeft() {return left;}
+
+    public boolean isTurnRight() {return right;}
+
+    public boolean isShooting() {return shoot;}
+
+    public int getThrowX() {return throwX;}
+
+    public int getThrowY() {return throwY;}
+
+    public int getCookAppliance() {return cookAppliance;}
+
+    public int getCookIngredient() {return cookIngredient;}
+
+    public boolean isChopping() {return chop;}
+
+    public int getTrashTarget() {return trashTarget;}
+
+    public boolean isAssembling() {return assemble;}
+
+    public int getAssembleTarget() {return assembleTarget;}
+
+    public boolean isFeeding() {return feed;}
+
+    /**
+     * Sets the truck controls
+     *
+     * @param forward whether to drive forward
+     * @param backward whether to drive backward
+     * @param left whether to turn left
+     * @param right whether to turn right
+     */
+    public void setMove(boolean forward, boolean backward, boolean left, boolean right) {
+        this.forward = forward;
+        this.backward = backward;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Sets the tile to throw food at
+     *
+     * A tile off the board, such as (NONE, NONE), throws nothing.
+     *
+     * @param x array x coordinate of the tile
+     * @param y array y coordinate of the tile
+     */
+    public void setThrow(int x, int y) {
+        shoot = true;
+        throwX = x;
+        throwY = y;
+    }
+
+    /** Stops throwing food */
+    public void clearThrow() {
+        shoot = false;
+    }
+
+    /**
+     * Puts a raw ingredient on an appliance to cook
+     *
+     * @param appliance the appliance
+     * @param ingredient the raw ingredient
+     */
+    public void setCook(int appliance, int ingredient) {
+        cookAppliance = appliance;
+        cookIngredient = ingredient;
+    }
+
+    /** Clicks the chopping board once */
+    public void setChop() {
+        chop = true;
+    }
+
+    /**
+     * Trashes the food on an appliance
+     *
+     * @param appliance the appliance, where the plate trashes the assembled food
+     */
+    public void setTrash(int appliance) {
+        trashTarget = appliance;
+    }
+
+    /**
+     * Moves cooked food to the plate
+     *
+     * @param appliance the appliance whose food to move, or NONE for all of them
+     */
+    public void setAssemble(int appliance) {
+        assemble = true;
+        assembleTarget = appliance;
+    }
+
+    /** Feeds the food on the plate to the truck */
+    public void setFeed() {
+        feed = true;
+    }
+}
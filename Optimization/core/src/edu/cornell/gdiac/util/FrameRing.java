@@ -0,0 +1,109 @@
+/*
+ * FrameRing.java
+ *
+ * Fixed-size history of per-frame counters, written by the render thread and readable
+ * from any thread without locks.
+ */
+package edu.cornell.gdiac.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring buffer of the counters of the most recent frames.
+ *
+ * Every frame is a record of {@link #NUM_FIELDS} longs. There is a single writer: it fills
+ * the next slot and then publishes it by advancing the frame count. Readers take a
+ * snapshot by copying the published records and checking the count again afterwards;
+ * records the writer may have overwritten during the copy are dropped from the snapshot.
+ * Neither side ever blocks, and recording a frame allocates nothing.
+ */
+public class FrameRing {
+    /** Field of the sprite draws issued through the canvas */
+    public static final int DRAW_CALLS = 0;
+    /** Field of the batch flushes sent to the graphics card */
+    public static final int RENDER_CALLS = 1;
+    /** Field of the texture switches of the batch */
+    public static final int TEXTURE_BINDS = 2;
+    /** Field of the glyphs drawn as text */
+    public static final int GLYPHS = 3;
+    /** Field of the nanoseconds spent updating the game */
+    public static final int UPDATE_NANOS = 4;
+    /** Field of the nanoseconds spent drawing the game */
+    public static final int DRAW_NANOS = 5;
+    /** Number of fields of a frame record */
+    public static final int NUM_FIELDS = 6;
+
+    /** Records of the frames, NUM_FIELDS longs per slot */
+    private final long[] records;
+    /** Number of slots minus one; the number of slots is a power of two */
+    private final int mask;
+    /** Number of frames published so far */
+    private final AtomicLong published;
+
+    /**
+     * Creates an empty ring
+     *
+     * @param capacity number of frames kept, rounded up to a power of two
+     */
+    public FrameRing(int capacity) {
+        int slots = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        records = new long[slots*NUM_FIELDS];
+        mask = slots - 1;
+        published = new AtomicLong();
+    }
+
+    /**
+     * Returns the number of frames the ring keeps
+     *
+     * @return the capacity of the ring
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the number of frames recorded since the ring was created
+     *
+     * @return the total number of frames published
+     */
+    public long getFrameCount() {
+        return published.get();
+    }
+
+    /**
+     * Records the next frame. Must only be called from one thread.
+     *
+     * @param fields the NUM_FIELDS values of the frame
+     */
+    public void add(long[] fields) {
+        long frame = published.get();
+        System.arraycopy(fields, 0, records, (int) (frame & mask)*NUM_FIELDS, NUM_FIELDS);
+        published.lazySet(frame + 1);
+    }
+
+    /**
+     * Copies the most recent frames, oldest first
+     *
+     * @param out array of at least getCapacity()*NUM_FIELDS longs, filled with
+     *            NUM_FIELDS longs per frame
+     *
+     * @return the number of frames copied
+     */
+    public int snapshot(long[] out) {
+        long end = published.get();
+        long start = Math.max(0, end - getCapacity());
+        for (long frame = start; frame < end; frame++) {
+            System.arraycopy(records, (int) (frame & mask)*NUM_FIELDS, out, (int) (frame - start)*NUM_FIELDS,
+                    NUM_FIELDS);
+        }
+        // The writer may have overwritten the oldest records while they were copied
+        long valid = published.get() - getCapacity() + 1;
+        int count = (int) (end - start);
+        if (valid > start) {
+            int dropped = (int) Math.min(valid - start, count);
+            count -= dropped;
+            System.arraycopy(out, dropped*NUM_FIELDS, out, 0, count*NUM_FIELDS);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,424 @@
+package edu.cornell.gdiac.optimize;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import edu.cornell.gdiac.optimize.map.Board;
+import edu.cornell.gdiac.optimize.map.HexTile;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that drawing a frame allocates nothing.
+ *
+ * The canvas draws to a batch that only counts the sprites, and the graphics and OpenGL
+ * modules are stubbed, so frames can be drawn without a window (the native math library
+ * is still loaded). Each frame draws a board
+ * with highlighted tiles, obstacles and an exit, a clock and a few loose sprites, as the
+ * game does every frame.
+ *
+ * Recompiling the drawing code can allocate on the drawing thread once in a while, so the
+ * frames are measured in several windows and the quietest one must allocate nothing. An
+ * allocation in the drawing code itself shows up in every window.
+ */
+public class DrawAllocationTest {
+    /** Frames drawn before allocations are counted */
+    private static final int WARMUP_FRAMES = 2000;
+    /** Frames whose allocations are counted, per window */
+    private static final int MEASURED_FRAMES = 1000;
+    /** Most windows of frames measured */
+    private static final int MEASURED_WINDOWS = 5;
+    /** Columns of the board */
+    private static final int BOARD_COLS = 12;
+    /** Rows of the board */
+    private static final int BOARD_ROWS = 6;
+
+    /** Texture standing in for every game texture */
+    private static Texture texture;
+
+    @BeforeClass
+    public static void stubGraphics() {
+        GdxNativesLoader.load();
+        Gdx.graphics = stub(Graphics.class);
+        Gdx.gl = stub(GL20.class);
+        Gdx.gl20 = Gdx.gl;
+        texture = new Texture(new StubTextureData());
+    }
+
+    @Test
+    public void framesDoNotAllocateAfterWarmup() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        CountingBatch batch = new CountingBatch();
+        GameCanvas canvas = new GameCanvas(batch);
+        Board board = new Board(BOARD_COLS, BOARD_ROWS, 1280, 216, new Vector2(0, 0));
+        board.setTileTexture(texture, texture);
+        Vector2 start = new Vector2(BOARD_COLS - 1, BOARD_ROWS - 1);
+        HexTile rock = board.getTileArrayCoord(3, 2);
+        board.setObstacle(rock.getQ(), rock.getR(), start, texture);
+        HexTile hole = board.getTileArrayCoord(5, 4);
+        board.setObstacle(hole.getQ(), hole.getR(), start, null);
+        board.highlightTiles(new Vector2(4, 3), 2);
+
+        Texture[] digits = new Texture[10];
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = texture;
+        }
+        NumberDisplay timer = new NumberDisplay(digits, texture);
+        timer.setLayout(640, 680, 20, 10, 30);
+
+        drawFrames(canvas, board, timer, WARMUP_FRAMES);
+        assertTrue("sprites drawn per frame", batch.sprites > 0);
+
+        long thread = Thread.currentThread().getId();
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_WINDOWS && allocated > 0; i++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            drawFrames(canvas, board, timer, MEASURED_FRAMES);
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(thread) - before);
+        }
+        assertEquals("bytes allocated by " + MEASURED_FRAMES + " frames", 0, allocated);
+    }
+
+    /**
+     * Draws frames of the board, the clock and loose sprites
+     *
+     * The clock ticks every frame, so its digits are laid out again.
+     *
+     * @param canvas the canvas
+     * @param board the board
+     * @param timer the clock
+     * @param count number of frames
+     */
+    private static void drawFrames(GameCanvas canvas, Board board, NumberDisplay timer, int count) {
+        for (int i = 0; i < count; i++) {
+            canvas.begin();
+            board.draw(canvas);
+            timer.setValue(i);
+            timer.draw(canvas);
+            canvas.draw(texture, 0, 0);
+            canvas.draw(texture, 10, 10, 50, 50, Color.GOLD);
+            canvas.draw(texture, Color.WHITE, 8, 8, 100, 100, i % 360, 1, 1);
+            canvas.draw(texture, 8, 8, 200, 200, 16, 16, i % 360, Color.RED);
+            canvas.end();
+        }
+    }
+
+    /**
+     * Returns an implementation of an interface whose methods do nothing
+     *
+     * Methods return false, zero, an empty string or null.
+     *
+     * @param type the interface
+     *
+     * @return the implementation
+     */
+    private static <T> T stub(Class<T> type) {
+        final Integer zero = 0;
+        final Float zeroF = 0f;
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        Class<?> result = method.getReturnType();
+                        if (result == boolean.class) {
+                            return Boolean.FALSE;
+                        } else if (result == int.class) {
+                            return zero;
+                        } else if (result == float.class) {
+                            return zeroF;
+                        } else if (result == String.class) {
+                            return "";
+                        }
+                        return null;
+                    }
+                });
+        return type.cast(proxy);
+    }
+
+    /**
+     * Data of a 1x1 texture that is never uploaded
+     */
+    private static class StubTextureData implements TextureData {
+        @Override
+        public TextureDataType getType() {
+            return TextureDataType.Custom;
+        }
+
+        @Override
+        public boolean isPrepared() {
+            return true;
+        }
+
+        @Override
+        public void prepare() {
+        }
+
+        @Override
+        public Pixmap consumePixmap() {
+            return null;
+        }
+
+        @Override
+        public boolean disposePixmap() {
+            return false;
+        }
+
+        @Override
+        public void consumeCustomData(int target) {
+        }
+
+        @Override
+        public int getWidth() {
+            return 1;
+        }
+
+        @Override
+        public int getHeight() {
+            return 1;
+        }
+
+        @Override
+        public Pixmap.Format getFormat() {
+            return Pixmap.Format.RGBA8888;
+        }
+
+        @Override
+        public boolean useMipMaps() {
+            return false;
+        }
+
+        @Override
+        public boolean isManaged() {
+            return false;
+        }
+    }
+
+    /**
+     * Batch that counts the sprites drawn to it and draws nothing
+     */
+    private static class CountingBatch implements Batch {
+        /** Floats per sprite in a vertex array */
+        private static final int SPRITE_SIZE = 20;
+
+        /** Sprites drawn since the last begin() */
+        int sprites;
+        /** Whether the batch is between begin() and end() */
+        private boolean drawing;
+        /** Color of the next sprites */
+        private final Color color = new Color(Color.WHITE);
+        /** Projection matrix */
+        private final Matrix4 projection = new Matrix4();
+        /** Transform matrix */
+        private final Matrix4 transform = new Matrix4();
+
+        @Override
+        public void begin() {
+            drawing = true;
+            sprites = 0;
+        }
+
+        @Override
+        public void end() {
+            drawing = false;
+        }
+
+        @Override
+        public void setColor(Color tint) {
+            color.set(tint);
+        }
+
+        @Override
+        public void setColor(float r, float g, float b, float a) {
+            color.set(r, g, b, a);
+        }
+
+        @Override
+        public Color getColor() {
+            return color;
+        }
+
+        @Override
+        public void setPackedColor(float packedColor) {
+            Color.abgr8888ToColor(color, packedColor);
+        }
+
+        @Override
+        public float getPackedColor() {
+            return color.toFloatBits();
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+                         float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight,
+                         boolean flipX, boolean flipY) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY,
+                         int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y, float width, float height, float u, float v,
+                         float u2, float v2) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y, float width, float height) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+            sprites += count / SPRITE_SIZE;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float x, float y) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float x, float y, float width, float height) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float x, float y, float originX, float originY, float width,
+                         float height, float scaleX, float scaleY, float rotation) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float x, float y, float originX, float originY, float width,
+                         float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+            sprites++;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+            sprites++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void disableBlending() {
+        }
+
+        @Override
+        public void enableBlending() {
+        }
+
+        @Override
+        public void setBlendFunction(int srcFunc, int dstFunc) {
+        }
+
+        @Override
+        public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+        }
+
+        @Override
+        public int getBlendSrcFunc() {
+            return GL20.GL_SRC_ALPHA;
+        }
+
+        @Override
+        public int getBlendDstFunc() {
+            return GL20.GL_ONE_MINUS_SRC_ALPHA;
+        }
+
+        @Override
+        public int getBlendSrcFuncAlpha() {
+            return GL20.GL_SRC_ALPHA;
+        }
+
+        @Override
+        public int getBlendDstFuncAlpha() {
+            return GL20.GL_ONE_MINUS_SRC_ALPHA;
+        }
+
+        @Override
+        public Matrix4 getProjectionMatrix() {
+            return projection;
+        }
+
+        @Override
+        public Matrix4 getTransformMatrix() {
+            return transform;
+        }
+
+        @Override
+        public void setProjectionMatrix(Matrix4 projection) {
+            this.projection.set(projection);
+        }
+
+        @Override
+        public void setTransformMatrix(Matrix4 transform) {
+            this.transform.set(transform);
+        }
+
+        @Override
+        public void setShader(ShaderProgram shader) {
+        }
+
+        @Override
+        public ShaderProgram getShader() {
+            return null;
+        }
+
+        @Override
+        public boolean isBlendingEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isDrawing() {
+            return drawing;
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+}
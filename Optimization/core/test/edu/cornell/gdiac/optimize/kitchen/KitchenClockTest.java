@@ -0,0 +1,200 @@
+package edu.cornell.gdiac.optimize.kitchen;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.JsonReader;
+import edu.cornell.gdiac.optimize.controller.KitchenController;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the timer wheel of the kitchen and the event-driven appliances.
+ *
+ * The appliances used to count down every update; they now schedule their events on a
+ * {@link KitchenClock} and skip the updates in between. A fast-forwarded kitchen must end
+ * up exactly where the same number of updates would have left it.
+ */
+public class KitchenClockTest {
+    /** Kitchen of a level with one pot recipe */
+    private static final String KITCHEN_JSON = "{\"ingredients\": [\"seaweed\", \"noodle\"], \"recipes\": [{"
+            + "\"rewards\": {\"movements\": 1, \"turns\": 0, \"throwable\": false},"
+            + "\"ingredients\": [{\"name\": \"noodle\", \"cookingMethod\": \"pot\"}]}]}";
+    /** Updates to fast-forward, around the cooking times and past a lap of the wheel */
+    private static final int[] FORWARDS = {1, 2, 3, 19, 20, 21, 22, 31, 32, 33, 40, 41, 42, 60, 61, 62,
+            KitchenClock.WHEEL_SIZE - 1, KitchenClock.WHEEL_SIZE, KitchenClock.WHEEL_SIZE + 1, 600};
+    /** Updates compared one at a time after a fast-forward */
+    private static final int FOLLOW_UP = 100;
+
+    /** Scenario: the pot and the fryer start cooking */
+    private static final int COOK = 0;
+    /** Scenario: the chopping board is clicked until its ingredient is done */
+    private static final int CHOP = 1;
+    /** Scenario: a cooked noodle is fed, which animates the plate */
+    private static final int FEED = 2;
+    /** Scenario: the pot is emptied while it cooks */
+    private static final int TRASH = 3;
+    /** Number of scenarios */
+    private static final int NUM_SCENARIOS = 4;
+
+    @Test
+    public void eventBeyondTheWheelFiresOnItsTick() {
+        KitchenClock clock = new KitchenClock();
+        Recorder recorder = new Recorder(clock);
+        int far = clock.schedule(2*KitchenClock.WHEEL_SIZE + 5, 1, 7);
+        // Shares the slot of the far event, a lap earlier
+        int near = clock.schedule(KitchenClock.WHEEL_SIZE + 5, 2, 8);
+        for (int i = 0; i < 3*KitchenClock.WHEEL_SIZE; i++) {
+            clock.advance(recorder);
+        }
+        assertEquals("events fired", 2, recorder.ticks.size);
+        assertEquals("tick of the near event", near, recorder.ticks.get(0));
+        assertEquals("target of the near event", 2, recorder.targets.get(0));
+        assertEquals("tick of the far event", far, recorder.ticks.get(1));
+        assertEquals("target of the far event", 1, recorder.targets.get(1));
+        assertEquals("type of the far event", 7, recorder.events.get(1));
+    }
+
+    @Test
+    public void eventScheduledWhileFiringFiresALapLater() {
+        final KitchenClock clock = new KitchenClock();
+        final IntArray ticks = new IntArray();
+        final int[] due = new int[1];
+        KitchenClock.Listener listener = new KitchenClock.Listener() {
+            @Override
+            public void onEvent(int target, int event) {
+                ticks.add(clock.getTick());
+                if (ticks.size == 1) {
+                    // Lands in the slot being fired
+                    due[0] = clock.schedule(KitchenClock.WHEEL_SIZE, target, event);
+                }
+            }
+        };
+        int first = clock.schedule(3, 0, 0);
+        for (int i = 0; i < 3*KitchenClock.WHEEL_SIZE; i++) {
+            clock.advance(listener);
+        }
+        assertEquals("events fired", 2, ticks.size);
+        assertEquals("tick of the first event", first, ticks.get(0));
+        assertEquals("tick of the rescheduled event", first + KitchenClock.WHEEL_SIZE, due[0]);
+        assertEquals("tick the rescheduled event fired on", due[0], ticks.get(1));
+    }
+
+    @Test
+    public void fastForwardMatchesUpdates() {
+        for (int scenario = 0; scenario < NUM_SCENARIOS; scenario++) {
+            for (int n : FORWARDS) {
+                KitchenController forwarded = prepare(scenario);
+                KitchenController updated = prepare(scenario);
+                forwarded.fastForward(n);
+                for (int i = 0; i < n; i++) {
+                    updated.update();
+                }
+                String name = "scenario " + scenario + ", " + n + " updates";
+                assertEquals(name, describe(updated), describe(forwarded));
+                for (int i = 1; i <= FOLLOW_UP; i++) {
+                    forwarded.update();
+                    updated.update();
+                    assertEquals(name + " and " + i + " more", describe(updated), describe(forwarded));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a kitchen without textures and sets up a scenario in it
+     *
+     * The commands of the scenario are pending, so they run with the next update.
+     *
+     * @param scenario the scenario
+     *
+     * @return the kitchen
+     */
+    private static KitchenController prepare(int scenario) {
+        KitchenController kitchen = new KitchenController(1280, 720, 10);
+        kitchen.setRandom(new Random(0));
+        kitchen.loadJSONKitchenData(new JsonReader().parse(KITCHEN_JSON));
+        kitchen.createKitchen();
+        switch (scenario) {
+            case COOK:
+                kitchen.activateAppliance(Appliance.POT, 1);
+                kitchen.activateAppliance(Appliance.FRYER, 0);
+                break;
+            case CHOP:
+                kitchen.activateAppliance(Appliance.CHOPPINGBOARD, 1);
+                for (int i = 0; i < Appliance.CHOP_CLICK; i++) {
+                    kitchen.getApplianceIndex(Appliance.CHOPPINGBOARD).setClickProgress();
+                }
+                break;
+            case FEED:
+                kitchen.activateAppliance(Appliance.POT, 1);
+                while (!kitchen.applianceHasDoneIngredient(Appliance.POT)) {
+                    kitchen.update();
+                }
+                kitchen.setAssemble(true, Appliance.POT);
+                kitchen.update();
+                kitchen.setFeed();
+                break;
+            case TRASH:
+                kitchen.activateAppliance(Appliance.POT, 1);
+                kitchen.update();
+                kitchen.update();
+                kitchen.setTrash(Appliance.POT);
+                break;
+        }
+        return kitchen;
+    }
+
+    /**
+     * Describes the state of the appliances and the done ingredients of a kitchen
+     *
+     * @param kitchen the kitchen
+     *
+     * @return the description
+     */
+    private static String describe(KitchenController kitchen) {
+        StringBuilder s = new StringBuilder();
+        for (int i = Appliance.CHOPPINGBOARD; i <= Appliance.PLATE; i++) {
+            Appliance app = kitchen.getApplianceIndex(i);
+            s.append("appliance ").append(i)
+                    .append(": working=").append(app.isWorking())
+                    .append(" progress=").append(app.getCurrProgress())
+                    .append(" animating=").append(app.isAnimating())
+                    .append(" cooking=").append(app.getCookingIng())
+                    .append(" done=").append(app.getDoneProcessed())
+                    .append(" food=").append(app.getContainsFood())
+                    .append('\n');
+        }
+        s.append("done ingredients:");
+        for (Ingredient ig : kitchen.getDoneIngredients()) {
+            s.append(' ').append(ig.getIngId()).append('/').append(ig.getCookId());
+        }
+        return s.toString();
+    }
+
+    /**
+     * Listener that records the events of a clock
+     */
+    private static class Recorder implements KitchenClock.Listener {
+        /** The clock */
+        private final KitchenClock clock;
+        /** Tick of every event fired */
+        final IntArray ticks = new IntArray();
+        /** Target of every event fired */
+        final IntArray targets = new IntArray();
+        /** Type of every event fired */
+        final IntArray events = new IntArray();
+
+        Recorder(KitchenClock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void onEvent(int target, int event) {
+            ticks.add(clock.getTick());
+            targets.add(target);
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package edu.cornell.gdiac.optimize.map;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the in-place repairs of {@link DistanceField}.
+ *
+ * Obstacles are added to and removed from random boards one at a time. After every edit,
+ * the field the board repaired must hold the same distances as a field searched from
+ * scratch, and its next hops must lead one step closer to the target.
+ */
+public class DistanceFieldTest {
+    /** Number of random boards to edit */
+    private static final int NUM_BOARDS = 300;
+    /** Number of obstacle edits per board */
+    private static final int EDITS_PER_BOARD = 60;
+
+    @Test
+    public void repairsMatchFullRebuild() {
+        Random random = new Random(11);
+        for (int b = 0; b < NUM_BOARDS; b++) {
+            Board board = randomBoard(random);
+            HexTile target = board.getTile(random.nextInt(board.getNumTiles()));
+            if (target.isObstacle()) {
+                board.setTileObstacle(target, false);
+            }
+            DistanceField field = board.getPlayerDistances(target);
+            for (int e = 0; e < EDITS_PER_BOARD; e++) {
+                HexTile tile = board.getTile(random.nextInt(board.getNumTiles()));
+                if (tile == target) {
+                    continue;
+                }
+                board.setTileObstacle(tile, !tile.isObstacle());
+                assertFalse("field repaired in place", field.update(target));
+                assertSameField(board, target, field);
+            }
+        }
+    }
+
+    /**
+     * Creates a board of random size with random obstacles
+     *
+     * @param random the random numbers
+     *
+     * @return the board
+     */
+    private static Board randomBoard(Random random) {
+        int cols = 2 + random.nextInt(13);
+        int rows = 2 + random.nextInt(5);
+        Board board = new Board(cols, rows, 1280, 216, new Vector2(0, 0));
+        float density = random.nextFloat() * 0.4f;
+        for (int i = 0; i < board.getNumTiles(); i++) {
+            if (random.nextFloat() < density) {
+                board.setTileObstacle(board.getTile(i), true);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Checks a repaired field against a field searched from scratch
+     *
+     * Ties between shortest paths may be broken differently, so the next hops are only
+     * checked to be open neighbors one step closer to the target.
+     *
+     * @param board the board
+     * @param target the target tile
+     * @param repaired the repaired field
+     */
+    private static void assertSameField(Board board, HexTile target, DistanceField repaired) {
+        DistanceField rebuilt = new DistanceField(board);
+        rebuilt.update(target);
+        for (int i = 0; i < board.getNumTiles(); i++) {
+            HexTile t = board.getTile(i);
+            int distance = rebuilt.getDistance(t);
+            assertEquals("distance of tile " + i, distance, repaired.getDistance(t));
+            HexTile next = repaired.getNextHop(t);
+            if (distance <= 0) {
+                assertNull("next hop of tile " + i, next);
+            } else {
+                assertTrue("next hop of tile " + i + " is a neighbor", isNeighbor(board, i, board.getTileIndex(next)));
+                assertFalse("next hop of tile " + i + " is open", next.isObstacle());
+                assertEquals("distance of the next hop of tile " + i, distance - 1, repaired.getDistance(next));
+            }
+        }
+    }
+
+    /**
+     * Returns whether two tiles are neighbors
+     *
+     * @param board the board
+     * @param a index of the first tile
+     * @param b index of the second tile
+     *
+     * @return whether the tiles are neighbors
+     */
+    private static boolean isNeighbor(Board board, int a, int b) {
+        for (int dir = 0; dir < Board.NUM_DIRECTIONS; dir++) {
+            if (board.getNeighborIndex(a, dir) == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
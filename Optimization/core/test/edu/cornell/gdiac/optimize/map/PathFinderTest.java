@@ -0,0 +1,216 @@
+package edu.cornell.gdiac.optimize.map;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Queue;
+import edu.cornell.gdiac.optimize.entity.Enemy;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the breadth-first path searches of {@link Board}.
+ *
+ * The searches are compared against a copy of the original implementation, which kept a
+ * queue of whole paths and asked the board for a fresh neighbor list at every step.
+ */
+public class PathFinderTest {
+    /** Number of random boards to compare on */
+    private static final int NUM_BOARDS = 300;
+    /** Number of searches per board and per enemy rule */
+    private static final int SEARCHES_PER_BOARD = 40;
+    /** Searches run before allocations are counted */
+    private static final int WARMUP_SEARCHES = 20000;
+    /** Searches whose allocations are counted */
+    private static final int MEASURED_SEARCHES = 5000;
+
+    /** Neighbor offsets of the original implementation */
+    private static final int[][] NEIGHBORS = {{1,0},{0,1},{-1,0},{0,-1},{1,-1},{-1,1}};
+
+    @Test
+    public void bfsMatchesOriginalSearch() {
+        Random random = new Random(42);
+        for (int b = 0; b < NUM_BOARDS; b++) {
+            Board board = randomBoard(random);
+            for (int s = 0; s < SEARCHES_PER_BOARD; s++) {
+                HexTile start = randomTile(board, random);
+                HexTile end = randomTile(board, random);
+
+                Array<HexTile> expected = originalSearch(board, start, end, PathFinder.ENEMIES_IGNORED);
+                assertSamePath(expected, board.findBestPathBFS(start, end));
+
+                expected = originalSearch(board, start, end, PathFinder.ENEMIES_BLOCK_FIRST_STEP);
+                assertSamePath(expected, board.findBestPathBFSEnemyFree(start, end));
+
+                expected = originalSearch(board, start, end, PathFinder.ENEMIES_BLOCK);
+                board.clearVisited();
+                assertSamePath(expected, board.BFSPath(start, end));
+            }
+        }
+    }
+
+    @Test
+    public void pathQueriesDoNotAllocateAfterWarmup() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Random random = new Random(7);
+        Board board = randomBoard(random);
+        HexTile[] starts = new HexTile[64];
+        HexTile[] ends = new HexTile[64];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = randomTile(board, random);
+            ends[i] = randomTile(board, random);
+        }
+
+        runQueries(board, starts, ends, WARMUP_SEARCHES);
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        runQueries(board, starts, ends, MEASURED_SEARCHES);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertEquals("bytes allocated by " + MEASURED_SEARCHES + " path queries", 0, allocated);
+    }
+
+    /**
+     * Runs every kind of path query on a board, in both path modes
+     *
+     * @param board the board
+     * @param starts start tiles, used in turn
+     * @param ends end tiles, used in turn
+     * @param count number of rounds of queries
+     */
+    private static void runQueries(Board board, HexTile[] starts, HexTile[] ends, int count) {
+        for (int i = 0; i < count; i++) {
+            HexTile start = starts[i % starts.length];
+            HexTile end = ends[i % ends.length];
+            board.setPathMode(i % 2 == 0 ? Board.PATH_BFS : Board.PATH_ASTAR);
+            board.findBestPath(start, end);
+            board.findBestPathEnemyFree(start, end);
+            board.findBestPathBFS(start, end);
+            board.findBestPathBFSEnemyFree(start, end);
+            board.clearVisited();
+            board.BFSPath(start, end);
+        }
+    }
+
+    /**
+     * Creates a board of random size with random obstacles and enemies
+     *
+     * @param random the random numbers
+     *
+     * @return the board
+     */
+    private static Board randomBoard(Random random) {
+        int cols = 2 + random.nextInt(13);
+        int rows = 2 + random.nextInt(5);
+        Board board = new Board(cols, rows, 1280, 216, new Vector2(0, 0));
+        for (int i = 0; i < board.getNumTiles(); i++) {
+            HexTile t = board.getTile(i);
+            float roll = random.nextFloat();
+            if (roll < 0.25f) {
+                t.setObstacle(true);
+            } else if (roll < 0.4f) {
+                t.addEnemy(new Enemy(new Vector2(t.getQ(), t.getR()), board));
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Picks a random tile of a board
+     *
+     * @param board the board
+     * @param random the random numbers
+     *
+     * @return the tile
+     */
+    private static HexTile randomTile(Board board, Random random) {
+        return board.getTile(random.nextInt(board.getNumTiles()));
+    }
+
+    /**
+     * Checks that a search returned the same tiles as the original search
+     *
+     * @param expected path of the original search
+     * @param actual path of the search under test
+     */
+    private static void assertSamePath(Array<HexTile> expected, Array<HexTile> actual) {
+        assertEquals("path length", expected.size, actual.size);
+        for (int i = 0; i < expected.size; i++) {
+            assertSame("tile " + i + " of the path", expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     * The original breadth-first search, with its visited flags kept in a local array
+     *
+     * @param board the board
+     * @param start start tile
+     * @param end end tile
+     * @param enemyRule one of the enemy rules of PathFinder
+     *
+     * @return the path from start to end, or an empty array if there is none
+     */
+    private static Array<HexTile> originalSearch(Board board, HexTile start, HexTile end, int enemyRule) {
+        boolean[] visited = new boolean[board.getNumTiles()];
+        Queue<Array<HexTile>> potentialPaths = new Queue<>();
+        int idx = 0;
+
+        visited[board.getTileIndex(start)] = true;
+        Array<HexTile> path = new Array<>();
+        path.add(start);
+        potentialPaths.addLast(path);
+
+        while (!potentialPaths.isEmpty()) {
+            path = potentialPaths.removeFirst();
+            HexTile node = path.peek();
+            if (node == end) {
+                return path;
+            }
+            boolean blockEnemies = enemyRule == PathFinder.ENEMIES_BLOCK
+                    || (enemyRule == PathFinder.ENEMIES_BLOCK_FIRST_STEP && idx == 0);
+            for (HexTile t : originalNeighbors(board, node.getQ(), node.getR())) {
+                int i = board.getTileIndex(t);
+                if (!visited[i] && !t.isObstacle() && !(blockEnemies && t.hasEnemy())) {
+                    visited[i] = true;
+                    Array<HexTile> newPath = new Array<HexTile>(path);
+                    newPath.add(t);
+                    potentialPaths.addLast(newPath);
+                }
+            }
+            idx++;
+        }
+        return new Array<>();
+    }
+
+    /**
+     * The original neighbor list, computed from the offsets at every call
+     *
+     * @param board the board
+     * @param q q coordinate of the tile
+     * @param r r coordinate of the tile
+     *
+     * @return the neighbors of the tile
+     */
+    private static Array<HexTile> originalNeighbors(Board board, int q, int r) {
+        Array<HexTile> result = new Array<>();
+        for (int[] offsets : NEIGHBORS) {
+            int oq = q + offsets[0];
+            int or = r + offsets[1];
+            int ox = oq;
+            int oy = or + (int) Math.floor(oq/2);
+            if (ox >= 0 && ox < board.getNumCols() && oy >= 0 && oy < board.getNumRows()) {
+                result.add(board.getTileArrayCoord(ox, oy));
+            }
+        }
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package edu.cornell.gdiac.optimize.desktop;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
@@ -26,9 +27,15 @@ public class DesktopLauncher {
 
 //		config.fullscreen = true;
 //		config.resizable = false;
-		config.foregroundFPS = 60;
+		// The game runs at a fixed step whatever the frame rate, so frames follow the display
+		config.foregroundFPS = 0;
+		config.vSyncEnabled = true;
 
 		config.title = "Nomster Truck";
-		new LwjglApplication(new GDXRoot(), config);
+		LwjglApplication app = new LwjglApplication(new GDXRoot(), config);
+		// Run with -DframeStats=true to log the average frame counters and times
+		if (Boolean.getBoolean("frameStats")) {
+			app.setLogLevel(Application.LOG_DEBUG);
+		}
 	}
 }